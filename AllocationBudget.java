@@ -0,0 +1,111 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Checks that headless play stays allocation-free.
+ *
+ * Every scenario is warmed up, so class loading and JIT compilation are
+ * over, and then plays a million games (by default) on the current
+ * thread while the JVM's per-thread allocation counter is watched. A
+ * scenario passes if the whole run allocates less than
+ * {@link #BUDGET_BYTES}, which is far less than one object per game; any
+ * per-roll or per-turn allocation creeping into the simulation path blows
+ * through it at once.
+ *
+ * Run {@code java AllocationBudget [games]}; the exit status is 1 if any
+ * scenario is over budget, so a build script can fail on it.
+ */
+public final class AllocationBudget {
+    /** Bytes a whole scenario may allocate: a little JIT and profiling noise, nothing per game. */
+    static final long BUDGET_BYTES = 64 * 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationBudget() {
+    }
+
+    /**
+     * A lineup and listener to measure.
+     */
+    private static final class Scenario {
+        final String name;
+        final Strategy[] seats;
+        final GameListener listener;
+        final RandomGenerator random;
+        final int games;
+
+        Scenario(String name, Strategy[] seats, GameListener listener, RandomGenerator random, int games) {
+            this.name = name;
+            this.seats = seats;
+            this.listener = listener;
+            this.random = random;
+            this.games = games;
+        }
+    }
+
+    /**
+     * Plays a scenario and returns the bytes allocated by the measured games.
+     */
+    private static long measure(Scenario scenario) {
+        int[] scores = new int[scenario.seats.length];
+        for (int game = 0; game < Math.max(1_000, scenario.games / 10); game++) {
+            HeadlessGame.play(scenario.seats, scores, scenario.random, scenario.listener);
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int game = 0; game < scenario.games; game++) {
+            HeadlessGame.play(scenario.seats, scores, scenario.random, scenario.listener);
+        }
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    public static void main(String[] args) {
+        if (!THREADS.isThreadAllocatedMemorySupported() || !THREADS.isThreadAllocatedMemoryEnabled()) {
+            System.err.println("This JVM does not count allocated bytes per thread");
+            System.exit(2);
+        }
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        Strategy[] builtIn = {Strategies.fifteen(15), Strategies.wimp(), Strategies.odd(),
+            Strategies.randomPlayer(), Strategies.random(0.4)};
+        SimulationStats stats = new SimulationStats();
+        StrategyStats[] statsSeats = new StrategyStats[builtIn.length];
+        MetricsRegistry metrics = new MetricsRegistry(null);
+        StrategyMetrics[] metricSeats = new StrategyMetrics[builtIn.length];
+        for (int s = 0; s < builtIn.length; s++) {
+            statsSeats[s] = stats.register("seat " + s);
+            metricSeats[s] = metrics.register("seat " + s);
+        }
+        Strategy fifteen = Strategies.fifteen(15);
+        MctsStrategy mcts = new MctsStrategy(1, 0, 100, 7L);
+        mcts.setModels(new Strategy[] {fifteen, fifteen});
+
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("built-in rules", builtIn, GameListener.NONE, new SimRandom(1L), games));
+        scenarios.add(new Scenario("SplittableRandom dice", builtIn, GameListener.NONE, new SplittableRandom(2L), games));
+        scenarios.add(new Scenario("threshold genome", new Strategy[] {ThresholdGenome.uniform(20), fifteen},
+            GameListener.NONE, new SimRandom(3L), games));
+        scenarios.add(new Scenario("optimal table", new Strategy[] {TwoPlayerSolver.solve(), fifteen},
+            GameListener.NONE, new SimRandom(4L), games));
+        scenarios.add(new Scenario("statistics listener", builtIn, stats.recorder(statsSeats), new SimRandom(5L), games));
+        scenarios.add(new Scenario("job tally listener", builtIn, new JobTally(builtIn.length), new SimRandom(6L), games));
+        scenarios.add(new Scenario("metering listener", builtIn, metrics.meter(metricSeats), new SimRandom(7L), games));
+        // Search costs thousands of rollouts per decision, so fewer games cover as many rolls
+        scenarios.add(new Scenario("Monte Carlo search", new Strategy[] {mcts, fifteen},
+            GameListener.NONE, new SimRandom(8L), Math.max(1, games / 1_000)));
+
+        boolean passed = true;
+        for (Scenario scenario : scenarios) {
+            long bytes = measure(scenario);
+            boolean ok = bytes < BUDGET_BYTES;
+            passed &= ok;
+            System.out.printf("%-22s %,10d games %,12d bytes  %s%n", scenario.name, scenario.games, bytes,
+                ok ? "ok" : "OVER BUDGET");
+        }
+        System.out.printf("Budget %,d bytes per scenario: %s%n", BUDGET_BYTES, passed ? "passed" : "FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Ready-made {@link ArchiveQuery} instances for common questions.
+ */
+public final class ArchiveQueries {
+
+    private ArchiveQueries() {
+    }
+
+    /**
+     * Counts seat-games and wins for every strategy id. Reads only the
+     * record headers.
+     *
+     * @return The query; slot 2i holds games and 2i+1 wins for strategy id i
+     */
+    public static ArchiveQuery winRateByStrategy() {
+        return new ArchiveQuery() {
+            @Override
+            public int decodeLevel() {
+                return GameRecord.DECODE_HEADER;
+            }
+
+            @Override
+            public int width() {
+                return 512;
+            }
+
+            @Override
+            public void accept(GameRecord game, long[] aggregates, int[] scratch) {
+                for (int s = 0; s < game.getSeatCount(); s++) {
+                    int id = game.getStrategyId(s);
+                    aggregates[2 * id]++;
+                    if (game.getWinner() == s) {
+                        aggregates[2 * id + 1]++;
+                    }
+                }
+            }
+
+            @Override
+            public String describe(long[] aggregates) {
+                StringBuilder text = new StringBuilder("Win rate by strategy id:");
+                for (int id = 0; id < 256; id++) {
+                    long games = aggregates[2 * id];
+                    if (games > 0) {
+                        text.append(String.format("%n  %3d: %.4f over %,d seat-games",
+                            id, (double) aggregates[2 * id + 1] / games, games));
+                    }
+                }
+                return text.toString();
+            }
+        };
+    }
+
+    /**
+     * Win rate of seats that trailed the leader by at least a given
+     * deficit after a given number of full rounds.
+     *
+     * @param rounds The number of full rounds played before the check
+     * @param deficit The minimum gap to the best opponent
+     * @return The query; slot 0 holds games long enough to check, slot 1
+     *         trailing seats and slot 2 trailing seats that went on to win
+     */
+    public static ArchiveQuery comebackWinRate(int rounds, int deficit) {
+        return new ArchiveQuery() {
+            @Override
+            public int decodeLevel() {
+                return GameRecord.DECODE_TURNS;
+            }
+
+            @Override
+            public int roundLimit() {
+                return rounds;
+            }
+
+            @Override
+            public int width() {
+                return 3;
+            }
+
+            @Override
+            public void accept(GameRecord game, long[] aggregates, int[] scratch) {
+                int seats = game.getSeatCount();
+                int turns = rounds * seats;
+                if (game.getTurnCount() <= turns) {
+                    return;
+                }
+                aggregates[0]++;
+                game.scoresAfterTurn(turns, scratch);
+                for (int s = 0; s < seats; s++) {
+                    int best = 0;
+                    for (int o = 0; o < seats; o++) {
+                        if (o != s && scratch[o] > best) {
+                            best = scratch[o];
+                        }
+                    }
+                    if (best - scratch[s] >= deficit) {
+                        aggregates[1]++;
+                        if (game.getWinner() == s) {
+                            aggregates[2]++;
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String describe(long[] aggregates) {
+                return String.format("Seats behind by %d+ after %d rounds: %,d trailing seats in %,d games, win rate %.4f",
+                    deficit, rounds, aggregates[1], aggregates[0],
+                    aggregates[1] == 0 ? 0.0 : (double) aggregates[2] / aggregates[1]);
+            }
+        };
+    }
+}
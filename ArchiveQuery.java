@@ -0,0 +1,48 @@
+/**
+ * A filter/aggregate query evaluated by {@link ArchiveScanner} over
+ * every game in an archive.
+ *
+ * Aggregates are plain counters and sums in a long array. Each scanning
+ * thread gets its own array, and the arrays are added together at the
+ * end, so a query never needs to synchronize.
+ */
+public interface ArchiveQuery {
+
+    /**
+     * @return How much of each record the query needs decoded, one of the
+     *         {@code GameRecord.DECODE_*} levels; lower levels scan faster
+     */
+    int decodeLevel();
+
+    /**
+     * @return The number of leading rounds of turns the query looks at; at
+     *         {@code GameRecord.DECODE_TURNS} the roll counts of later turns
+     *         are skipped rather than decoded
+     */
+    default int roundLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return The number of aggregate slots the query uses
+     */
+    int width();
+
+    /**
+     * Folds one game into the aggregates. Called from several threads at
+     * once, each with its own record and aggregate array.
+     *
+     * @param game The decoded game
+     * @param aggregates The calling thread's aggregate slots
+     * @param scratch A per-thread array of 7 ints for temporary seat values
+     */
+    void accept(GameRecord game, long[] aggregates, int[] scratch);
+
+    /**
+     * Formats the final aggregates for display.
+     *
+     * @param aggregates The merged aggregate slots
+     * @return A human-readable result
+     */
+    String describe(long[] aggregates);
+}
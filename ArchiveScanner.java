@@ -0,0 +1,201 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs {@link ArchiveQuery} scans over game archives in parallel.
+ *
+ * The archive is cut into segments at record boundaries taken from its
+ * sidecar index, and each segment is memory-mapped and scanned by its
+ * own fork/join task. Records are decoded in place from the mapping into
+ * a reused {@link GameRecord}, only as far as the query's decode level
+ * requires, so no Player objects or per-game garbage are created.
+ */
+public class ArchiveScanner {
+    /** Target size of one scan segment. */
+    private static final long SEGMENT_BYTES = 16L << 20;
+
+    /** Largest region a single mapping may cover. */
+    private static final long MAX_MAPPING = Integer.MAX_VALUE;
+
+    private ArchiveScanner() {
+    }
+
+    /**
+     * Scans an archive.
+     *
+     * @param archive The archive file
+     * @param query The query to evaluate
+     * @param pool The pool to scan on
+     * @return The merged aggregates of the query
+     * @throws IOException if the archive cannot be read or is not an archive
+     */
+    public static long[] scan(Path archive, ArchiveQuery query, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(GameArchiveWriter.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < GameArchiveWriter.HEADER_SIZE
+                    || header.getInt() != GameArchiveWriter.MAGIC
+                    || header.get() != GameArchiveWriter.VERSION) {
+                throw new IOException("Not a Bulldog game archive");
+            }
+            long[] bounds = segmentBounds(archive, channel);
+            try {
+                return pool.invoke(new SegmentTask(channel, query, bounds, 0, bounds.length - 1));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Picks segment boundaries from the index entries, aiming for
+     * segments of about {@link #SEGMENT_BYTES}. Without an index the
+     * whole archive is one segment.
+     *
+     * @return Ascending offsets; segment i spans bounds[i] to bounds[i + 1]
+     */
+    static long[] segmentBounds(Path archive, FileChannel channel) throws IOException {
+        long size = channel.size();
+        Path indexPath = archive.resolveSibling(archive.getFileName() + GameArchiveWriter.INDEX_SUFFIX);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add((long) GameArchiveWriter.HEADER_SIZE);
+        if (Files.exists(indexPath)) {
+            ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+            if (index.getInt() != GameArchiveWriter.INDEX_MAGIC) {
+                throw new IOException("Not a Bulldog archive index: " + indexPath);
+            }
+            index.getInt();
+            int entries = index.getInt();
+            long last = GameArchiveWriter.HEADER_SIZE;
+            for (int i = 0; i < entries; i++) {
+                long offset = index.getLong();
+                if (offset - last >= SEGMENT_BYTES && offset < size) {
+                    bounds.add(offset);
+                    last = offset;
+                }
+            }
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+            if (i > 0 && result[i] - result[i - 1] > MAX_MAPPING) {
+                throw new IOException("Archive segment exceeds 2 GiB; rebuild its index");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scans a range of segments, splitting in half until one is left.
+     */
+    private static class SegmentTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final transient ArchiveQuery query;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+
+        SegmentTask(FileChannel channel, ArchiveQuery query, long[] bounds, int from, int to) {
+            this.channel = channel;
+            this.query = query;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                SegmentTask left = new SegmentTask(channel, query, bounds, from, mid);
+                left.fork();
+                long[] right = new SegmentTask(channel, query, bounds, mid, to).compute();
+                long[] result = left.join();
+                for (int i = 0; i < result.length; i++) {
+                    result[i] += right[i];
+                }
+                return result;
+            }
+            long[] aggregates = new long[query.width()];
+            long start = bounds[from];
+            long length = bounds[to] - start;
+            if (length == 0) {
+                return aggregates;
+            }
+            MappedByteBuffer segment;
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            GameRecord record = new GameRecord();
+            int[] scratch = new int[7];
+            int level = query.decodeLevel();
+            int roundLimit = query.roundLimit();
+            while (segment.hasRemaining()) {
+                int recordLength = GameRecord.getVarint(segment);
+                int next = segment.position() + recordLength;
+                record.decode(segment, level, roundLimit);
+                query.accept(record, aggregates, scratch);
+                segment.position(next);
+            }
+            return aggregates;
+        }
+    }
+
+    /**
+     * Scans the archive named on the command line, or a freshly simulated
+     * one, and reports throughput.
+     */
+    public static void main(String[] args) throws IOException {
+        Path archive;
+        boolean temporary = args.length == 0;
+        if (temporary) {
+            archive = Files.createTempFile("bulldog", ".bdg");
+            Strategy[] seats = {Strategies.fifteen(15), Strategies.odd(), Strategies.random(0.5)};
+            int[] scores = new int[seats.length];
+            SplittableRandom random = new SplittableRandom(7);
+            try (GameArchiveWriter writer = GameArchiveWriter.create(archive)) {
+                writer.setLineup(GameRecord.FIFTEEN, GameRecord.ODD, GameRecord.RANDOM);
+                for (int g = 0; g < 1_000_000; g++) {
+                    HeadlessGame.play(seats, scores, random, writer);
+                }
+            }
+        } else {
+            archive = Path.of(args[0]);
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long size = Files.size(archive);
+        for (ArchiveQuery query : new ArchiveQuery[] {
+                ArchiveQueries.winRateByStrategy(), ArchiveQueries.comebackWinRate(10, 20)}) {
+            long start = System.nanoTime();
+            long[] result = scan(archive, query, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(query.describe(result));
+            System.out.printf("  scanned %,d bytes in %.3f s (%.2f GB/s)%n", size, seconds, size / seconds / 1e9);
+        }
+
+        if (temporary) {
+            Files.delete(archive);
+            Files.deleteIfExists(archive.resolveSibling(archive.getFileName() + GameArchiveWriter.INDEX_SUFFIX));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Plays many games at once against an {@link ExternalBot}, so that each
+ * round trip to the bot process carries the decisions of hundreds of
+ * games.
+ *
+ * Every game in flight is a small state machine. The engine advances all
+ * games until each one is either finished or waiting for the bot, sends
+ * the waiting decisions as one batch, and applies the answers. The games
+ * are split into two groups that take turns: while the bot works on one
+ * group's batch, the engine advances the other, keeping both processes
+ * busy.
+ *
+ * The dice follow the same rules as {@link HeadlessGame}, and every game
+ * has its own generator seeded from its game number, so the games played
+ * do not depend on how many run at once.
+ *
+ * A {@link GameListener} follows one game at a time, so every slot gets
+ * its own listener from a factory, and events from different games are
+ * never interleaved on one listener. Listeners that add up results, such
+ * as {@link JobTally}, can be merged once the match is over.
+ */
+public class BotMatch {
+    /** The number of groups whose batches are in flight together. */
+    private static final int GROUPS = 2;
+
+    private final Strategy[] seats;
+    private final ExternalBot bot;
+    private final IntFunction<GameListener> listeners;
+
+    /**
+     * Creates a match.
+     *
+     * @param seats The lineup; a null seat is played by the bot
+     * @param bot The connected bot
+     * @param listeners Creates the listener of each slot, given its index;
+     *        a slot plays one game after another, never two at once
+     */
+    public BotMatch(Strategy[] seats, ExternalBot bot, IntFunction<GameListener> listeners) {
+        this.seats = seats.clone();
+        this.bot = bot;
+        this.listeners = listeners;
+    }
+
+    /**
+     * One game in flight.
+     */
+    private final class Slot {
+        final int[] scores = new int[seats.length];
+        final SimRandom random = new SimRandom(0);
+        final GameListener listener;
+        int game = -1;
+        int seat;
+        int turnScore;
+        int lastRoll;
+        int rolls;
+        int turns;
+
+        Slot(GameListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    private long seed;
+    private long games;
+    private long nextGame;
+
+    /**
+     * Plays a number of games.
+     *
+     * @param games The number of games to play
+     * @param concurrency The number of games in flight at once
+     * @param seed The base seed
+     * @throws IOException if the bot goes away
+     */
+    public void play(long games, int concurrency, long seed) throws IOException {
+        this.seed = seed;
+        this.games = games;
+        this.nextGame = 0;
+        int perGroup = (concurrency + GROUPS - 1) / GROUPS;
+        Slot[][] slots = new Slot[GROUPS][perGroup];
+        ExternalBot.DecisionBatch[] batches = new ExternalBot.DecisionBatch[GROUPS];
+        int[][] requestSlots = new int[GROUPS][perGroup];
+        boolean[] outstanding = new boolean[GROUPS];
+        for (int g = 0; g < GROUPS; g++) {
+            batches[g] = new ExternalBot.DecisionBatch(perGroup);
+            for (int i = 0; i < perGroup; i++) {
+                Slot slot = new Slot(listeners.apply(g * perGroup + i));
+                slots[g][i] = slot;
+                if (startGame(slot)) {
+                    advance(slot);
+                }
+            }
+            outstanding[g] = sendPending(slots[g], batches[g], requestSlots[g]);
+        }
+
+        boolean any = true;
+        while (any) {
+            any = false;
+            for (int g = 0; g < GROUPS; g++) {
+                if (!outstanding[g]) {
+                    continue;
+                }
+                ExternalBot.DecisionBatch batch = batches[g];
+                bot.receive(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    Slot slot = slots[g][requestSlots[g][i]];
+                    if (batch.shouldRoll(i) || endTurn(slot, slot.turnScore)) {
+                        advance(slot);
+                    }
+                }
+                outstanding[g] = sendPending(slots[g], batch, requestSlots[g]);
+                any |= outstanding[g];
+            }
+        }
+    }
+
+    /**
+     * Sends the decisions the bot owes a group, if there are any. Each
+     * request carries its game number; the slot it came from is kept
+     * alongside, so the answers can be applied.
+     *
+     * @param requestSlots Receives the slot of each request, in request order
+     */
+    private boolean sendPending(Slot[] group, ExternalBot.DecisionBatch batch, int[] requestSlots)
+            throws IOException {
+        batch.clear();
+        for (int i = 0; i < group.length; i++) {
+            Slot slot = group[i];
+            if (slot.game >= 0 && slot.turnScore > 0 && seats[slot.seat] == null) {
+                requestSlots[batch.size()] = i;
+                batch.add(slot.game, slot.seat, slot.scores, slot.turnScore, slot.lastRoll);
+            }
+        }
+        if (batch.size() == 0) {
+            return false;
+        }
+        bot.send(batch);
+        return true;
+    }
+
+    /**
+     * Starts the next game in a slot.
+     *
+     * @return false if every game has been handed out
+     */
+    private boolean startGame(Slot slot) {
+        if (nextGame >= games) {
+            slot.game = -1;
+            return false;
+        }
+        slot.game = (int) nextGame;
+        slot.random.setState(RacingScheduler.mix(seed, nextGame++));
+        for (int s = 0; s < seats.length; s++) {
+            slot.scores[s] = 0;
+        }
+        slot.seat = 0;
+        slot.turnScore = 0;
+        slot.rolls = 0;
+        slot.turns = 0;
+        slot.listener.gameStarted(seats.length);
+        return true;
+    }
+
+    /**
+     * Rolls for a slot until its game needs a bot decision or every game
+     * is finished.
+     */
+    private void advance(Slot slot) {
+        while (true) {
+            int roll = slot.random.nextInt(HeadlessGame.SIDES) + 1;
+            slot.rolls++;
+            slot.listener.rolled(slot.seat, roll);
+            if (roll == HeadlessGame.SIDES) {
+                slot.turnScore = 0;
+                if (!endTurn(slot, 0)) {
+                    return;
+                }
+                continue;
+            }
+            slot.turnScore += roll;
+            slot.lastRoll = roll;
+            Strategy strategy = seats[slot.seat];
+            if (strategy == null) {
+                return;
+            }
+            if (!strategy.shouldRoll(slot.scores, slot.seat, slot.turnScore, roll, slot.random)
+                    && !endTurn(slot, slot.turnScore)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Banks a turn and moves to the next seat, or to the next game.
+     *
+     * @return false if the slot has no game left to play
+     */
+    private boolean endTurn(Slot slot, int points) {
+        int seat = slot.seat;
+        slot.scores[seat] += points;
+        slot.turns++;
+        slot.listener.turnEnded(seat, points, slot.rolls, points == 0);
+        slot.turnScore = 0;
+        slot.rolls = 0;
+        if (slot.scores[seat] >= BulldogGame.WINNING_SCORE) {
+            slot.listener.gameEnded(seat, slot.turns);
+            return startGame(slot);
+        }
+        if (slot.turns >= HeadlessGame.MAX_ROUNDS * seats.length) {
+            slot.listener.gameEnded(-1, slot.turns);
+            return startGame(slot);
+        }
+        slot.seat = (seat + 1) % seats.length;
+        return true;
+    }
+
+    /**
+     * Plays a reference bot in seat 0 against the built-in players.
+     *
+     * Usage: java BotMatch [bot-strategy] [games] [concurrency]
+     */
+    public static void main(String[] args) throws IOException {
+        String spec = args.length > 0 ? args[0] : "fifteen:20";
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 200_000L;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 512;
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Strategy[] seats = {null, Strategies.fifteen(15), Strategies.odd(), Strategies.wimp()};
+        List<JobTally> tallies = new ArrayList<>();
+        try (ExternalBot bot = new ExternalBot(java, "-cp", System.getProperty("java.class.path"),
+                ExternalBot.class.getName(), spec)) {
+            long start = System.nanoTime();
+            new BotMatch(seats, bot, slot -> {
+                JobTally slotTally = new JobTally(seats.length);
+                tallies.add(slotTally);
+                return slotTally;
+            }).play(games, concurrency, 2024L);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            JobTally tally = new JobTally(seats.length);
+            for (JobTally slotTally : tallies) {
+                tally.merge(slotTally);
+            }
+            System.out.println("Bot " + spec + " in seat 0 vs fifteen, odd, wimp");
+            System.out.println(tally);
+            System.out.printf("%,.0f games/s with %d games in flight%n", games / seconds, concurrency);
+        }
+    }
+}
@@ -1,6 +1,15 @@
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Flow;
 
 /**
  * Manages the Bulldog Dice Game, providing a graphical user interface 
@@ -13,14 +22,26 @@ import java.util.ArrayList;
 public class BulldogGame {
     // Public constant for the winning score
     public static final int WINNING_SCORE = 104;
+    
+    // File holding the checkpoint of the game in progress, resumed from the setup screen
+    private static final Path SAVE_FILE = Paths.get(System.getProperty("user.home"), ".bulldog-save");
 	
     private JFrame frame;
     private JPanel playerPanel, gamePanel, playerListPanel;
-    private JButton addPlayerButton, startGameButton;
+    private JButton addPlayerButton, startGameButton, resumeGameButton;
     private JComboBox<String> playerTypeBox;
     private JTextField playerNameField;
     private PlayerManager playerManager;
     private ScoreboardViewer scoreboardViewer;
+    private ReplayRecord replayRecord;
+    private GameSnapshot resumeSnapshot;
+    private volatile byte[] checkpoint;
+    private boolean checkpointFailed;
+    // The thread playing the game, and whether End Game has abandoned it
+    private Thread gameThread;
+    private volatile boolean cancelled;
+    // Held while the save file is written, so an abandoned game cannot overwrite the save End Game made
+    private final Object saveLock = new Object();
     
     /**
      * Constructs a new BulldogGame, initializing the main game frame
@@ -34,6 +55,22 @@ public class BulldogGame {
         frame.setSize(900, 700);
         frame.setLayout(new BorderLayout());
         
+        // Ctrl+Shift+D opens the event dispatch thread latency report
+        EdtWatchdog watchdog = EdtWatchdog.getInstalled();
+        if (watchdog != null) {
+            JRootPane root = frame.getRootPane();
+            root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke("ctrl shift D"), "edtReport");
+            root.getActionMap().put("edtReport", new AbstractAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public void actionPerformed(java.awt.event.ActionEvent e) {
+                    watchdog.showWindow(frame);
+                }
+            });
+        }
+        
         // Create the player setup panel with improved styling
         createPlayerSetupPanel();
         
@@ -63,7 +100,7 @@ public class BulldogGame {
         JLabel typeLabel = new JLabel("Player Type:");
         typeLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         
-        playerTypeBox = new JComboBox<>(new String[]{"Human Player", "Random Player", "Fifteen Player", "Odd Player", "Wimp Player"});
+        playerTypeBox = new JComboBox<>(new String[]{"Human Player", "Random Player", "Fifteen Player", "Odd Player", "Wimp Player", "Monte Carlo Player"});
         playerTypeBox.setFont(new Font("Arial", Font.PLAIN, 14));
         playerTypeBox.setPreferredSize(new Dimension(150, 30));
         
@@ -83,6 +120,11 @@ public class BulldogGame {
         startGameButton.setPreferredSize(new Dimension(120, 30));
         startGameButton.setEnabled(false);
         
+        resumeGameButton = new JButton("Resume Game");
+        resumeGameButton.setFont(new Font("Arial", Font.BOLD, 14));
+        resumeGameButton.setPreferredSize(new Dimension(130, 30));
+        resumeGameButton.setEnabled(Files.exists(SAVE_FILE));
+        
         // Add components to the player panel
         playerPanel.add(typeLabel);
         playerPanel.add(playerTypeBox);
@@ -90,6 +132,7 @@ public class BulldogGame {
         playerPanel.add(playerNameField);
         playerPanel.add(addPlayerButton);
         playerPanel.add(startGameButton);
+        playerPanel.add(resumeGameButton);
         
         // Create player list panel with a title (center area)
         JPanel playerListContainer = new JPanel(new BorderLayout());
@@ -111,6 +154,7 @@ public class BulldogGame {
         // Add action listeners
         addPlayerButton.addActionListener(e -> addPlayer());
         startGameButton.addActionListener(e -> startGame());
+        resumeGameButton.addActionListener(e -> resumeGame());
         
         // Add panels to the setup panel
         setupPanel.add(playerPanel, BorderLayout.NORTH);
@@ -154,6 +198,7 @@ public class BulldogGame {
             case "Fifteen Player": newPlayer = new FifteenPlayer(name); break;
             case "Odd Player": newPlayer = new OddPlayer(name); break;
             case "Wimp Player": newPlayer = new WimpPlayer(name); break;
+            case "Monte Carlo Player": newPlayer = new MctsPlayer(name); break;
         }
         
         if (newPlayer != null) {
@@ -237,10 +282,51 @@ public class BulldogGame {
             case "Fifteen Player": return new Color(148, 0, 211); // Dark Violet
             case "Odd Player": return new Color(205, 92, 92); // Indian Red
             case "Wimp Player": return new Color(184, 134, 11); // Dark Goldenrod
+            case "Monte Carlo Player": return new Color(0, 128, 128); // Teal
             default: return new Color(100, 100, 100); // Dark Gray
         }
     }
     
+    /**
+     * Restores the checkpointed game and continues it from the turn where
+     * it stopped. The save file is left in place: the resumed game
+     * overwrites it after its next turn, so a failure before then can
+     * still be resumed.
+     */
+    private void resumeGame() {
+        GameSnapshot snapshot;
+        Player[] restored;
+        try {
+            snapshot = GameSnapshot.decode(ByteBuffer.wrap(Files.readAllBytes(SAVE_FILE)));
+            restored = snapshot.createPlayers();
+        } catch (IOException | IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(frame, "The saved game could not be loaded: " + e.getMessage(),
+                "Resume Error", JOptionPane.ERROR_MESSAGE);
+            resumeGameButton.setEnabled(false);
+            return;
+        }
+        
+        playerManager.clearPlayers();
+        for (Player player : restored) {
+            playerManager.addPlayer(player);
+        }
+        resumeSnapshot = snapshot;
+        startGame();
+    }
+    
+    /**
+     * Writes a checkpoint to the save file with write-then-rename, so a
+     * crash mid-write leaves the previous checkpoint intact.
+     * 
+     * @param bytes The encoded snapshot
+     * @throws IOException if the checkpoint cannot be written
+     */
+    private static void writeSave(byte[] bytes) throws IOException {
+        Path temp = SAVE_FILE.resolveSibling(SAVE_FILE.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, SAVE_FILE, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
     private void startGame() {
         // Remove the player setup UI
         frame.getContentPane().removeAll();
@@ -252,7 +338,8 @@ public class BulldogGame {
         frame.repaint();
         
         // Start the game in a separate thread to prevent UI freezing
-        new Thread(this::runGame).start();
+        gameThread = new Thread(this::runGame);
+        gameThread.start();
     }
     
     private void createGamePanel() {
@@ -300,6 +387,27 @@ public class BulldogGame {
                 "End Game", JOptionPane.YES_NO_OPTION);
             
             if (response == JOptionPane.YES_OPTION) {
+                // Stop the game thread first, then keep the state after the last completed
+                // turn so the game can be resumed; the game writes no save once cancelled
+                IOException failure = null;
+                synchronized (saveLock) {
+                    cancelled = true;
+                    byte[] saved = checkpoint;
+                    if (saved != null) {
+                        try {
+                            writeSave(saved);
+                        } catch (IOException ex) {
+                            failure = ex;
+                        }
+                    }
+                }
+                if (gameThread != null) {
+                    gameThread.interrupt();
+                }
+                if (failure != null) {
+                    JOptionPane.showMessageDialog(frame, "The game could not be saved: " + failure.getMessage(),
+                        "Save Error", JOptionPane.ERROR_MESSAGE);
+                }
                 frame.dispose();
                 new BulldogGame();
             }
@@ -347,78 +455,178 @@ public class BulldogGame {
         JLabel turnLabel = (JLabel) ((JPanel) gamePanel.getComponent(1)).getClientProperty("turnLabel");
         JTextArea gameLogArea = (JTextArea) ((JPanel) gamePanel.getComponent(1)).getClientProperty("gameLogArea");
         
-        // Get players from the PlayerManager
-        ArrayList<Player> players = playerManager.getAllPlayers();
+        // One snapshot of the players for the whole game, so changes to the manager cannot shift seats
+        List<Player> players = playerManager.getPlayers();
+        
+        // Every die in the game draws from one seeded generator, so the seed plus
+        // the human decisions are enough to replay the game exactly
+        GameRandom gameRandom;
+        int firstSeat = 0;
+        int turns = 0;
+        if (resumeSnapshot != null) {
+            gameRandom = resumeSnapshot.createRandom();
+            replayRecord = ReplayRecord.decode(resumeSnapshot.getReplay());
+            firstSeat = resumeSnapshot.getNextSeat();
+            turns = resumeSnapshot.getTurns();
+        } else {
+            long seed = new Random().nextLong();
+            gameRandom = new GameRandom(seed);
+            int[] strategyIds = new int[players.size()];
+            for (int i = 0; i < strategyIds.length; i++) {
+                strategyIds[i] = GameRecord.idOf(players.get(i));
+            }
+            replayRecord = new ReplayRecord(seed, strategyIds);
+        }
+        Player[] seatPlayers = players.toArray(new Player[0]);
+        GameSnapshot snapshot = new GameSnapshot(seatPlayers);
+        for (Player player : players) {
+            player.setRandom(gameRandom);
+            if (player instanceof HumanPlayer) {
+                ((HumanPlayer) player).setReplayRecord(replayRecord);
+            } else if (player instanceof MctsPlayer) {
+                ((MctsPlayer) player).setReplayRecord(replayRecord);
+            }
+        }
+        for (int s = 0; s < seatPlayers.length; s++) {
+            if (seatPlayers[s] instanceof StrategyPlayer) {
+                ((StrategyPlayer) seatPlayers[s]).setTable(seatPlayers, s);
+            } else if (seatPlayers[s] instanceof HumanPlayer) {
+                ((HumanPlayer) seatPlayers[s]).setTable(seatPlayers, s);
+            }
+        }
         
-        // Log game start
-        logMessage(gameLogArea, "Game started with " + players.size() + " players");
+        // Game events go through a ring buffer, and the log and scoreboard subscribe to them
+        // with their own demand; the game loop never waits for either
+        String[] names = new String[players.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = players.get(i).getName();
+        }
+        GameEventRing events = new GameEventRing(1024);
+        GameEventPublisher publisher = new GameEventPublisher(events);
+        publisher.subscribe(new GameLogSubscriber(gameLogArea, names));
+        publisher.subscribe(new ScoreboardSubscriber(scoreboardViewer, seatPlayers),
+            GameEventPublisher.Overflow.CONFLATE, 1);
         
-        boolean won = false;
-        while (!won) {
-            for (int i = 0; i < playerManager.getPlayerCount(); i++) {
-                if (won) break;
+        try {
+            // Log game start
+            events.publish(GameEvent.GAME_STARTED, -1, players.size(), 0);
+            FlightEvents.Game gameEvent = FlightEvents.beginGame(players.size(), replayRecord.getSeed());
+        
+            boolean won = false;
+            while (!won) {
+                for (int i = firstSeat; i < players.size(); i++) {
+                    if (won) break;
+                    if (cancelled) {
+                        return;
+                    }
                 
-                Player player = playerManager.getPlayer(i);
+                    Player player = players.get(i);
+                    int seat = i;
                 
-                // Update turn label
-                SwingUtilities.invokeLater(() -> {
-                    turnLabel.setText(player.getName() + "'s Turn");
-                });
+                    // Update turn label
+                    SwingUtilities.invokeLater(() -> {
+                        turnLabel.setText(player.getName() + "'s Turn");
+                    });
                 
-                // Set up the player's panel in the center
-                SwingUtilities.invokeLater(() -> {
-                    // Get the player area panel (component 1 in the gamePanel)
-                    JPanel playerAreaPanel = (JPanel) gamePanel.getComponent(1);
+                    // Set up the player's panel in the center
+                    SwingUtilities.invokeLater(() -> {
+                        // Get the player area panel (component 1 in the gamePanel)
+                        JPanel playerAreaPanel = (JPanel) gamePanel.getComponent(1);
                     
-                    // Clear existing components except the border title
-                    playerAreaPanel.removeAll();
+                        // Clear existing components except the border title
+                        playerAreaPanel.removeAll();
                     
-                    // Add the current player's frame
-                    JPanel playerFrame = player.getPlayerFrame();
-                    if (playerFrame != null) {
-                        playerAreaPanel.add(playerFrame, BorderLayout.CENTER);
-                    }
+                        // Add the current player's frame
+                        JPanel playerFrame = player.getPlayerFrame();
+                        if (playerFrame != null) {
+                            playerAreaPanel.add(playerFrame, BorderLayout.CENTER);
+                        }
                     
-                    playerAreaPanel.revalidate();
-                    playerAreaPanel.repaint();
-                });
+                        playerAreaPanel.revalidate();
+                        playerAreaPanel.repaint();
+                    });
                 
-                // Update the current player in the scoreboard
-                scoreboardViewer.setCurrentPlayer(player);
+                    events.publish(GameEvent.TURN_STARTED, seat, 0, 0);
                 
-                logMessage(gameLogArea, player.getName() + "'s turn begins");
+                    // Let the player play
+                    int turnScore = player.play();
                 
-                // Let the player play
-                int turnScore = player.play();
+                    // End Game abandoned this game during the turn; the save is End Game's now
+                    if (cancelled) {
+                        return;
+                    }
                 
-                // Update the player's score
-                int newScore = player.getScore() + turnScore;
-                player.setScore(newScore);
+                    // Update the player's score
+                    int newScore = player.addScore(turnScore);
                 
-                // Update the score in the scoreboard
-                scoreboardViewer.updateScore(player);
+                    // A turn only scores zero when it ends on a six
+                    turns++;
+                    events.publish(turnScore == 0 ? GameEvent.BUSTED : GameEvent.HELD, seat, turnScore, 0);
+                    events.publish(GameEvent.SCORE_CHANGED, seat, newScore, 0);
                 
-                logMessage(gameLogArea, player.getName() + " earned " + turnScore + " points this turn");
+                    // Check for win condition
+                    if (player.getScore() >= WINNING_SCORE) {
+                        events.publish(GameEvent.GAME_ENDED, seat, turns, player.getScore());
+                        FlightEvents.endGame(gameEvent, player, turns);
+                        JOptionPane.showMessageDialog(frame, 
+                            "Congratulations " + player.getName() + "! You win!", 
+                            "Winner!", JOptionPane.INFORMATION_MESSAGE);
+                        won = true;
+                        checkpoint = null;
+                        synchronized (saveLock) {
+                            if (cancelled) {
+                                return;
+                            }
+                            try {
+                                Files.deleteIfExists(SAVE_FILE);
+                            } catch (IOException e) {
+                                // A finished game left behind only offers a stale resume
+                            }
+                        }
+                        break;
+                    }
                 
-                // Check for win condition
-                if (player.getScore() >= WINNING_SCORE) {
-                    logMessage(gameLogArea, player.getName() + " has won the game!");
-                    scoreboardViewer.setWinner(player);
-                    JOptionPane.showMessageDialog(frame, 
-                        "Congratulations " + player.getName() + "! You win!", 
-                        "Winner!", JOptionPane.INFORMATION_MESSAGE);
-                    won = true;
-                    break;
-                }
+                    // Checkpoint the game between turns, on disk too so a crash or kill loses at
+                    // most the turn in progress; encoding costs a few microseconds, the write a little more
+                    snapshot.update(seatPlayers, (seat + 1) % players.size(), gameRandom, turns);
+                    snapshot.setReplay(replayRecord.encode());
+                    synchronized (saveLock) {
+                        if (cancelled) {
+                            return;
+                        }
+                        checkpoint = snapshot.toBytes();
+                        try {
+                            writeSave(checkpoint);
+                        } catch (IOException e) {
+                            if (!checkpointFailed) {
+                                checkpointFailed = true;
+                                String message = e.getMessage();
+                                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(frame,
+                                    "The game cannot be checkpointed to disk: " + message
+                                        + "\nIt can still be saved with End Game.",
+                                    "Save Error", JOptionPane.WARNING_MESSAGE));
+                            }
+                        }
+                    }
                 
-                // Pause between turns for non-human players
-                if (!(player instanceof HumanPlayer)) {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
+                    // Pause between turns for non-human players
+                    if (!(player instanceof HumanPlayer)) {
+                        try {
+                            Thread.sleep(1000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
                     }
                 }
+                firstSeat = 0;
+            }
+        } finally {
+            // Stop the log and scoreboard consumers however the game ends; after a win they
+            // drain the final events first, so the log is complete before the win screen
+            try {
+                events.shutdown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
         
@@ -427,16 +635,147 @@ public class BulldogGame {
     }
     
     /**
-     * Logs a message to the game log area.
-     * 
-     * @param gameLogArea The text area for game log messages
-     * @param message The message to be logged
+     * A subscriber whose events are applied on the event dispatch thread.
+     * It asks for a window of events and asks for more only as the EDT
+     * works through them, so while the EDT is busy the publisher buffers
+     * or conflates events instead of flooding the Swing event queue.
      */
-    private void logMessage(JTextArea gameLogArea, String message) {
-        SwingUtilities.invokeLater(() -> {
-            gameLogArea.append(message + "\n");
-            gameLogArea.setCaretPosition(gameLogArea.getDocument().getLength());
-        });
+    private abstract static class SwingSubscriber implements Flow.Subscriber<GameEventPublisher.Event> {
+        private final int window;
+        private final List<GameEventPublisher.Event> pending = new ArrayList<>();
+        private volatile Flow.Subscription subscription;
+        
+        SwingSubscriber(int window) {
+            this.window = window;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(window);
+        }
+        
+        @Override
+        public void onNext(GameEventPublisher.Event event) {
+            boolean first;
+            synchronized (pending) {
+                first = pending.isEmpty();
+                pending.add(event);
+            }
+            // One EDT update per batch; later events join the batch until it runs
+            if (first) {
+                SwingUtilities.invokeLater(this::flush);
+            }
+        }
+        
+        private void flush() {
+            List<GameEventPublisher.Event> batch;
+            synchronized (pending) {
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+            apply(batch);
+            subscription.request(batch.size());
+        }
+        
+        /**
+         * Shows a batch of events; called on the event dispatch thread.
+         * 
+         * @param batch The events, in publication order
+         */
+        abstract void apply(List<GameEventPublisher.Event> batch);
+        
+        @Override
+        public void onError(Throwable error) {
+            error.printStackTrace();
+        }
+        
+        @Override
+        public void onComplete() {
+        }
+    }
+    
+    /**
+     * Writes game events to the game log, noting any it had to skip
+     * because the EDT fell too far behind.
+     */
+    private static class GameLogSubscriber extends SwingSubscriber {
+        private final JTextArea gameLogArea;
+        private final String[] names;
+        private long nextSequence = -1;
+        
+        GameLogSubscriber(JTextArea gameLogArea, String[] names) {
+            super(256);
+            this.gameLogArea = gameLogArea;
+            this.names = names;
+        }
+        
+        @Override
+        void apply(List<GameEventPublisher.Event> batch) {
+            StringBuilder text = new StringBuilder();
+            for (GameEventPublisher.Event event : batch) {
+                if (nextSequence >= 0 && event.getSequence() > nextSequence) {
+                    text.append("(").append(event.getSequence() - nextSequence).append(" events skipped)\n");
+                }
+                nextSequence = event.getSequence() + 1;
+                int seat = event.getSeat();
+                switch (event.getType()) {
+                    case GAME_STARTED:
+                        text.append("Game started with ").append(event.getFirst()).append(" players\n");
+                        break;
+                    case TURN_STARTED:
+                        text.append(names[seat]).append("'s turn begins\n");
+                        break;
+                    case HELD:
+                    case BUSTED:
+                        text.append(names[seat]).append(" earned ").append(event.getFirst()).append(" points this turn\n");
+                        break;
+                    case GAME_ENDED:
+                        text.append(names[seat]).append(" has won the game!\n");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (text.length() > 0) {
+                gameLogArea.append(text.toString());
+                gameLogArea.setCaretPosition(gameLogArea.getDocument().getLength());
+            }
+        }
+    }
+    
+    /**
+     * Keeps the scoreboard up to date. It subscribes with conflation, so
+     * after a stall it catches up with only the latest turn and scores.
+     */
+    private static class ScoreboardSubscriber extends SwingSubscriber {
+        private final ScoreboardViewer scoreboardViewer;
+        private final Player[] seatPlayers;
+        
+        ScoreboardSubscriber(ScoreboardViewer scoreboardViewer, Player[] seatPlayers) {
+            super(16);
+            this.scoreboardViewer = scoreboardViewer;
+            this.seatPlayers = seatPlayers;
+        }
+        
+        @Override
+        void apply(List<GameEventPublisher.Event> batch) {
+            for (GameEventPublisher.Event event : batch) {
+                switch (event.getType()) {
+                    case TURN_STARTED:
+                        scoreboardViewer.setCurrentPlayer(seatPlayers[event.getSeat()]);
+                        break;
+                    case SCORE_CHANGED:
+                        scoreboardViewer.updateScore(seatPlayers[event.getSeat()]);
+                        break;
+                    case GAME_ENDED:
+                        scoreboardViewer.setWinner(seatPlayers[event.getSeat()]);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
     }
     
     /**
@@ -463,9 +802,26 @@ public class BulldogGame {
      * Main method to launch the Bulldog Game.
      * Sets the system look and feel and initializes the game.
      * 
+     * The event dispatch thread watchdog is always installed; events
+     * running longer than -Dbulldog.edt.stallMillis (default 100) have
+     * their stacks captured, and -Dbulldog.edt.report=<file> writes the
+     * latency report to a file when the program exits.
+     * 
      * @param args Command-line arguments (not used)
      */
     public static void main(String[] args) {
+        EdtWatchdog watchdog = EdtWatchdog.install(Long.getLong("bulldog.edt.stallMillis", 100));
+        String report = System.getProperty("bulldog.edt.report");
+        if (report != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    watchdog.dump(Paths.get(report));
+                } catch (IOException e) {
+                    System.err.println("Could not write EDT report: " + e.getMessage());
+                }
+            }));
+        }
+        
         // Set the look and feel to the system look and feel
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -0,0 +1,80 @@
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A {@link RunningMoments} that many threads can add to at once.
+ *
+ * Each thread updates its own cell, so adding never contends or locks.
+ * A cell is guarded by a sequence number that is odd while its owner is
+ * writing, which lets {@link #snapshot()} read a consistent copy of
+ * every cell at any time and merge them without stopping the writers.
+ */
+public class ConcurrentMoments {
+    private final CopyOnWriteArrayList<Cell> cells = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Cell> local = ThreadLocal.withInitial(this::newCell);
+
+    /**
+     * Adds one sample from the calling thread.
+     *
+     * @param value The sample to add
+     */
+    public void add(double value) {
+        local.get().add(value);
+    }
+
+    /**
+     * Merges the current state of every thread's cell.
+     *
+     * @return A new accumulator holding all samples added so far
+     */
+    public RunningMoments snapshot() {
+        RunningMoments result = new RunningMoments();
+        for (Cell cell : cells) {
+            cell.mergeInto(result);
+        }
+        return result;
+    }
+
+    private Cell newCell() {
+        Cell cell = new Cell();
+        cells.add(cell);
+        return cell;
+    }
+
+    /**
+     * Welford state owned by a single writer thread.
+     */
+    private static final class Cell {
+        private volatile int sequence;
+        private long count;
+        private double mean;
+        private double m2;
+
+        void add(double value) {
+            sequence++;
+            VarHandle.releaseFence();
+            count++;
+            double d = value - mean;
+            mean += d / count;
+            m2 += d * (value - mean);
+            sequence++;
+        }
+
+        void mergeInto(RunningMoments target) {
+            while (true) {
+                int before = sequence;
+                if ((before & 1) == 0) {
+                    long c = count;
+                    double m = mean;
+                    double s = m2;
+                    VarHandle.acquireFence();
+                    if (sequence == before) {
+                        target.merge(c, m, s);
+                        return;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -2,7 +2,9 @@ import java.util.Random;
 
 /**
  * Represents a multi-sided die with a configurable number of sides.
- * Uses a single static random number generator for efficiency.
+ * Uses a single static random number generator for efficiency unless
+ * a game supplies its own seeded generator, which makes that game
+ * reproducible.
  */
 public class Dice {
     // Static random number generator shared across all Dice instances
@@ -11,6 +13,9 @@ public class Dice {
     // Number of sides on the die
     private final int sides;
 
+    // Random number generator this die draws from
+    private Random random;
+
     /**
      * Constructs a die with a specified number of sides.
      *
@@ -22,6 +27,19 @@ public class Dice {
             throw new IllegalArgumentException("Dice must have at least one side");
         }
         this.sides = sides;
+        this.random = RANDOM;
+    }
+
+    /**
+     * Constructs a die that draws from the given random number generator.
+     *
+     * @param sides Number of sides on the die (must be > 0)
+     * @param random The generator to draw from
+     * @throws IllegalArgumentException if sides is less than 1
+     */
+    public Dice(int sides, Random random) {
+        this(sides);
+        setRandom(random);
     }
 
     /**
@@ -30,7 +48,16 @@ public class Dice {
      * @return A random integer between 1 and the number of sides (inclusive)
      */
     public int roll() {
-        return RANDOM.nextInt(sides) + 1;
+        return random.nextInt(sides) + 1;
+    }
+
+    /**
+     * Sets the random number generator this die draws from.
+     *
+     * @param random The generator to use, or null for the shared generator
+     */
+    public void setRandom(Random random) {
+        this.random = random != null ? random : RANDOM;
     }
 
     /**
@@ -0,0 +1,317 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how responsive the event dispatch thread is and records what
+ * it was doing when it stalled.
+ *
+ * Installing the watchdog pushes an {@link EventQueue} that times the
+ * handling of every event. A daemon thread posts a probe event every
+ * {@link #PROBE_MILLIS} milliseconds and measures how long it waits in the
+ * queue, which is the delay any input event would see at that moment.
+ * The same thread notices when one event has been running longer than
+ * the stall threshold and captures the dispatch thread's stack while the
+ * stall is still in progress, so the report shows the code responsible.
+ *
+ * Both timings go into {@link QuantileSketch}es. The report can be shown
+ * in a debug window ({@link #showWindow}) or written to a file.
+ */
+public final class EdtWatchdog {
+    /** Interval between dispatch-delay probes. */
+    private static final int PROBE_MILLIS = 50;
+
+    /** Stall reports kept; older ones are dropped. */
+    private static final int MAX_STALLS = 20;
+
+    /** Largest time recorded in the histograms, in microseconds (one minute). */
+    private static final double MAX_MICROS = 60_000_000;
+
+    private static EdtWatchdog installed;
+
+    private final long stallNanos;
+    private final QuantileSketch dispatchDelay = new QuantileSketch(0.02, MAX_MICROS);
+    private final QuantileSketch handlingTime = new QuantileSketch(0.02, MAX_MICROS);
+    private final ArrayDeque<Stall> stalls = new ArrayDeque<>();
+
+    /** Start of the event being dispatched, or 0 between events; written by the dispatch thread. */
+    private volatile long dispatchStart;
+    /** Start of the event whose stall was last captured, so each stall is captured once. */
+    private volatile long stalledStart;
+    private volatile long maxHandlingNanos;
+    private volatile long maxDelayNanos;
+    private volatile long events;
+    private volatile Thread dispatchThread;
+
+    /** Nesting depth of dispatchEvent; this and the fields below belong to the dispatch thread. */
+    private int depth;
+    /** Time the innermost event has run before its current stretch. */
+    private long ownNanos;
+    /** Start of the innermost event's current stretch of running. */
+    private long resumedAt;
+    /** Whether the innermost event has dispatched a nested event, so it only waits until its tail. */
+    private boolean afterNested;
+
+    private EdtWatchdog(long stallMillis) {
+        this.stallNanos = stallMillis * 1_000_000L;
+    }
+
+    /**
+     * Installs the watchdog, once per JVM; later calls return the
+     * watchdog already installed.
+     *
+     * @param stallMillis How long one event must run to be reported as a stall
+     * @return The installed watchdog
+     * @throws IllegalArgumentException if stallMillis is not positive
+     */
+    public static synchronized EdtWatchdog install(long stallMillis) {
+        if (stallMillis <= 0) {
+            throw new IllegalArgumentException("Stall threshold must be positive");
+        }
+        if (installed == null) {
+            EdtWatchdog watchdog = new EdtWatchdog(stallMillis);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog.new TimingQueue());
+            Thread monitor = new Thread(watchdog::monitor, "edt-watchdog");
+            monitor.setDaemon(true);
+            monitor.start();
+            installed = watchdog;
+        }
+        return installed;
+    }
+
+    /**
+     * @return The installed watchdog, or null if none is installed
+     */
+    public static synchronized EdtWatchdog getInstalled() {
+        return installed;
+    }
+
+    /**
+     * The event queue that times every dispatched event.
+     */
+    private final class TimingQueue extends EventQueue {
+        /**
+         * Dispatch nests when an event opens a modal dialog, whose loop
+         * dispatches events of its own. The outer event is charged only
+         * for its work before the first nested event and after the last;
+         * in between, the dispatch thread idles in the dialog's loop, and
+         * that is neither handling time nor a stall.
+         */
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long start = System.nanoTime();
+            long outerOwn = ownNanos + (depth > 0 && !afterNested ? start - resumedAt : 0);
+            depth++;
+            ownNanos = 0;
+            resumedAt = start;
+            afterNested = false;
+            dispatchThread = Thread.currentThread();
+            dispatchStart = start;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                // After a nested dispatch, resumedAt is where the last one ended
+                long elapsed = ownNanos + (end - resumedAt);
+                handlingTime.record(elapsed / 1_000.0);
+                if (elapsed > maxHandlingNanos) {
+                    maxHandlingNanos = elapsed;
+                }
+                events++;
+                if (stalledStart == start) {
+                    finishStall(elapsed, event);
+                }
+                depth--;
+                ownNanos = outerOwn;
+                resumedAt = end;
+                afterNested = true;
+                // An outer event waiting in a modal loop is not watched for stalls
+                dispatchStart = 0;
+            }
+        }
+    }
+
+    /**
+     * Runs on the watchdog thread: posts probes and looks for stalls.
+     */
+    private void monitor() {
+        long[] posted = new long[1];
+        Runnable probe = () -> {
+            long delay;
+            synchronized (posted) {
+                delay = System.nanoTime() - posted[0];
+                posted[0] = 0;
+            }
+            dispatchDelay.record(delay / 1_000.0);
+            if (delay > maxDelayNanos) {
+                maxDelayNanos = delay;
+            }
+        };
+        while (true) {
+            try {
+                Thread.sleep(PROBE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Only one probe is in flight, so a stalled queue is not flooded with them
+            synchronized (posted) {
+                if (posted[0] == 0) {
+                    posted[0] = System.nanoTime();
+                    EventQueue.invokeLater(probe);
+                }
+            }
+            long start = dispatchStart;
+            Thread thread = dispatchThread;
+            if (start != 0 && thread != null && stalledStart != start && System.nanoTime() - start > stallNanos) {
+                StackTraceElement[] stack = thread.getStackTrace();
+                // The event may have finished while the stack was taken
+                if (dispatchStart == start) {
+                    synchronized (stalls) {
+                        stalls.addLast(new Stall(System.currentTimeMillis(), stack));
+                        if (stalls.size() > MAX_STALLS) {
+                            stalls.removeFirst();
+                        }
+                        stalledStart = start;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the newest stall report once its event has finished.
+     */
+    private void finishStall(long elapsed, AWTEvent event) {
+        synchronized (stalls) {
+            Stall stall = stalls.peekLast();
+            if (stall != null && stall.totalNanos == 0) {
+                stall.totalNanos = elapsed;
+                stall.event = event.getClass().getSimpleName() + " from "
+                    + (event.getSource() == null ? "?" : event.getSource().getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Builds a text report of the histograms and recent stalls.
+     *
+     * @return The report
+     */
+    public String report() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.printf("Event dispatch thread, %,d events handled, stall threshold %d ms%n%n",
+            events, stallNanos / 1_000_000);
+        out.println("                       p50        p90        p99      p99.9        max");
+        printRow(out, "Dispatch delay", dispatchDelay, maxDelayNanos);
+        printRow(out, "Handling time", handlingTime, maxHandlingNanos);
+        List<Stall> recent;
+        synchronized (stalls) {
+            recent = new ArrayList<>(stalls);
+        }
+        out.printf("%n%d stall(s) captured%n", recent.size());
+        for (Stall stall : recent) {
+            out.println();
+            out.printf("%tT.%<tL  %s, %s%n", stall.wallMillis,
+                stall.totalNanos == 0 ? "still running" : String.format("%.1f ms", stall.totalNanos / 1e6),
+                stall.event == null ? "event unknown" : stall.event);
+            for (StackTraceElement frame : stall.stack) {
+                out.println("    at " + frame);
+            }
+        }
+        out.flush();
+        return text.toString();
+    }
+
+    private static void printRow(PrintWriter out, String label, QuantileSketch sketch, long maxNanos) {
+        double[] q = sketch.quantiles(0.5, 0.9, 0.99, 0.999);
+        out.printf("%-16s %8.2f ms %7.2f ms %7.2f ms %7.2f ms %7.2f ms%n",
+            label, q[0] / 1000, q[1] / 1000, q[2] / 1000, q[3] / 1000, maxNanos / 1e6);
+    }
+
+    /**
+     * Writes the report to a file with write-then-rename, so a reader
+     * never sees half a report.
+     *
+     * @param file The destination
+     * @throws IOException if writing fails
+     */
+    public void dump(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, report().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Opens a debug window showing the report, refreshed once a second,
+     * with a button that saves it to a file. Call on the event dispatch thread.
+     *
+     * @param owner The window the debug window belongs to
+     */
+    public void showWindow(Window owner) {
+        JDialog dialog = new JDialog(owner, "EDT Latency", Dialog.ModalityType.MODELESS);
+        JTextArea area = new JTextArea(30, 90);
+        area.setEditable(false);
+        area.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        area.setText(report());
+        Timer refresh = new Timer(1000, e -> {
+            area.setText(report());
+            area.setCaretPosition(0);
+        });
+        JButton save = new JButton("Save Report...");
+        save.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File("edt-report.txt"));
+            if (chooser.showSaveDialog(dialog) == JFileChooser.APPROVE_OPTION) {
+                try {
+                    dump(chooser.getSelectedFile().toPath());
+                } catch (IOException ex) {
+                    JOptionPane.showMessageDialog(dialog, "Could not save: " + ex.getMessage());
+                }
+            }
+        });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(save);
+        dialog.add(new JScrollPane(area), BorderLayout.CENTER);
+        dialog.add(buttons, BorderLayout.SOUTH);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refresh.stop();
+            }
+        });
+        dialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+        refresh.start();
+    }
+
+    /**
+     * One event that ran past the stall threshold.
+     */
+    private static final class Stall {
+        final long wallMillis;
+        final StackTraceElement[] stack;
+        /** Total handling time, or 0 while the event is still running. */
+        long totalNanos;
+        String event;
+
+        Stall(long wallMillis, StackTraceElement[] stack) {
+            this.wallMillis = wallMillis;
+            this.stack = stack;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link GameEventRing} consumer that appends raw packed events to a
+ * file.
+ *
+ * The file starts with the magic number "BDE1" and holds one 8-byte
+ * {@link GameEvent} per event after that. Events are collected in a
+ * buffer and written once per batch, so the consumer thread does a
+ * handful of writes per second even when the game publishes millions
+ * of events. Dropped events are recorded as a single marker event of
+ * type 0 whose first value is the number lost (saturated to 24 bits).
+ */
+public class EventJournal implements GameEventRing.Handler, Closeable {
+    /** The magic number at the start of every journal ("BDE1"). */
+    public static final int MAGIC = 0x42444531;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates (or truncates) a journal file.
+     *
+     * @param path The file to write
+     * @throws IOException if the file cannot be opened
+     */
+    public EventJournal(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(64 * 1024);
+        buffer.putInt(MAGIC);
+    }
+
+    @Override
+    public void onEvent(long event, long sequence, boolean endOfBatch) {
+        // The magic number offsets the first fill, so the buffer can run short of a whole event
+        if (buffer.remaining() < Long.BYTES) {
+            flush();
+        }
+        buffer.putLong(event);
+        if (endOfBatch || buffer.remaining() < Long.BYTES) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onDropped(long count) {
+        if (buffer.remaining() < Long.BYTES) {
+            flush();
+        }
+        buffer.putLong(GameEvent.encode(0, -1, (int) Math.min(count, 0xFFFFFF), 0));
+    }
+
+    /**
+     * Writes buffered events to the file.
+     *
+     * @throws UncheckedIOException if the write fails
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes and closes the file. Call only after the ring's consumers
+     * have been shut down.
+     *
+     * @throws IOException if the close fails
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+}
@@ -0,0 +1,237 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A strategy running as a separate executable, spoken to over its stdin
+ * and stdout.
+ *
+ * The protocol is binary and big-endian, with no line framing. After a
+ * handshake in which each side sends {@link #MAGIC}, the engine sends
+ * batches of decision requests and the bot answers each batch with one
+ * byte per request, in request order:
+ *
+ * <pre>
+ *   batch:    int count (0 ends the session), then count x request
+ *   request:  int game, byte seat, byte seatCount, seatCount x short score,
+ *             short turnScore, byte lastRoll
+ *   response: int count, then count x byte (1 = roll again, 0 = hold)
+ * </pre>
+ *
+ * The game field is the number of the game within the match, counting
+ * from 0, so a bot may keep per-game state keyed on it; a game's number
+ * is never reused within a match.
+ *
+ * One batch carries the pending decisions of many games, and the engine
+ * may send a second batch before reading the answer to the first, so the
+ * cost of a process round trip is shared by hundreds of decisions. See
+ * {@link BotMatch} for the engine side that multiplexes the games.
+ *
+ * Running this class with a strategy description starts a reference bot
+ * that answers with a built-in strategy, e.g. {@code java ExternalBot fifteen:20}.
+ */
+public class ExternalBot implements Closeable {
+    /** The handshake sent by both sides ("BDB1"). */
+    public static final int MAGIC = 0x42444231;
+
+    private final Process process;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+
+    /**
+     * Starts a bot and performs the handshake.
+     *
+     * @param command The bot's command line
+     * @throws IOException if the bot cannot be started or answers wrongly
+     */
+    public ExternalBot(String... command) throws IOException {
+        process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream(), 1 << 16));
+        in = new DataInputStream(new BufferedInputStream(process.getInputStream(), 1 << 16));
+        out.writeInt(MAGIC);
+        out.flush();
+        if (in.readInt() != MAGIC) {
+            process.destroyForcibly();
+            throw new IOException("Not a Bulldog bot: " + String.join(" ", command));
+        }
+    }
+
+    /**
+     * A batch of decision requests and, once answered, their decisions.
+     * Its arrays are reused from batch to batch.
+     */
+    public static final class DecisionBatch {
+        private int count;
+        private int[] games;
+        private byte[] seats;
+        private int[][] scores;
+        private int[] turnScores;
+        private byte[] lastRolls;
+        private boolean[] rolls;
+
+        /**
+         * @param capacity The most requests the batch will hold
+         */
+        public DecisionBatch(int capacity) {
+            games = new int[capacity];
+            seats = new byte[capacity];
+            scores = new int[capacity][];
+            turnScores = new int[capacity];
+            lastRolls = new byte[capacity];
+            rolls = new boolean[capacity];
+        }
+
+        /** Empties the batch. */
+        public void clear() {
+            count = 0;
+        }
+
+        /**
+         * Adds a request. The scores array is read when the batch is sent.
+         */
+        public void add(int game, int seat, int[] seatScores, int turnScore, int lastRoll) {
+            games[count] = game;
+            seats[count] = (byte) seat;
+            scores[count] = seatScores;
+            turnScores[count] = turnScore;
+            lastRolls[count] = (byte) lastRoll;
+            count++;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public int getGame(int index) {
+            return games[index];
+        }
+
+        /**
+         * @return The bot's answer to a request: true to roll again
+         */
+        public boolean shouldRoll(int index) {
+            return rolls[index];
+        }
+    }
+
+    /**
+     * Sends a batch without waiting for the answer.
+     *
+     * @param batch The requests
+     * @throws IOException if the bot has gone away
+     */
+    public void send(DecisionBatch batch) throws IOException {
+        out.writeInt(batch.count);
+        for (int i = 0; i < batch.count; i++) {
+            int[] seatScores = batch.scores[i];
+            out.writeInt(batch.games[i]);
+            out.writeByte(batch.seats[i]);
+            out.writeByte(seatScores.length);
+            for (int score : seatScores) {
+                out.writeShort(score);
+            }
+            out.writeShort(batch.turnScores[i]);
+            out.writeByte(batch.lastRolls[i]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the answer to the oldest batch sent and not yet received.
+     *
+     * @param batch That batch, which receives the decisions
+     * @throws IOException if the bot has gone away or answers the wrong count
+     */
+    public void receive(DecisionBatch batch) throws IOException {
+        if (in.readInt() != batch.count) {
+            throw new IOException("Bot answered the wrong number of decisions");
+        }
+        for (int i = 0; i < batch.count; i++) {
+            batch.rolls[i] = in.readByte() != 0;
+        }
+    }
+
+    /**
+     * Ends the session and waits briefly for the bot to exit.
+     */
+    @Override
+    public void close() {
+        try {
+            out.writeInt(0);
+            out.flush();
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The bot side of the protocol: answers batches with a strategy until
+     * the engine ends the session.
+     *
+     * @param strategy The strategy making the decisions
+     * @param in The engine's requests
+     * @param out Where answers are written
+     * @throws IOException if the engine breaks the protocol
+     */
+    public static void serve(Strategy strategy, DataInputStream in, DataOutputStream out) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a Bulldog engine");
+        }
+        out.writeInt(MAGIC);
+        out.flush();
+        SimRandom random = new SimRandom(System.nanoTime());
+        int[][] scoresBySize = new int[8][];
+        for (int n = 0; n < scoresBySize.length; n++) {
+            scoresBySize[n] = new int[n];
+        }
+        while (true) {
+            int count;
+            try {
+                count = in.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            if (count == 0) {
+                return;
+            }
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                in.readInt();
+                int seat = in.readUnsignedByte();
+                int[] scores = scoresBySize[in.readUnsignedByte()];
+                for (int s = 0; s < scores.length; s++) {
+                    scores[s] = in.readShort();
+                }
+                int turnScore = in.readShort();
+                int lastRoll = in.readUnsignedByte();
+                out.writeByte(strategy.shouldRoll(scores, seat, turnScore, lastRoll, random) ? 1 : 0);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs a reference bot using a built-in strategy.
+     *
+     * Usage: java ExternalBot strategy
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java ExternalBot strategy");
+            System.exit(1);
+        }
+        serve(Strategies.parse(args[0]), new DataInputStream(new BufferedInputStream(System.in, 1 << 16)),
+            new DataOutputStream(new BufferedOutputStream(System.out, 1 << 16)));
+    }
+}
@@ -1,5 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -20,6 +21,9 @@ public class FifteenPlayer extends Player {
     private Timer delayTimer;
     private int turnScore;
     private boolean continueTurn;
+    private FlightEvents.Turn turnEvent;
+    private StrategyMetrics.Turn metricsTurn;
+    private int rolls;
     private JLabel scoreValueLabel;
     private JPanel dicePanel;
     private JLabel diceLabel;
@@ -41,6 +45,25 @@ public class FifteenPlayer extends Player {
         /** Create a six-sided die */
         die = new Dice(6);
         initializePanel();
+        
+        // One timer paces every roll of every turn
+        delayTimer = new Timer(800, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                continuePlay();
+            }
+        });
+        delayTimer.setRepeats(false);
+    }
+
+    /**
+     * Makes this player's die draw from the given generator.
+     * 
+     * @param random the generator for all of this player's rolls
+     */
+    @Override
+    public void setRandom(Random random) {
+        die.setRandom(random);
     }
 
     /**
@@ -201,6 +224,7 @@ public class FifteenPlayer extends Player {
     public int play() {
         turnScore = 0;
         continueTurn = true;
+        rolls = 0;
         gameLog.setText("");
         
         // Reset displays
@@ -209,15 +233,13 @@ public class FifteenPlayer extends Player {
         statusLabel.setText(getName() + "'s turn");
 
         logMessage(getName() + " is starting their turn.");
+        turnEvent = FlightEvents.beginTurn(this, "Fifteen");
+        metricsTurn = MetricsRegistry.global().register("Fifteen").beginTurn();
+        // The rolls run on the Event Dispatch Thread, which measures each one
+        metricsTurn.pause();
 
         // Begin the rolling sequence with a timer for delay
-        delayTimer = new Timer(800, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                continuePlay();
-            }
-        });
-        delayTimer.setRepeats(false);
+        delayTimer.setInitialDelay(800);
         delayTimer.start();
 
         // Wait until the turn is complete
@@ -225,7 +247,9 @@ public class FifteenPlayer extends Player {
             try {
                 Thread.sleep(100);
             } catch (InterruptedException e) {
+                // The game was abandoned; stop waiting for the turn
                 Thread.currentThread().interrupt();
+                break;
             }
         }
 
@@ -237,8 +261,10 @@ public class FifteenPlayer extends Player {
      * This method implements the "fifteen" strategy of stopping when turn score reaches 15.
      */
     private void continuePlay() {
+        metricsTurn.resume();
         // Roll the die
         int roll = die.roll();
+        rolls++;
 
         // Update the dice display
         diceLabel.setText(String.valueOf(roll));
@@ -253,6 +279,8 @@ public class FifteenPlayer extends Player {
         if (roll == 6) {
             statusLabel.setText(getName() + " busted!");
             logMessage("Oh no! Rolled a 6. Turn ends with 0 points.");
+            FlightEvents.endTurn(turnEvent, 0, rolls, turnScore);
+            metricsTurn.end(rolls, true);
             turnScore = 0;
             scoreValueLabel.setText("0");
             continueTurn = false;
@@ -266,14 +294,20 @@ public class FifteenPlayer extends Player {
         logMessage("Turn score is now: " + turnScore);
 
         // Decide whether to continue rolling based on the "fifteen" strategy
-        if (turnScore <= 15) {
+        FlightEvents.Decision decision = FlightEvents.beginDecision();
+        boolean rollAgain = turnScore <= 15;
+        FlightEvents.endDecision(decision, this, "Fifteen", turnScore, rollAgain);
+        if (rollAgain) {
             logMessage("Score is <= 15. Rolling again...");
             statusLabel.setText(getName() + " will roll again");
+            metricsTurn.pause();
             delayTimer.setInitialDelay(800);
             delayTimer.start();
         } else {
             statusLabel.setText(getName() + " stops at " + turnScore);
             logMessage(getName() + " stops at " + turnScore + " points.");
+            FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+            metricsTurn.end(rolls, false);
             continueTurn = false;
         }
     }
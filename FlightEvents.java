@@ -0,0 +1,212 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the Swing game, so turns and decisions
+ * show up on the same timeline as GC pauses and CPU samples in JDK
+ * Mission Control.
+ *
+ * Every helper checks {@code isEnabled()} or {@code shouldCommit()}
+ * before filling in any field, so when recording is off an event costs
+ * one allocation that the JIT removes. The events are off by default and
+ * are turned on with a recording, for example
+ * {@code -XX:StartFlightRecording:filename=game.jfr}; all of them are in
+ * the "Bulldog" category.
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    @Name("bulldog.Game")
+    @Label("Game")
+    @Category("Bulldog")
+    @Description("One game, from the first turn to the win")
+    @StackTrace(false)
+    static final class Game extends Event {
+        @Label("Players")
+        int players;
+
+        @Label("Seed")
+        long seed;
+
+        @Label("Winner")
+        String winner;
+
+        @Label("Turns")
+        int turns;
+    }
+
+    @Name("bulldog.Turn")
+    @Label("Turn")
+    @Category("Bulldog")
+    @Description("One player's turn, from the first roll to banking or busting")
+    @StackTrace(false)
+    static final class Turn extends Event {
+        @Label("Player")
+        String player;
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Turn Score")
+        int turnScore;
+
+        @Label("Rolls")
+        int rolls;
+
+        @Label("Busted")
+        boolean busted;
+    }
+
+    @Name("bulldog.Bust")
+    @Label("Bust")
+    @Category("Bulldog")
+    @Description("A six ending a turn with nothing banked")
+    @StackTrace(false)
+    static final class Bust extends Event {
+        @Label("Player")
+        String player;
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Points Lost")
+        int pointsLost;
+
+        @Label("Rolls")
+        int rolls;
+    }
+
+    @Name("bulldog.Decision")
+    @Label("Decision")
+    @Category("Bulldog")
+    @Description("A roll/hold decision; the duration is the time taken to decide")
+    @StackTrace(false)
+    static final class Decision extends Event {
+        @Label("Player")
+        String player;
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Turn Score")
+        int turnScore;
+
+        @Label("Roll Again")
+        boolean rollAgain;
+    }
+
+    /**
+     * Starts timing a game.
+     *
+     * @param players The number of players
+     * @param seed The seed of the game's dice
+     * @return The event, to pass to {@link #endGame}
+     */
+    static Game beginGame(int players, long seed) {
+        Game event = new Game();
+        if (event.isEnabled()) {
+            event.players = players;
+            event.seed = seed;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Records the end of a game.
+     *
+     * @param event The event from {@link #beginGame}
+     * @param winner The winning player
+     * @param turns The turns played
+     */
+    static void endGame(Game event, Player winner, int turns) {
+        if (event.shouldCommit()) {
+            event.winner = winner.getName();
+            event.turns = turns;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a turn.
+     *
+     * @param player The player taking the turn
+     * @param strategy A short name of the player's strategy
+     * @return The event, to pass to {@link #endTurn}
+     */
+    static Turn beginTurn(Player player, String strategy) {
+        Turn event = new Turn();
+        // Kept even when turns are not recorded, for the bust event
+        event.player = player.getName();
+        event.strategy = strategy;
+        if (event.isEnabled()) {
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Records the end of a turn, and a bust event if it ended on a six.
+     *
+     * @param event The event from {@link #beginTurn}
+     * @param turnScore The points banked, 0 on a bust
+     * @param rolls The rolls made
+     * @param pointsLost The points lost to a six, or -1 if the turn was banked
+     */
+    static void endTurn(Turn event, int turnScore, int rolls, int pointsLost) {
+        if (event.shouldCommit()) {
+            event.turnScore = turnScore;
+            event.rolls = rolls;
+            event.busted = pointsLost >= 0;
+            event.commit();
+        }
+        if (pointsLost >= 0) {
+            Bust bust = new Bust();
+            if (bust.shouldCommit()) {
+                bust.player = event.player;
+                bust.strategy = event.strategy;
+                bust.pointsLost = pointsLost;
+                bust.rolls = rolls;
+                bust.commit();
+            }
+        }
+    }
+
+    /**
+     * Starts timing a decision.
+     *
+     * @return The event, to pass to {@link #endDecision}
+     */
+    static Decision beginDecision() {
+        Decision event = new Decision();
+        if (event.isEnabled()) {
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Records a decision once it has been made.
+     *
+     * @param event The event from {@link #beginDecision}
+     * @param player The deciding player
+     * @param strategy A short name of the player's strategy
+     * @param turnScore The turn score the decision was made at
+     * @param rollAgain true if the player rolls again
+     */
+    static void endDecision(Decision event, Player player, String strategy, int turnScore, boolean rollAgain) {
+        if (event.shouldCommit()) {
+            event.player = player.getName();
+            event.strategy = strategy;
+            event.turnScore = turnScore;
+            event.rollAgain = rollAgain;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * Streams games back out of an archive written by {@link GameArchiveWriter}.
+ *
+ * Records are decoded one at a time into a caller-supplied
+ * {@link GameRecord}, so reading an archive of any size needs only the
+ * read buffer and one record.
+ */
+public class GameArchiveReader implements Closeable {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfChannel;
+
+    /**
+     * Creates a reader and checks the archive header.
+     *
+     * @param channel The channel to read from
+     * @param bufferSize The size of the read buffer in bytes
+     * @throws IOException if the header is missing or not a supported archive
+     */
+    public GameArchiveReader(ReadableByteChannel channel, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 4096));
+        buffer.flip();
+        if (!fill(GameArchiveWriter.HEADER_SIZE)
+                || buffer.getInt() != GameArchiveWriter.MAGIC
+                || buffer.get() != GameArchiveWriter.VERSION) {
+            throw new IOException("Not a Bulldog game archive");
+        }
+    }
+
+    /**
+     * Opens an archive file.
+     *
+     * @param path The file to read
+     * @return A reader with a 1 MiB buffer
+     * @throws IOException if the file cannot be opened or is not an archive
+     */
+    public static GameArchiveReader open(Path path) throws IOException {
+        return new GameArchiveReader(FileChannel.open(path, StandardOpenOption.READ), 1 << 20);
+    }
+
+    /**
+     * Decodes the next game.
+     *
+     * @param record The record to decode into
+     * @return true if a game was read, false at the end of the archive
+     * @throws IOException if reading fails or the archive is truncated
+     */
+    public boolean next(GameRecord record) throws IOException {
+        if (!fill(1)) {
+            return false;
+        }
+        // The length prefix is at most 5 bytes, but may sit at the very end of the buffer
+        fill(5);
+        int length = GameRecord.getVarint(buffer);
+        if (length > buffer.capacity()) {
+            ByteBuffer large = ByteBuffer.allocate(length);
+            large.put(buffer);
+            while (large.hasRemaining()) {
+                if (channel.read(large) < 0) {
+                    throw new IOException("Archive ends inside a record");
+                }
+            }
+            large.flip();
+            record.decode(large);
+            return true;
+        }
+        if (!fill(length)) {
+            throw new IOException("Archive ends inside a record");
+        }
+        int end = buffer.position() + length;
+        record.decode(buffer);
+        buffer.position(end);
+        return true;
+    }
+
+    /**
+     * Makes sure at least the given number of bytes are buffered.
+     *
+     * @return false if the channel ended first
+     */
+    private boolean fill(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes && !endOfChannel) {
+            if (channel.read(buffer) < 0) {
+                endOfChannel = true;
+            }
+        }
+        buffer.flip();
+        return buffer.remaining() >= bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Archives a batch of simulated games, reads them back and reports
+     * the size per turn.
+     */
+    public static void main(String[] args) throws IOException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        Path path = Files.createTempFile("bulldog", ".bdg");
+        Strategy[] seats = {Strategies.fifteen(15), Strategies.wimp(), Strategies.odd(), Strategies.random(0.5)};
+        int[] scores = new int[seats.length];
+        SplittableRandom random = new SplittableRandom(1);
+
+        long start = System.nanoTime();
+        try (GameArchiveWriter writer = GameArchiveWriter.create(path)) {
+            writer.setLineup(GameRecord.FIFTEEN, GameRecord.WIMP, GameRecord.ODD, GameRecord.RANDOM);
+            for (long g = 0; g < games; g++) {
+                HeadlessGame.play(seats, scores, random, writer);
+            }
+        }
+        long written = System.nanoTime() - start;
+
+        long turns = 0;
+        long rolls = 0;
+        long read = 0;
+        GameRecord record = new GameRecord();
+        start = System.nanoTime();
+        try (GameArchiveReader reader = open(path)) {
+            while (reader.next(record)) {
+                read++;
+                turns += record.getTurnCount();
+                rolls += record.getRollCount();
+            }
+        }
+        long readTime = System.nanoTime() - start;
+        long size = Files.size(path);
+        Files.delete(path);
+        Files.deleteIfExists(path.resolveSibling(path.getFileName() + GameArchiveWriter.INDEX_SUFFIX));
+
+        System.out.printf("%,d games, %,d turns, %,d rolls in %,d bytes (%.2f bytes/turn)%n",
+            read, turns, rolls, size, (double) size / turns);
+        System.out.printf("write %.0f ms, read %.0f ms%n", written / 1e6, readTime / 1e6);
+    }
+}
@@ -0,0 +1,217 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Appends games to a binary archive in the {@link GameRecord} format.
+ *
+ * An archive starts with a 4-byte magic number and a version byte,
+ * followed by length-prefixed game records. Records are encoded into a
+ * single reusable {@link ByteBuffer} that is written to the channel only
+ * when full, so archiving costs no allocation per game.
+ *
+ * The writer is also a {@link GameListener}: pass it to
+ * {@link HeadlessGame#play} after {@link #setLineup} and every game is
+ * archived as it is played.
+ *
+ * Archives created with {@link #create(Path)} also get a sidecar index
+ * file (the archive path plus {@value #INDEX_SUFFIX}) holding the offset
+ * of every {@value #INDEX_INTERVAL}th record. Records are not
+ * self-synchronizing, so the index is what lets {@link ArchiveScanner}
+ * split an archive across threads without reading it first.
+ */
+public class GameArchiveWriter implements GameListener, Closeable {
+    /** The magic number at the start of every archive ("BDG1"). */
+    public static final int MAGIC = 0x42444731;
+
+    /** The archive format version. */
+    public static final byte VERSION = 1;
+
+    /** The size of the archive header in bytes. */
+    public static final int HEADER_SIZE = 5;
+
+    /** The number of records between index entries. */
+    public static final int INDEX_INTERVAL = 4096;
+
+    /** The file name suffix of the sidecar index. */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    /** The magic number at the start of every index file ("BDI1"). */
+    public static final int INDEX_MAGIC = 0x42444931;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final GameRecord record = new GameRecord();
+    private final int[] lineup = new int[7];
+    private long gamesWritten;
+    private long bytesWritten;
+    private long[] index = new long[64];
+    private Path indexPath;
+
+    /**
+     * Creates a writer and writes the archive header.
+     *
+     * @param channel The channel to append to
+     * @param bufferSize The size of the reusable encode buffer in bytes
+     * @throws IOException if the header cannot be written
+     */
+    public GameArchiveWriter(WritableByteChannel channel, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 4096));
+        buffer.putInt(MAGIC).put(VERSION);
+    }
+
+    /**
+     * Creates (or truncates) an archive file.
+     *
+     * @param path The file to write
+     * @return A writer with a 1 MiB buffer
+     * @throws IOException if the file cannot be opened
+     */
+    public static GameArchiveWriter create(Path path) throws IOException {
+        GameArchiveWriter writer = new GameArchiveWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), 1 << 20);
+        writer.indexPath = path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+        return writer;
+    }
+
+    /**
+     * Sets the strategy ids recorded for the seats of the following games.
+     *
+     * @param strategyIds One {@link GameRecord} strategy id per seat
+     */
+    public void setLineup(int... strategyIds) {
+        for (int s = 0; s < lineup.length; s++) {
+            lineup[s] = s < strategyIds.length ? strategyIds[s] : GameRecord.OTHER;
+        }
+    }
+
+    @Override
+    public void gameStarted(int seatCount) {
+        record.start(seatCount, lineup);
+    }
+
+    @Override
+    public void rolled(int seat, int face) {
+        record.addRoll(face);
+    }
+
+    @Override
+    public void turnEnded(int seat, int turnScore, int rolls, boolean busted) {
+        record.endTurn(rolls);
+    }
+
+    @Override
+    public void gameEnded(int winner, int turns) {
+        record.finish(winner);
+        try {
+            write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends a complete record to the archive.
+     *
+     * @param game The game to append
+     * @throws IOException if flushing the buffer fails
+     */
+    public void write(GameRecord game) throws IOException {
+        int length = game.encodedLength();
+        int needed = GameRecord.varintLength(length) + length;
+        if (buffer.remaining() < needed) {
+            flush();
+        }
+        if (gamesWritten % INDEX_INTERVAL == 0) {
+            int entry = (int) (gamesWritten / INDEX_INTERVAL);
+            if (entry == index.length) {
+                index = Arrays.copyOf(index, entry * 2);
+            }
+            index[entry] = bytesWritten + buffer.position();
+        }
+        if (buffer.remaining() < needed) {
+            // Only reachable by a game far longer than the buffer
+            ByteBuffer large = ByteBuffer.allocate(needed);
+            GameRecord.putVarint(large, length);
+            game.encode(large);
+            large.flip();
+            writeFully(large);
+        } else {
+            GameRecord.putVarint(buffer, length);
+            game.encode(buffer);
+        }
+        gamesWritten++;
+    }
+
+    /**
+     * Writes any buffered records to the channel.
+     *
+     * @throws IOException if the write fails
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            bytesWritten += channel.write(source);
+        }
+    }
+
+    public long getGamesWritten() {
+        return gamesWritten;
+    }
+
+    /**
+     * @return The bytes written to the channel so far, excluding anything still buffered
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Flushes buffered records and closes the channel.
+     *
+     * @throws IOException if the flush or close fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+        if (indexPath != null) {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Writes the sidecar index: magic, interval, entry count, then one
+     * offset per entry.
+     */
+    private void writeIndex() throws IOException {
+        int entries = (int) ((gamesWritten + INDEX_INTERVAL - 1) / INDEX_INTERVAL);
+        ByteBuffer out = ByteBuffer.allocate(12 + entries * Long.BYTES);
+        out.putInt(INDEX_MAGIC).putInt(INDEX_INTERVAL).putInt(entries);
+        for (int i = 0; i < entries; i++) {
+            out.putLong(index[i]);
+        }
+        out.flip();
+        try (FileChannel file = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                file.write(out);
+            }
+        }
+    }
+}
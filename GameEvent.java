@@ -0,0 +1,70 @@
+/**
+ * Primitive encoding of game events for the {@link GameEventRing}.
+ *
+ * An event is packed into a single long so that publishing one costs a
+ * few stores and no allocation:
+ * <pre>
+ *   bits 56-63  event type
+ *   bits 48-55  seat + 1 (0 when the event has no seat)
+ *   bits 24-47  first value
+ *   bits  0-23  second value
+ * </pre>
+ * Values are unsigned and limited to 24 bits, which is far more than any
+ * score, face or turn count in Bulldog.
+ */
+public final class GameEvent {
+    /** A game began; first value is the seat count. */
+    public static final int GAME_STARTED = 1;
+    /** A seat's turn began. */
+    public static final int TURN_STARTED = 2;
+    /** A seat rolled; first value is the face. */
+    public static final int ROLLED = 3;
+    /** A seat held; first value is the turn score, second the number of rolls. */
+    public static final int HELD = 4;
+    /** A seat rolled a six; second value is the number of rolls. */
+    public static final int BUSTED = 5;
+    /** A game ended; seat is the winner, first value the total turns, second the winning score. */
+    public static final int GAME_ENDED = 6;
+    /** A seat's banked score changed; first value is the new score. */
+    public static final int SCORE_CHANGED = 7;
+
+    private static final int VALUE_MASK = 0xFFFFFF;
+
+    private GameEvent() {
+    }
+
+    /**
+     * Packs an event into a long.
+     *
+     * @param type The event type
+     * @param seat The seat, or -1 for none
+     * @param first The first value
+     * @param second The second value
+     * @return The packed event
+     */
+    public static long encode(int type, int seat, int first, int second) {
+        return ((long) type << 56)
+            | ((long) ((seat + 1) & 0xFF) << 48)
+            | ((long) (first & VALUE_MASK) << 24)
+            | (second & VALUE_MASK);
+    }
+
+    public static int type(long event) {
+        return (int) (event >>> 56);
+    }
+
+    /**
+     * @return The seat of the event, or -1 for none
+     */
+    public static int seat(long event) {
+        return (int) ((event >>> 48) & 0xFF) - 1;
+    }
+
+    public static int first(long event) {
+        return (int) (event >>> 24) & VALUE_MASK;
+    }
+
+    public static int second(long event) {
+        return (int) event & VALUE_MASK;
+    }
+}
@@ -0,0 +1,323 @@
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the events of a {@link GameEventRing} as a
+ * {@link Flow.Publisher} of typed {@link Event}s, with the demand of each
+ * subscriber respected.
+ *
+ * Every subscription drains the ring on its own consumer thread into a
+ * small buffer, and hands events to its subscriber only as far as the
+ * subscriber has requested them. The game loop only ever writes to the
+ * ring, so no subscriber can slow it down however little it requests.
+ * What happens to the events a subscriber has not asked for yet depends
+ * on its {@link Overflow} policy: {@link Overflow#BUFFER} keeps every
+ * event up to a limit, for consumers such as statistics that want them
+ * all, and {@link Overflow#CONFLATE} keeps only the latest event of each
+ * type for each seat, for consumers such as a scoreboard that only need
+ * the current state. Events dropped for either reason are counted in
+ * {@link Subscription#getDropped()}.
+ *
+ * Subscribers see only events published after they subscribe. Once the
+ * ring is shut down, each subscriber receives the rest of its buffer as
+ * it asks for it and then {@code onComplete}.
+ */
+public class GameEventPublisher implements Flow.Publisher<GameEventPublisher.Event> {
+    /** Events a {@link Overflow#BUFFER} subscription keeps by default. */
+    public static final int DEFAULT_BUFFER = 1024;
+
+    private final GameEventRing ring;
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    /**
+     * What a subscription does with events its subscriber has not requested yet.
+     */
+    public enum Overflow {
+        /** Keep every event; once the buffer is full, drop the oldest. */
+        BUFFER,
+        /** Keep only the latest event of each type for each seat. */
+        CONFLATE
+    }
+
+    /**
+     * Creates a publisher for a ring. The game keeps publishing into the
+     * ring itself.
+     *
+     * @param ring The ring the game publishes into
+     */
+    public GameEventPublisher(GameEventRing ring) {
+        this.ring = ring;
+    }
+
+    /**
+     * Subscribes with {@link Overflow#BUFFER} and the default buffer size.
+     *
+     * @param subscriber The subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Event> subscriber) {
+        subscribe(subscriber, Overflow.BUFFER, DEFAULT_BUFFER);
+    }
+
+    /**
+     * Subscribes with a chosen overflow policy.
+     *
+     * @param subscriber The subscriber
+     * @param overflow What to do with events not yet requested
+     * @param bufferSize The most events held for a {@link Overflow#BUFFER} subscriber
+     * @return The subscription, also passed to the subscriber's {@code onSubscribe}
+     * @throws IllegalArgumentException if bufferSize is less than 1
+     */
+    public Subscription subscribe(Flow.Subscriber<? super Event> subscriber, Overflow overflow, int bufferSize) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer must hold at least one event");
+        }
+        Subscription subscription = new Subscription(subscriber, overflow, bufferSize);
+        // The consumer starts after onSubscribe returns, so no event can overtake it
+        subscriber.onSubscribe(subscription);
+        subscription.start(ring, "game-events-" + subscriptions.incrementAndGet());
+        return subscription;
+    }
+
+    /**
+     * One game event, unpacked from the ring.
+     */
+    public static final class Event {
+        private final Type type;
+        private final int seat;
+        private final int first;
+        private final int second;
+        private final long sequence;
+
+        /**
+         * The kinds of event; see the constants in {@link GameEvent} for
+         * what the values of each mean.
+         */
+        public enum Type {
+            GAME_STARTED, TURN_STARTED, ROLLED, HELD, BUSTED, GAME_ENDED, SCORE_CHANGED
+        }
+
+        Event(long event, long sequence) {
+            // The enum is in the order of the GameEvent constants, which start at 1
+            this.type = Type.values()[GameEvent.type(event) - 1];
+            this.seat = GameEvent.seat(event);
+            this.first = GameEvent.first(event);
+            this.second = GameEvent.second(event);
+            this.sequence = sequence;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * @return The seat of the event, or -1 for none
+         */
+        public int getSeat() {
+            return seat;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        /**
+         * @return The event's position in the ring; gaps show dropped events
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + sequence + " " + type + (seat >= 0 ? " seat " + seat : "") + " " + first + "/" + second;
+        }
+    }
+
+    /**
+     * The link between the ring and one subscriber.
+     *
+     * Events arrive on the ring consumer's thread and demand on whatever
+     * thread the subscriber calls {@link #request} from; whichever thread
+     * finds events and demand both present delivers them, one thread at a
+     * time, so the subscriber's signals never overlap.
+     */
+    public static final class Subscription implements Flow.Subscription, GameEventRing.Handler {
+        private final Flow.Subscriber<? super Event> subscriber;
+        private final Overflow overflow;
+        private final int bufferSize;
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>();
+        private final Map<Integer, Event> latest = new LinkedHashMap<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicInteger draining = new AtomicInteger();
+        private volatile GameEventRing.Consumer consumer;
+        private volatile boolean cancelled;
+        private volatile boolean closed;
+        private volatile Throwable error;
+        private boolean done;
+
+        Subscription(Flow.Subscriber<? super Event> subscriber, Overflow overflow, int bufferSize) {
+            this.subscriber = subscriber;
+            this.overflow = overflow;
+            this.bufferSize = bufferSize;
+        }
+
+        void start(GameEventRing ring, String name) {
+            if (!cancelled) {
+                consumer = ring.subscribe(name, this);
+                if (cancelled) {
+                    consumer.stop();
+                }
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Demand must be positive, was " + n);
+                cancel();
+                drain();
+                return;
+            }
+            demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            GameEventRing.Consumer running = consumer;
+            if (running != null) {
+                running.stop();
+            }
+            synchronized (this) {
+                buffer.clear();
+                latest.clear();
+            }
+        }
+
+        /**
+         * @return The events this subscriber will never see, because its
+         *         buffer overflowed, they were conflated, or the ring lapped it
+         */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        @Override
+        public void onEvent(long event, long sequence, boolean endOfBatch) {
+            if (cancelled) {
+                return;
+            }
+            Event next = new Event(event, sequence);
+            synchronized (this) {
+                if (overflow == Overflow.CONFLATE) {
+                    // Re-inserting moves the key to the end, so events stay in order of their latest update
+                    Integer key = GameEvent.type(event) << 8 | (next.seat + 1);
+                    if (latest.remove(key) != null) {
+                        dropped.incrementAndGet();
+                    }
+                    latest.put(key, next);
+                } else {
+                    if (buffer.size() == bufferSize) {
+                        buffer.removeFirst();
+                        dropped.incrementAndGet();
+                    }
+                    buffer.addLast(next);
+                }
+            }
+            if (endOfBatch) {
+                drain();
+            }
+        }
+
+        @Override
+        public void onDropped(long count) {
+            dropped.addAndGet(count);
+        }
+
+        @Override
+        public void onClosed() {
+            closed = true;
+            drain();
+        }
+
+        private synchronized Event poll() {
+            if (overflow == Overflow.CONFLATE) {
+                Iterator<Event> oldest = latest.values().iterator();
+                if (!oldest.hasNext()) {
+                    return null;
+                }
+                Event event = oldest.next();
+                oldest.remove();
+                return event;
+            }
+            return buffer.pollFirst();
+        }
+
+        private synchronized boolean isEmpty() {
+            return buffer.isEmpty() && latest.isEmpty();
+        }
+
+        /**
+         * Delivers as many events as there is demand for. A thread that
+         * finds another already delivering leaves it a note to go round
+         * again, so no event or request is left waiting.
+         */
+        private void drain() {
+            if (draining.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                if (done) {
+                    return;
+                }
+                if (error != null) {
+                    done = true;
+                    subscriber.onError(error);
+                    return;
+                }
+                while (!cancelled && demand.get() > 0) {
+                    Event event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    demand.decrementAndGet();
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException e) {
+                        // A subscriber must not throw; treat it as having cancelled
+                        cancel();
+                    }
+                }
+                if (cancelled && error == null) {
+                    done = true;
+                    return;
+                }
+                if (closed && !cancelled && isEmpty()) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = draining.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
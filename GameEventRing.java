@@ -0,0 +1,257 @@
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A pre-allocated ring buffer of {@link GameEvent}s that decouples the
+ * game loop from everything that wants to watch it.
+ *
+ * Publishing claims a slot with one atomic increment, stores the packed
+ * event and its sequence number, and returns. It never waits: if a
+ * consumer falls more than a full ring behind, the oldest events are
+ * overwritten and that consumer is told how many it missed. Each slot
+ * carries the sequence number it was last written for, so a consumer can
+ * always tell a fresh event from a stale or overwritten one.
+ *
+ * Consumers run on their own daemon threads and receive events in
+ * batches, which lets them pay for expensive work such as
+ * {@code SwingUtilities.invokeLater} or a file write once per batch
+ * rather than once per event. The ring is also a {@link GameListener},
+ * so headless games can publish into it directly.
+ */
+public class GameEventRing implements GameListener {
+    /** Longest a consumer parks when the ring is empty. */
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private final int mask;
+    private final AtomicLongArray events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong claimed = new AtomicLong();
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Receives events drained from the ring.
+     */
+    public interface Handler {
+        /**
+         * Called for each event, in publication order, on the consumer's thread.
+         *
+         * @param event The packed event (see {@link GameEvent})
+         * @param sequence The event's sequence number
+         * @param endOfBatch true for the last event currently available
+         */
+        void onEvent(long event, long sequence, boolean endOfBatch);
+
+        /**
+         * Called when events were overwritten before this consumer read them.
+         *
+         * @param count The number of events missed
+         */
+        default void onDropped(long count) {
+        }
+
+        /**
+         * Called once on the consumer's thread after its last event, when
+         * the consumer has been stopped.
+         */
+        default void onClosed() {
+        }
+    }
+
+    /**
+     * Creates a ring.
+     *
+     * @param capacity The number of slots, rounded up to a power of two
+     * @throws IllegalArgumentException if capacity is less than 2
+     */
+    public GameEventRing(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Ring needs at least two slots");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.events = new AtomicLongArray(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, -1L);
+        }
+    }
+
+    /**
+     * Publishes one event. Never blocks and never allocates.
+     *
+     * @param type The event type
+     * @param seat The seat, or -1 for none
+     * @param first The first value
+     * @param second The second value
+     */
+    public void publish(int type, int seat, int first, int second) {
+        long sequence = claimed.getAndIncrement();
+        int slot = (int) sequence & mask;
+        sequences.set(slot, -1L);
+        // Keep the payload from becoming visible before the slot is marked as being rewritten
+        VarHandle.releaseFence();
+        events.setOpaque(slot, GameEvent.encode(type, seat, first, second));
+        sequences.setRelease(slot, sequence);
+    }
+
+    /**
+     * Starts a consumer thread that drains events into a handler. The
+     * consumer sees only events published after this call.
+     *
+     * @param name The name of the consumer thread
+     * @param handler The handler to receive events
+     * @return The running consumer
+     */
+    public Consumer subscribe(String name, Handler handler) {
+        Consumer consumer = new Consumer(handler, claimed.get());
+        consumers.add(consumer);
+        consumer.thread = new Thread(consumer, name);
+        consumer.thread.setDaemon(true);
+        consumer.thread.start();
+        return consumer;
+    }
+
+    /**
+     * Drains every consumer up to the latest published event, then stops them.
+     *
+     * @throws InterruptedException if interrupted while waiting for a consumer
+     */
+    public void shutdown() throws InterruptedException {
+        for (Consumer consumer : consumers) {
+            consumer.stop();
+        }
+        for (Consumer consumer : consumers) {
+            consumer.thread.join();
+        }
+        consumers.clear();
+    }
+
+    @Override
+    public void gameStarted(int seatCount) {
+        publish(GameEvent.GAME_STARTED, -1, seatCount, 0);
+    }
+
+    @Override
+    public void rolled(int seat, int face) {
+        publish(GameEvent.ROLLED, seat, face, 0);
+    }
+
+    @Override
+    public void turnEnded(int seat, int turnScore, int rolls, boolean busted) {
+        publish(busted ? GameEvent.BUSTED : GameEvent.HELD, seat, turnScore, rolls);
+    }
+
+    @Override
+    public void gameEnded(int winner, int turns) {
+        publish(GameEvent.GAME_ENDED, winner, turns, 0);
+    }
+
+    /**
+     * Creates a handler that replays events into a {@link GameListener},
+     * for example a {@link SimulationStats} recorder.
+     *
+     * @param listener The listener to forward to
+     * @return The forwarding handler
+     */
+    public static Handler forwardTo(GameListener listener) {
+        return (event, sequence, endOfBatch) -> {
+            int seat = GameEvent.seat(event);
+            switch (GameEvent.type(event)) {
+                case GameEvent.GAME_STARTED: listener.gameStarted(GameEvent.first(event)); break;
+                case GameEvent.ROLLED: listener.rolled(seat, GameEvent.first(event)); break;
+                case GameEvent.HELD: listener.turnEnded(seat, GameEvent.first(event), GameEvent.second(event), false); break;
+                case GameEvent.BUSTED: listener.turnEnded(seat, 0, GameEvent.second(event), true); break;
+                case GameEvent.GAME_ENDED: listener.gameEnded(seat, GameEvent.first(event)); break;
+                default: break;
+            }
+        };
+    }
+
+    /**
+     * A consumer draining the ring on its own thread.
+     */
+    public class Consumer implements Runnable {
+        private final Handler handler;
+        private volatile boolean running = true;
+        private long next;
+        private long dropped;
+        private Thread thread;
+
+        Consumer(Handler handler, long start) {
+            this.handler = handler;
+            this.next = start;
+        }
+
+        @Override
+        public void run() {
+            long park = 1_000L;
+            while (true) {
+                boolean stopping = !running;
+                int handled = drain();
+                if (handled > 0) {
+                    park = 1_000L;
+                } else if (stopping) {
+                    handler.onClosed();
+                    return;
+                } else {
+                    // Back off while idle so an empty ring costs almost nothing; the
+                    // producer never signals, so the worst-case latency is one park
+                    LockSupport.parkNanos(this, park);
+                    park = Math.min(park * 2, MAX_PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Hands every event available right now to the handler as one batch.
+         *
+         * @return The number of events handled
+         */
+        private int drain() {
+            long end = claimed.get();
+            if (end - next > mask + 1) {
+                long skip = end - (mask + 1) - next;
+                next += skip;
+                dropped += skip;
+                handler.onDropped(skip);
+            }
+            int handled = 0;
+            while (next < end) {
+                int slot = (int) next & mask;
+                long published = sequences.getAcquire(slot);
+                if (published < next) {
+                    break; // claimed but not yet written
+                }
+                long event = events.getOpaque(slot);
+                VarHandle.acquireFence();
+                if (published > next || sequences.getAcquire(slot) != next) {
+                    // Lapped by the producer while reading; resynchronize on the next pass
+                    next++;
+                    dropped++;
+                    handler.onDropped(1);
+                    continue;
+                }
+                next++;
+                handled++;
+                handler.onEvent(event, next - 1, next == end || sequences.getAcquire((int) next & mask) < next);
+            }
+            return handled;
+        }
+
+        void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+
+        /**
+         * @return The total number of events this consumer missed
+         */
+        public long getDropped() {
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Receives the events of a headless game as they happen.
+ *
+ * Every callback takes only primitives, so a listener can observe
+ * millions of games without allocating. All methods default to doing
+ * nothing; implementations override only the events they need.
+ */
+public interface GameListener {
+    /** A listener that ignores every event. */
+    GameListener NONE = new GameListener() {
+    };
+
+    /**
+     * Called once before the first turn of a game.
+     *
+     * @param seatCount The number of seats in the game
+     */
+    default void gameStarted(int seatCount) {
+    }
+
+    /**
+     * Called after every roll of the die.
+     *
+     * @param seat The seat that rolled
+     * @param face The face rolled (1-6)
+     */
+    default void rolled(int seat, int face) {
+    }
+
+    /**
+     * Called when a turn ends, either by holding or by rolling a six.
+     *
+     * @param seat The seat whose turn ended
+     * @param turnScore The points banked this turn (0 on a bust)
+     * @param rolls The number of rolls made this turn
+     * @param busted true if the turn ended on a six
+     */
+    default void turnEnded(int seat, int turnScore, int rolls, boolean busted) {
+    }
+
+    /**
+     * Called once when the game is over.
+     *
+     * @param winner The winning seat, or -1 if the game was abandoned
+     * @param turns The total number of turns played by all seats
+     */
+    default void gameEnded(int winner, int turns) {
+    }
+}
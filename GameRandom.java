@@ -0,0 +1,57 @@
+import java.util.Random;
+
+/**
+ * A {@link Random} whose internal state can be read and restored.
+ *
+ * It produces exactly the same sequence as {@code new Random(seed)}, but
+ * {@link #getState()} and {@link #setState(long)} let a game capture the
+ * generator at any point and resume from there later. That is what makes
+ * replay checkpoints and saved games possible.
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Assigned by setSeed during the superclass constructor, so it must not have an initializer
+    private long state;
+
+    /**
+     * Creates a generator with the given seed.
+     *
+     * @param seed The initial seed
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * @return The current 48-bit generator state
+     */
+    public synchronized long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state previously returned by {@link #getState()}.
+     *
+     * @param state The 48-bit generator state
+     */
+    public synchronized void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,452 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * One archived game in the compact binary form used by
+ * {@link GameArchiveWriter} and {@link GameArchiveReader}.
+ *
+ * A record body is laid out as:
+ * <pre>
+ *   byte     seat count (bits 0-2) | winner + 1 (bits 3-5)
+ *   byte[n]  strategy id of each seat
+ *   varint   number of turns
+ *   varint[] rolls in each turn
+ *   bits     every face of every roll, 3 bits each, packed LSB first
+ * </pre>
+ * and is preceded in the archive by a varint of its length so readers
+ * can skip it. Turns are played by seats in rotation, so the seat of a
+ * turn is implied by its index. Hold decisions are implied as well: every
+ * roll but the last in a turn was a decision to roll again, and a turn
+ * whose last face is not a six ended with a hold. The roll counts are the
+ * deltas between turn boundaries in the face stream, which keeps them to
+ * a single byte each. A typical turn costs about two bytes.
+ *
+ * A GameRecord is a reusable buffer: decoding into it only allocates when
+ * a game is longer than any seen before.
+ */
+public class GameRecord {
+    /** Strategy id of a HumanPlayer. */
+    public static final int HUMAN = 0;
+    /** Strategy id of a FifteenPlayer. */
+    public static final int FIFTEEN = 1;
+    /** Strategy id of a WimpPlayer. */
+    public static final int WIMP = 2;
+    /** Strategy id of an OddPlayer. */
+    public static final int ODD = 3;
+    /** Strategy id of a RandomPlayer. */
+    public static final int RANDOM = 4;
+    /** Strategy id of an MctsPlayer. */
+    public static final int MCTS = 5;
+    /** Strategy id for any other player. */
+    public static final int OTHER = 255;
+
+    /** Decode only the seat count, winner and strategy ids. */
+    public static final int DECODE_HEADER = 0;
+    /** Decode the header and the number of rolls in every turn. */
+    public static final int DECODE_TURNS = 1;
+    /** Decode everything, including every face. */
+    public static final int DECODE_FACES = 2;
+
+    private int seatCount;
+    private int winner;
+    private final int[] strategyIds = new int[7];
+    private int turnCount;
+    /** Turns whose roll counts are known; fewer than turnCount after a limited decode. */
+    private int knownTurns;
+    private int[] turnRolls = new int[256];
+    private int rollCount;
+    private byte[] faces = new byte[1024];
+    private byte[] packed = new byte[512];
+    private int[] faceSums = new int[1025];
+    private boolean facesDecoded = true;
+    private ByteBuffer packedSource;
+    private int packedOffset;
+
+    /**
+     * Returns the strategy id of a built-in player type.
+     *
+     * @param player The player to identify
+     * @return The strategy id, or {@link #OTHER}
+     */
+    public static int idOf(Player player) {
+        if (player instanceof HumanPlayer) return HUMAN;
+        if (player instanceof FifteenPlayer) return FIFTEEN;
+        if (player instanceof WimpPlayer) return WIMP;
+        if (player instanceof OddPlayer) return ODD;
+        if (player instanceof RandomPlayer) return RANDOM;
+        if (player instanceof MctsPlayer) return MCTS;
+        return OTHER;
+    }
+
+    /**
+     * Clears the record and starts a new game.
+     *
+     * @param seatCount The number of seats (1-7)
+     * @param strategyIds The strategy id of each seat
+     * @throws IllegalArgumentException if the seat count is out of range
+     */
+    public void start(int seatCount, int... strategyIds) {
+        if (seatCount < 1 || seatCount > 7) {
+            throw new IllegalArgumentException("Seat count must be 1-7");
+        }
+        this.seatCount = seatCount;
+        this.winner = -1;
+        for (int s = 0; s < seatCount; s++) {
+            this.strategyIds[s] = s < strategyIds.length ? strategyIds[s] & 0xFF : OTHER;
+        }
+        this.turnCount = 0;
+        this.knownTurns = 0;
+        this.rollCount = 0;
+        this.facesDecoded = true;
+        this.packedSource = null;
+    }
+
+    /**
+     * Appends one roll to the turn in progress.
+     *
+     * @param face The face rolled (1-6)
+     */
+    public void addRoll(int face) {
+        if (rollCount == faces.length) {
+            faces = Arrays.copyOf(faces, faces.length * 2);
+        }
+        faces[rollCount++] = (byte) face;
+    }
+
+    /**
+     * Closes the turn in progress.
+     *
+     * @param rolls The number of rolls made in the turn
+     */
+    public void endTurn(int rolls) {
+        if (turnCount == turnRolls.length) {
+            turnRolls = Arrays.copyOf(turnRolls, turnRolls.length * 2);
+        }
+        turnRolls[turnCount++] = rolls;
+        knownTurns = turnCount;
+    }
+
+    /**
+     * Marks the game as finished.
+     *
+     * @param winner The winning seat, or -1 if the game was abandoned
+     */
+    public void finish(int winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * @return The number of bytes {@link #encode} will write, excluding the length prefix
+     */
+    public int encodedLength() {
+        int length = 1 + seatCount + varintLength(turnCount);
+        for (int t = 0; t < turnCount; t++) {
+            length += varintLength(turnRolls[t]);
+        }
+        return length + (rollCount * 3 + 7) / 8;
+    }
+
+    /**
+     * Writes the record body at the buffer's position.
+     *
+     * @param out The buffer to write to; must have {@link #encodedLength()} bytes free
+     */
+    public void encode(ByteBuffer out) {
+        out.put((byte) (seatCount | ((winner + 1) << 3)));
+        for (int s = 0; s < seatCount; s++) {
+            out.put((byte) strategyIds[s]);
+        }
+        putVarint(out, turnCount);
+        for (int t = 0; t < turnCount; t++) {
+            putVarint(out, turnRolls[t]);
+        }
+        long bits = 0;
+        int pending = 0;
+        for (int r = 0; r < rollCount; r++) {
+            bits |= (long) (faces[r] - 1) << pending;
+            pending += 3;
+            if (pending >= 8) {
+                out.put((byte) bits);
+                bits >>>= 8;
+                pending -= 8;
+            }
+        }
+        if (pending > 0) {
+            out.put((byte) bits);
+        }
+    }
+
+    /**
+     * Reads a record body from the buffer's position, replacing this
+     * record's contents.
+     *
+     * @param in The buffer holding a complete record body
+     */
+    public void decode(ByteBuffer in) {
+        decode(in, DECODE_FACES);
+    }
+
+    /**
+     * Reads the leading columns of a record body. Because the header,
+     * the roll counts and the faces are stored one after another, a scan
+     * that needs only the early columns can stop without touching the
+     * rest. The buffer is left somewhere inside the record, so callers
+     * must reposition it to the next record themselves.
+     *
+     * At {@link #DECODE_TURNS} the faces are left packed in the buffer and
+     * {@link #face} and {@link #scoresAfterTurn} read them from there, so
+     * the buffer must not change until the next decode.
+     *
+     * @param in The buffer holding a complete record body
+     * @param level One of {@link #DECODE_HEADER}, {@link #DECODE_TURNS} or {@link #DECODE_FACES}
+     */
+    public void decode(ByteBuffer in, int level) {
+        decode(in, level, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the leading columns of a record body, as {@link #decode(ByteBuffer, int)},
+     * but at {@link #DECODE_TURNS} reads the roll counts of only the first
+     * rounds. The later counts are skipped without being decoded, so
+     * {@link #rollsInTurn}, {@link #getRollCount} and the faces cover only
+     * the turns read; {@link #getTurnCount} is still the length of the game.
+     *
+     * @param in The buffer holding a complete record body
+     * @param level One of {@link #DECODE_HEADER}, {@link #DECODE_TURNS} or {@link #DECODE_FACES}
+     * @param roundLimit The number of full rounds to read at {@link #DECODE_TURNS}
+     */
+    public void decode(ByteBuffer in, int level, int roundLimit) {
+        int header = in.get() & 0xFF;
+        seatCount = header & 7;
+        winner = (header >>> 3) - 1;
+        for (int s = 0; s < seatCount; s++) {
+            strategyIds[s] = in.get() & 0xFF;
+        }
+        turnCount = 0;
+        knownTurns = 0;
+        rollCount = 0;
+        if (level == DECODE_HEADER) {
+            return;
+        }
+        turnCount = getVarint(in);
+        int read = level == DECODE_TURNS
+            ? (int) Math.min(turnCount, Math.max(0L, (long) roundLimit * seatCount)) : turnCount;
+        if (turnRolls.length < read) {
+            turnRolls = new int[Integer.highestOneBit(read) << 1];
+        }
+        for (int t = 0; t < read; t++) {
+            turnRolls[t] = getVarint(in);
+            rollCount += turnRolls[t];
+        }
+        if (read < turnCount) {
+            // Every varint ends with the one byte that has its top bit clear
+            int position = in.position();
+            for (int skipped = read; skipped < turnCount; position++) {
+                if (in.get(position) >= 0) {
+                    skipped++;
+                }
+            }
+            in.position(position);
+        }
+        knownTurns = read;
+        packedSource = in;
+        packedOffset = in.position();
+        facesDecoded = false;
+        if (level == DECODE_TURNS) {
+            return;
+        }
+        if (faces.length < rollCount) {
+            faces = new byte[Integer.highestOneBit(rollCount) << 1];
+        }
+        // Eight faces fill exactly three bytes, so unpack whole groups first
+        int r = 0;
+        for (; r + 8 <= rollCount; r += 8) {
+            int group = (in.get() & 0xFF) | (in.get() & 0xFF) << 8 | (in.get() & 0xFF) << 16;
+            for (int i = 0; i < 8; i++) {
+                faces[r + i] = (byte) (((group >>> (3 * i)) & 7) + 1);
+            }
+        }
+        long bits = 0;
+        int available = 0;
+        for (; r < rollCount; r++) {
+            if (available < 3) {
+                bits |= (long) (in.get() & 0xFF) << available;
+                available += 8;
+            }
+            faces[r] = (byte) ((bits & 7) + 1);
+            bits >>>= 3;
+            available -= 3;
+        }
+        facesDecoded = true;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    /**
+     * @return The winning seat, or -1 if the game was abandoned
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getStrategyId(int seat) {
+        return strategyIds[seat];
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public int getRollCount() {
+        return rollCount;
+    }
+
+    /**
+     * @param turn The turn index
+     * @return The seat that played the turn
+     */
+    public int seatOfTurn(int turn) {
+        return turn % seatCount;
+    }
+
+    /**
+     * @param turn The turn index
+     * @return The number of rolls made during the turn
+     */
+    public int rollsInTurn(int turn) {
+        return turnRolls[turn];
+    }
+
+    /**
+     * @param roll The index of the roll across the whole game
+     * @return The face rolled (1-6)
+     */
+    public int face(int roll) {
+        if (facesDecoded) {
+            return faces[roll];
+        }
+        int bit = roll * 3;
+        int index = packedOffset + (bit >>> 3);
+        int shift = bit & 7;
+        int bits = packedSource.get(index) & 0xFF;
+        if (shift > 5) {
+            bits |= (packedSource.get(index + 1) & 0xFF) << 8;
+        }
+        return ((bits >>> shift) & 7) + 1;
+    }
+
+    /**
+     * Replays the faces to compute the banked score of every turn.
+     *
+     * @param out Receives one score per turn; must hold {@link #getTurnCount()} entries
+     */
+    public void turnScores(int[] out) {
+        int r = 0;
+        for (int t = 0; t < knownTurns; t++) {
+            int score = 0;
+            for (int i = 0; i < turnRolls[t]; i++) {
+                int face = face(r++);
+                score = face == HeadlessGame.SIDES ? 0 : score + face;
+            }
+            out[t] = score;
+        }
+    }
+
+    /**
+     * Computes the banked score of every seat after the first turns of
+     * the game. Requires a record decoded with at least {@link #DECODE_TURNS};
+     * only the faces of the replayed turns are read, and packed faces are
+     * read as one stream of bits rather than looked up one by one.
+     *
+     * @param turns The number of turns to replay (clamped to the turns decoded)
+     * @param scores Receives one score per seat
+     */
+    public void scoresAfterTurn(int turns, int[] scores) {
+        for (int s = 0; s < seatCount; s++) {
+            scores[s] = 0;
+        }
+        int end = Math.min(turns, knownTurns);
+        int rolls = 0;
+        for (int t = 0; t < end; t++) {
+            rolls += turnRolls[t];
+        }
+        if (!facesDecoded) {
+            unpackFaces(rolls);
+        }
+        if (faceSums.length < rolls + 1) {
+            faceSums = new int[Integer.highestOneBit(rolls + 1) << 1];
+        }
+        // Running totals score each turn without a loop over its rolls, whose
+        // unpredictable lengths would otherwise cost a branch miss per turn
+        int sum = 0;
+        for (int r = 0; r < rolls; r++) {
+            sum += faces[r];
+            faceSums[r + 1] = sum;
+        }
+        int r = 0;
+        int seat = 0;
+        for (int t = 0; t < end; t++) {
+            int next = r + turnRolls[t];
+            // Only the last roll of a turn can be a six, and then the turn banks nothing;
+            // the mask is all ones below a six and zero on one, so busts cost no branch
+            int keep = (faces[next - 1] - HeadlessGame.SIDES) >> 31;
+            scores[seat] += (faceSums[next] - faceSums[r]) & keep;
+            r = next;
+            seat = seat + 1 == seatCount ? 0 : seat + 1;
+        }
+    }
+
+    /**
+     * Unpacks the first faces into the faces array, copying the packed
+     * bytes out of the source buffer in one go.
+     */
+    private void unpackFaces(int rolls) {
+        int bytes = (rolls * 3 + 7) / 8;
+        if (packed.length < bytes + 2) {
+            packed = new byte[Integer.highestOneBit(bytes + 2) << 1];
+        }
+        if (faces.length < rolls + 8) {
+            faces = new byte[Integer.highestOneBit(rolls + 8) << 1];
+        }
+        packedSource.get(packedOffset, packed, 0, bytes);
+        // Eight faces fill exactly three bytes; the padding bytes make the last group safe to read
+        packed[bytes] = 0;
+        packed[bytes + 1] = 0;
+        for (int r = 0, b = 0; r < rolls; r += 8, b += 3) {
+            int group = (packed[b] & 0xFF) | (packed[b + 1] & 0xFF) << 8 | (packed[b + 2] & 0xFF) << 16;
+            for (int i = 0; i < 8; i++) {
+                faces[r + i] = (byte) (((group >>> (3 * i)) & 7) + 1);
+            }
+        }
+    }
+
+    static int varintLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    static void putVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static int getVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+import java.util.Arrays;
+
+/**
+ * Replays a game from its {@link ReplayRecord} in lockstep with the
+ * original: the same seeded {@link GameRandom} produces the same dice,
+ * rule-based players make the same choices, and the choices of humans
+ * and Monte Carlo players are read back from the record.
+ *
+ * While loading, the replay plays the whole game once and stores a
+ * checkpoint (scores, generator state and decision position) every
+ * {@value #CHECKPOINT_INTERVAL} turns. {@link #seek(int)} restores the
+ * nearest checkpoint and plays at most that many turns forward, so a
+ * viewer can jump to any turn in constant time however long the game.
+ */
+public class GameReplay {
+    /** Turns between stored checkpoints. */
+    public static final int CHECKPOINT_INTERVAL = 8;
+
+    private final ReplayRecord record;
+    private final Strategy[] seats;
+    private final GameRandom random;
+    private final int seatCount;
+    private final int[] scores;
+    private final int[] lastRolls = new int[64];
+    private int lastRollCount;
+    private int turn;
+    private int decisionIndex;
+    private boolean outOfDecisions;
+
+    /** Keeps the faces of the turn being played for {@link #getLastRoll(int)}. */
+    private final GameListener rollRecorder = new GameListener() {
+        @Override
+        public void rolled(int seat, int face) {
+            if (lastRollCount < lastRolls.length) {
+                lastRolls[lastRollCount++] = face;
+            }
+        }
+    };
+
+    private final int turnCount;
+    private final int winner;
+    private long[] checkpointStates;
+    private int[] checkpointDecisions;
+    private int[] checkpointScores;
+    private int checkpointCount;
+
+    /**
+     * Loads a replay and builds its checkpoint index.
+     *
+     * @param record The game to replay
+     * @throws IllegalArgumentException if a seat has no replayable strategy
+     */
+    public GameReplay(ReplayRecord record) {
+        this.record = record;
+        this.seatCount = record.getSeatCount();
+        this.scores = new int[seatCount];
+        this.random = new GameRandom(record.getSeed());
+        this.seats = new Strategy[seatCount];
+        for (int s = 0; s < seatCount; s++) {
+            seats[s] = strategyFor(record.getStrategyId(s));
+        }
+
+        // Play through once, storing a checkpoint before every interval
+        checkpointStates = new long[16];
+        checkpointDecisions = new int[16];
+        checkpointScores = new int[16 * seatCount];
+        int won = -1;
+        while (won < 0 && !outOfDecisions && turn < HeadlessGame.MAX_ROUNDS * seatCount) {
+            if (turn % CHECKPOINT_INTERVAL == 0) {
+                storeCheckpoint(turn / CHECKPOINT_INTERVAL);
+            }
+            int seat = turn % seatCount;
+            if (!playNextTurn()) {
+                break;
+            }
+            if (scores[seat] >= BulldogGame.WINNING_SCORE) {
+                won = seat;
+            }
+        }
+        this.turnCount = turn;
+        this.winner = won;
+        seek(0);
+    }
+
+    private Strategy strategyFor(int id) {
+        switch (id) {
+            case GameRecord.HUMAN:
+            case GameRecord.MCTS:
+                return (scores, seat, turnScore, lastRoll, rng) -> {
+                    if (decisionIndex >= record.getDecisionCount()) {
+                        outOfDecisions = true;
+                        return false;
+                    }
+                    return record.getDecision(decisionIndex++);
+                };
+            case GameRecord.FIFTEEN: return Strategies.fifteen(15);
+            case GameRecord.WIMP: return Strategies.wimp();
+            case GameRecord.ODD: return Strategies.odd();
+            case GameRecord.RANDOM: return Strategies.randomPlayer();
+            default: throw new IllegalArgumentException("Strategy id " + id + " cannot be replayed");
+        }
+    }
+
+    private void storeCheckpoint(int index) {
+        if (index == checkpointStates.length) {
+            checkpointStates = Arrays.copyOf(checkpointStates, index * 2);
+            checkpointDecisions = Arrays.copyOf(checkpointDecisions, index * 2);
+            checkpointScores = Arrays.copyOf(checkpointScores, index * 2 * seatCount);
+        }
+        checkpointStates[index] = random.getState();
+        checkpointDecisions[index] = decisionIndex;
+        System.arraycopy(scores, 0, checkpointScores, index * seatCount, seatCount);
+        checkpointCount = index + 1;
+    }
+
+    /**
+     * Moves the replay to just before the given turn.
+     *
+     * @param target The turn to seek to, from 0 to {@link #getTurnCount()}
+     * @throws IndexOutOfBoundsException if the turn is out of range
+     */
+    public void seek(int target) {
+        if (target < 0 || target > turnCount) {
+            throw new IndexOutOfBoundsException("Turn " + target + " of " + turnCount);
+        }
+        int index = Math.min(target / CHECKPOINT_INTERVAL, checkpointCount - 1);
+        random.setState(checkpointStates[index]);
+        decisionIndex = checkpointDecisions[index];
+        System.arraycopy(checkpointScores, index * seatCount, scores, 0, seatCount);
+        turn = index * CHECKPOINT_INTERVAL;
+        outOfDecisions = false;
+        lastRollCount = 0;
+        while (turn < target) {
+            playNextTurn();
+        }
+    }
+
+    /**
+     * Plays the next turn of the game.
+     *
+     * @return The points banked, or -1 if the game is already over
+     */
+    public int nextTurn() {
+        if (turn >= turnCount) {
+            return -1;
+        }
+        int seat = turn % seatCount;
+        int before = scores[seat];
+        playNextTurn();
+        return scores[seat] - before;
+    }
+
+    /**
+     * Plays one turn and records its rolls.
+     *
+     * @return false if the turn could not finish because the human
+     *         decisions ran out (the game was abandoned mid-turn)
+     */
+    private boolean playNextTurn() {
+        int seat = turn % seatCount;
+        lastRollCount = 0;
+        int turnScore = HeadlessGame.playTurn(seats[seat], scores, seat, random, rollRecorder);
+        if (outOfDecisions) {
+            return false;
+        }
+        scores[seat] += turnScore;
+        turn++;
+        return true;
+    }
+
+    /**
+     * @return The next turn to be played
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return The number of complete turns in the game
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * @return The winning seat, or -1 if the game was abandoned
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * @param seat The seat
+     * @return The seat's banked score at the current position
+     */
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    /**
+     * @return The number of rolls in the turn most recently played by {@link #nextTurn()}
+     */
+    public int getLastRollCount() {
+        return lastRollCount;
+    }
+
+    /**
+     * @param index The roll index within the last turn
+     * @return The face rolled
+     */
+    public int getLastRoll(int index) {
+        return lastRolls[index];
+    }
+}
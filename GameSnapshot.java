@@ -0,0 +1,227 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A compact binary snapshot of an in-progress Bulldog game, taken
+ * between turns: who is playing, their scores, whose turn is next and
+ * the state of the game's {@link GameRandom}. Restoring a snapshot and
+ * continuing produces the same game as if it had never stopped.
+ *
+ * The encoded form is:
+ * <pre>
+ *   byte     format version
+ *   byte     seat count
+ *   byte     seat to play next
+ *   long     generator state
+ *   varint   turns played
+ *   per seat: byte strategy id, varint score, varint name length, UTF-8 name
+ *   varint   replay record length, replay record bytes
+ * </pre>
+ * which is well under a hundred bytes for a typical game. Names are
+ * encoded once when the snapshot is created, so taking a checkpoint after
+ * every turn only writes a few integers into a reused buffer.
+ */
+public class GameSnapshot {
+    /** The current format version. */
+    public static final byte VERSION = 1;
+
+    private final int[] strategyIds;
+    private final byte[][] names;
+    private final int[] scores;
+    private int nextSeat;
+    private long randomState;
+    private int turns;
+    private byte[] replay = new byte[0];
+
+    /**
+     * Creates a snapshot for the given lineup with all scores at zero.
+     *
+     * @param players The players in seat order
+     * @throws IllegalArgumentException if there are not 1-7 players
+     */
+    public GameSnapshot(Player[] players) {
+        this(players.length);
+        for (int s = 0; s < players.length; s++) {
+            strategyIds[s] = GameRecord.idOf(players[s]);
+            names[s] = players[s].getName().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private GameSnapshot(int seatCount) {
+        if (seatCount < 1 || seatCount > 7) {
+            throw new IllegalArgumentException("Seat count must be 1-7");
+        }
+        this.strategyIds = new int[seatCount];
+        this.names = new byte[seatCount][];
+        this.scores = new int[seatCount];
+    }
+
+    /**
+     * Updates the snapshot to the state after a turn.
+     *
+     * @param players The players in seat order, holding their current scores
+     * @param nextSeat The seat that plays next
+     * @param random The game's generator
+     * @param turns The number of turns played so far
+     */
+    public void update(Player[] players, int nextSeat, GameRandom random, int turns) {
+        for (int s = 0; s < scores.length; s++) {
+            scores[s] = players[s].getScore();
+        }
+        this.nextSeat = nextSeat;
+        this.randomState = random.getState();
+        this.turns = turns;
+    }
+
+    /**
+     * Sets the replay record carried by the snapshot, so a resumed game
+     * stays replayable from its original seed.
+     *
+     * @param replay The encoded {@link ReplayRecord}
+     */
+    public void setReplay(byte[] replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * @return The number of bytes {@link #encode} will write
+     */
+    public int encodedLength() {
+        int length = 3 + Long.BYTES + GameRecord.varintLength(turns);
+        for (int s = 0; s < scores.length; s++) {
+            length += 1 + GameRecord.varintLength(scores[s])
+                + GameRecord.varintLength(names[s].length) + names[s].length;
+        }
+        return length + GameRecord.varintLength(replay.length) + replay.length;
+    }
+
+    /**
+     * Writes the snapshot at the buffer's position.
+     *
+     * @param out The buffer; must have {@link #encodedLength()} bytes free
+     */
+    public void encode(ByteBuffer out) {
+        out.put(VERSION).put((byte) scores.length).put((byte) nextSeat).putLong(randomState);
+        GameRecord.putVarint(out, turns);
+        for (int s = 0; s < scores.length; s++) {
+            out.put((byte) strategyIds[s]);
+            GameRecord.putVarint(out, scores[s]);
+            GameRecord.putVarint(out, names[s].length);
+            out.put(names[s]);
+        }
+        GameRecord.putVarint(out, replay.length);
+        out.put(replay);
+    }
+
+    /**
+     * @return The snapshot encoded into a new array
+     */
+    public byte[] toBytes() {
+        ByteBuffer out = ByteBuffer.allocate(encodedLength());
+        encode(out);
+        return out.array();
+    }
+
+    /**
+     * Reads a snapshot from the buffer's position.
+     *
+     * @param in The buffer holding an encoded snapshot
+     * @return The decoded snapshot
+     * @throws IllegalArgumentException if the bytes are not a valid snapshot
+     */
+    public static GameSnapshot decode(ByteBuffer in) {
+        try {
+            if (in.get() != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version");
+            }
+            GameSnapshot snapshot = new GameSnapshot(in.get());
+            snapshot.nextSeat = in.get();
+            snapshot.randomState = in.getLong();
+            snapshot.turns = GameRecord.getVarint(in);
+            for (int s = 0; s < snapshot.scores.length; s++) {
+                snapshot.strategyIds[s] = in.get() & 0xFF;
+                snapshot.scores[s] = GameRecord.getVarint(in);
+                snapshot.names[s] = new byte[GameRecord.getVarint(in)];
+                in.get(snapshot.names[s]);
+            }
+            snapshot.replay = new byte[GameRecord.getVarint(in)];
+            in.get(snapshot.replay);
+            return snapshot;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Not a valid game snapshot", e);
+        }
+    }
+
+    /**
+     * Creates the snapshot's players with their saved names and scores.
+     *
+     * @return The players in seat order
+     * @throws IllegalArgumentException if a seat's strategy cannot be recreated
+     */
+    public Player[] createPlayers() {
+        Player[] players = new Player[scores.length];
+        for (int s = 0; s < players.length; s++) {
+            players[s] = createPlayer(strategyIds[s], new String(names[s], StandardCharsets.UTF_8));
+            players[s].setScore(scores[s]);
+        }
+        return players;
+    }
+
+    /**
+     * Creates a built-in player from its strategy id.
+     *
+     * @param strategyId The {@link GameRecord} strategy id
+     * @param name The player's name
+     * @return The new player
+     * @throws IllegalArgumentException if the id is not a built-in player
+     */
+    public static Player createPlayer(int strategyId, String name) {
+        switch (strategyId) {
+            case GameRecord.HUMAN: return new HumanPlayer(name);
+            case GameRecord.FIFTEEN: return new FifteenPlayer(name);
+            case GameRecord.WIMP: return new WimpPlayer(name);
+            case GameRecord.ODD: return new OddPlayer(name);
+            case GameRecord.RANDOM: return new RandomPlayer(name);
+            case GameRecord.MCTS: return new MctsPlayer(name);
+            default: throw new IllegalArgumentException("Unknown strategy id " + strategyId);
+        }
+    }
+
+    /**
+     * Creates a generator positioned where the game left off.
+     *
+     * @return A generator in the saved state
+     */
+    public GameRandom createRandom() {
+        GameRandom random = new GameRandom(0);
+        random.setState(randomState);
+        return random;
+    }
+
+    /**
+     * @return The encoded replay record, or an empty array if none was saved
+     */
+    public byte[] getReplay() {
+        return replay.clone();
+    }
+
+    public int getSeatCount() {
+        return scores.length;
+    }
+
+    public int getNextSeat() {
+        return nextSeat;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    public int getStrategyId(int seat) {
+        return strategyIds[seat];
+    }
+}
@@ -0,0 +1,371 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Evolves {@link ThresholdGenome} strategies against the built-in players.
+ *
+ * Each generation keeps the best genomes unchanged and breeds the rest of
+ * the population from tournament-selected parents. A genome's fitness is
+ * its win rate in headless games against fixed lineups of built-in
+ * players, with the genome rotating through every seat. Every genome is
+ * evaluated with the same seeds, so fitness is a deterministic function
+ * of the genes: it is computed once and cached, and elites and repeated
+ * children cost nothing to re-evaluate.
+ *
+ * Evaluations of one generation run in parallel on a {@link ForkJoinPool}.
+ * When a checkpoint file is given, the population, generator state and
+ * fitness cache are saved after every generation with write-then-rename,
+ * and a later run continues from there.
+ */
+public class GeneticOptimizer {
+    /** The magic number at the start of a checkpoint ("BDO1"). */
+    public static final int MAGIC = 0x42444F31;
+
+    /** Games per leaf task of a fitness evaluation. */
+    private static final int CHUNK_GAMES = 1_000;
+
+    private final int populationSize;
+    private final int elites;
+    private final double mutationRate;
+    private final int evaluationGames;
+    private final long seed;
+    private final List<Strategy[]> lineups = new ArrayList<>();
+    private final Map<ThresholdGenome, Double> fitnessCache = new HashMap<>();
+    private ThresholdGenome[] population;
+    private double[] fitness;
+    private int generation;
+    private SimRandom random;
+    private long evaluations;
+    private Consumer<GeneticOptimizer> generationListener = optimizer -> { };
+
+    /**
+     * Creates an optimizer with a random population seeded around the
+     * FifteenPlayer rule.
+     *
+     * @param populationSize The number of genomes per generation
+     * @param elites The number of best genomes copied unchanged
+     * @param mutationRate The chance of each gene mutating in a child
+     * @param evaluationGames The games played to measure one genome
+     * @param seed The seed for breeding and evaluation
+     * @throws IllegalArgumentException if the sizes are inconsistent
+     */
+    public GeneticOptimizer(int populationSize, int elites, double mutationRate, int evaluationGames, long seed) {
+        if (populationSize < 2 || elites < 0 || elites >= populationSize) {
+            throw new IllegalArgumentException("Need at least two genomes and fewer elites than genomes");
+        }
+        if (evaluationGames < 1) {
+            throw new IllegalArgumentException("Evaluation needs at least one game");
+        }
+        this.populationSize = populationSize;
+        this.elites = elites;
+        this.mutationRate = mutationRate;
+        this.evaluationGames = evaluationGames;
+        this.seed = seed;
+        this.random = new SimRandom(seed);
+        this.population = new ThresholdGenome[populationSize];
+        population[0] = ThresholdGenome.uniform(16);
+        for (int i = 1; i < populationSize; i++) {
+            population[i] = ThresholdGenome.random(random);
+        }
+        lineups.add(new Strategy[] {Strategies.fifteen(15)});
+        lineups.add(new Strategy[] {Strategies.wimp(), Strategies.odd()});
+        lineups.add(new Strategy[] {Strategies.randomPlayer(), Strategies.fifteen(15), Strategies.odd()});
+    }
+
+    /**
+     * Runs generations, resuming from and saving to a checkpoint if given.
+     *
+     * @param generations The generation to stop after (counting from the first ever)
+     * @param pool The pool fitness evaluations run on
+     * @param checkpoint The checkpoint file, or null for none
+     * @return The best genome of the last generation
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public ThresholdGenome evolve(int generations, ForkJoinPool pool, Path checkpoint) throws IOException {
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            load(checkpoint);
+        }
+        if (fitness == null) {
+            evaluate(pool);
+        }
+        while (generation < generations) {
+            breed();
+            evaluate(pool);
+            generation++;
+            if (checkpoint != null) {
+                save(checkpoint);
+            }
+            generationListener.accept(this);
+        }
+        return population[0];
+    }
+
+    /**
+     * Measures every genome not yet in the cache, then sorts the population
+     * by fitness, best first.
+     */
+    private void evaluate(ForkJoinPool pool) {
+        List<ThresholdGenome> pending = new ArrayList<>();
+        for (ThresholdGenome genome : population) {
+            if (!fitnessCache.containsKey(genome) && !pending.contains(genome)) {
+                pending.add(genome);
+            }
+        }
+        long[] wins = new long[pending.size()];
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                List<EvaluationTask> tasks = new ArrayList<>();
+                for (int g = 0; g < pending.size(); g++) {
+                    tasks.add(new EvaluationTask(pending.get(g), 0, evaluationGames));
+                }
+                invokeAll(tasks);
+                for (int g = 0; g < tasks.size(); g++) {
+                    wins[g] = tasks.get(g).wins;
+                }
+            }
+        });
+        for (int g = 0; g < pending.size(); g++) {
+            fitnessCache.put(pending.get(g), (double) wins[g] / evaluationGames);
+        }
+        evaluations += pending.size();
+
+        Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            order[i] = i;
+        }
+        ThresholdGenome[] current = population;
+        Arrays.sort(order, (a, b) -> Double.compare(fitnessCache.get(current[b]), fitnessCache.get(current[a])));
+        population = new ThresholdGenome[populationSize];
+        fitness = new double[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = current[order[i]];
+            fitness[i] = fitnessCache.get(population[i]);
+        }
+    }
+
+    /**
+     * Replaces all but the elites with children of tournament-selected parents.
+     */
+    private void breed() {
+        ThresholdGenome[] next = new ThresholdGenome[populationSize];
+        System.arraycopy(population, 0, next, 0, elites);
+        for (int i = elites; i < populationSize; i++) {
+            next[i] = select().breed(select(), mutationRate, random);
+        }
+        population = next;
+    }
+
+    /**
+     * Picks the fitter of two random genomes; the population is sorted,
+     * so the lower index wins.
+     */
+    private ThresholdGenome select() {
+        return population[Math.min(random.nextInt(populationSize), random.nextInt(populationSize))];
+    }
+
+    /**
+     * Plays part of one genome's evaluation, splitting so idle workers can steal.
+     */
+    private class EvaluationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ThresholdGenome genome;
+        private final int from;
+        private final int to;
+        long wins;
+
+        EvaluationTask(ThresholdGenome genome, int from, int to) {
+            this.genome = genome;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_GAMES) {
+                int mid = (from + to) >>> 1;
+                EvaluationTask left = new EvaluationTask(genome, from, mid);
+                EvaluationTask right = new EvaluationTask(genome, mid, to);
+                invokeAll(left, right);
+                wins = left.wins + right.wins;
+                return;
+            }
+            // The same seeds for every genome make fitness a function of the genes alone
+            SimRandom dice = new SimRandom(RacingScheduler.mix(seed, from));
+            Strategy[][] seats = new Strategy[lineups.size()][];
+            for (int l = 0; l < seats.length; l++) {
+                seats[l] = new Strategy[lineups.get(l).length + 1];
+            }
+            int[] scores = new int[7];
+            for (int game = from; game < to; game++) {
+                int l = game % seats.length;
+                Strategy[] opponents = lineups.get(l);
+                Strategy[] lineup = seats[l];
+                int mySeat = (game / seats.length) % lineup.length;
+                for (int s = 0, o = 0; s < lineup.length; s++) {
+                    lineup[s] = (s == mySeat) ? genome : opponents[o++];
+                }
+                if (HeadlessGame.play(lineup, scores, dice) == mySeat) {
+                    wins++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the generation with write-then-rename.
+     */
+    private void save(Path checkpoint) throws IOException {
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeLong(seed);
+            out.writeInt(populationSize);
+            out.writeInt(evaluationGames);
+            out.writeInt(generation);
+            out.writeLong(random.getState());
+            out.writeLong(evaluations);
+            for (ThresholdGenome genome : population) {
+                writeGenome(out, genome);
+            }
+            out.writeInt(fitnessCache.size());
+            for (Map.Entry<ThresholdGenome, Double> entry : fitnessCache.entrySet()) {
+                writeGenome(out, entry.getKey());
+                out.writeDouble(entry.getValue());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load(Path checkpoint) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an optimizer checkpoint: " + checkpoint);
+            }
+            if (in.readLong() != seed || in.readInt() != populationSize || in.readInt() != evaluationGames) {
+                throw new IOException("Checkpoint belongs to a different run: " + checkpoint);
+            }
+            generation = in.readInt();
+            random.setState(in.readLong());
+            evaluations = in.readLong();
+            for (int i = 0; i < populationSize; i++) {
+                population[i] = readGenome(in);
+            }
+            fitnessCache.clear();
+            for (int n = in.readInt(); n > 0; n--) {
+                fitnessCache.put(readGenome(in), in.readDouble());
+            }
+            fitness = new double[populationSize];
+            for (int i = 0; i < populationSize; i++) {
+                fitness[i] = fitnessCache.get(population[i]);
+            }
+        }
+    }
+
+    private static void writeGenome(DataOutputStream out, ThresholdGenome genome) throws IOException {
+        for (int i = 0; i < ThresholdGenome.GENES; i++) {
+            out.writeByte(genome.getThreshold(i));
+        }
+    }
+
+    private static ThresholdGenome readGenome(DataInputStream in) throws IOException {
+        int[] genes = new int[ThresholdGenome.GENES];
+        for (int i = 0; i < genes.length; i++) {
+            genes[i] = in.readUnsignedByte();
+        }
+        return new ThresholdGenome(genes);
+    }
+
+    /**
+     * Sets a callback told after every generation, once it is evaluated
+     * and saved, on the thread running {@link #evolve}. The optimizer's
+     * getters describe the generation.
+     *
+     * @param listener Receives this optimizer
+     */
+    public void setGenerationListener(Consumer<GeneticOptimizer> listener) {
+        generationListener = listener;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return The fitness of the best genome of the current generation
+     */
+    public double getBestFitness() {
+        return fitness == null ? 0.0 : fitness[0];
+    }
+
+    /**
+     * @return The mean fitness of the current generation
+     */
+    public double getMeanFitness() {
+        if (fitness == null) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (double f : fitness) {
+            sum += f;
+        }
+        return sum / fitness.length;
+    }
+
+    /**
+     * @return The genomes measured so far, across resumed runs; cache hits are not counted
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * @return The distinct genomes whose fitness is cached
+     */
+    public int getCachedFitnesses() {
+        return fitnessCache.size();
+    }
+
+    /**
+     * Evolves genomes and prints the best one as a player configuration.
+     *
+     * Usage: java GeneticOptimizer [generations] [checkpoint-file]
+     */
+    public static void main(String[] args) throws IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        Path checkpoint = args.length > 1 ? Path.of(args[1]) : null;
+        GeneticOptimizer optimizer = new GeneticOptimizer(40, 4, 0.15, 20_000, 2024L);
+        optimizer.setGenerationListener(o -> System.out.printf(
+            "Generation %3d: best %.4f  mean %.4f  (%,d evaluations, %,d cached)%n",
+            o.getGeneration(), o.getBestFitness(), o.getMeanFitness(), o.getEvaluations(), o.getCachedFitnesses()));
+        ThresholdGenome best = optimizer.evolve(generations, ForkJoinPool.commonPool(), checkpoint);
+        System.out.printf("Best genome wins %.4f against the built-in lineups%n", optimizer.getBestFitness());
+        System.out.println("Player configuration: " + best.toSpec());
+        System.out.println("Use it with: new StrategyPlayer(name, Strategies.parse(\"" + best.toSpec()
+            + "\"), description)");
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays Bulldog games without any user interface, using the same rules
+ * as {@link BulldogGame}: each turn starts with a mandatory roll, a six
+ * ends the turn with zero points, and the first seat to reach
+ * {@link BulldogGame#WINNING_SCORE} wins.
+ *
+ * All state lives in caller-supplied arrays, so a worker thread can
+ * play millions of games without allocating.
+ */
+public final class HeadlessGame {
+    /** Number of faces on the die, matching the six-sided Dice used by the players. */
+    public static final int SIDES = 6;
+
+    /** Rounds after which a game is abandoned (only reachable by strategies that never hold). */
+    public static final int MAX_ROUNDS = 10_000;
+
+    private HeadlessGame() {
+    }
+
+    /**
+     * Plays one complete game. The scores array is reset before play
+     * and holds the final scores afterwards.
+     *
+     * @param seats The strategy for each seat, in turn order
+     * @param scores Score storage with one entry per seat
+     * @param random The random source for dice and random decisions
+     * @return The winning seat, or -1 if the game hit {@link #MAX_ROUNDS}
+     */
+    public static int play(Strategy[] seats, int[] scores, RandomGenerator random) {
+        return play(seats, scores, random, GameListener.NONE);
+    }
+
+    /**
+     * Plays one complete game, reporting every event to a listener.
+     *
+     * @param seats The strategy for each seat, in turn order
+     * @param scores Score storage with one entry per seat
+     * @param random The random source for dice and random decisions
+     * @param listener The listener notified of rolls, turns and the result
+     * @return The winning seat, or -1 if the game hit {@link #MAX_ROUNDS}
+     */
+    public static int play(Strategy[] seats, int[] scores, RandomGenerator random, GameListener listener) {
+        for (int i = 0; i < seats.length; i++) {
+            scores[i] = 0;
+        }
+        listener.gameStarted(seats.length);
+        int turns = 0;
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            for (int seat = 0; seat < seats.length; seat++) {
+                scores[seat] += playTurn(seats[seat], scores, seat, random, listener);
+                turns++;
+                if (scores[seat] >= BulldogGame.WINNING_SCORE) {
+                    listener.gameEnded(seat, turns);
+                    return seat;
+                }
+            }
+        }
+        listener.gameEnded(-1, turns);
+        return -1;
+    }
+
+    /**
+     * Plays a single turn for one seat without updating its score.
+     *
+     * @param strategy The strategy making the roll/hold decisions
+     * @param scores The banked scores of every seat
+     * @param seat The seat taking the turn
+     * @param random The random source for dice and random decisions
+     * @return The points earned this turn (0 on a six)
+     */
+    public static int playTurn(Strategy strategy, int[] scores, int seat, RandomGenerator random) {
+        return playTurn(strategy, scores, seat, random, GameListener.NONE);
+    }
+
+    /**
+     * Plays a single turn for one seat without updating its score,
+     * reporting every roll and the end of the turn to a listener.
+     *
+     * @param strategy The strategy making the roll/hold decisions
+     * @param scores The banked scores of every seat
+     * @param seat The seat taking the turn
+     * @param random The random source for dice and random decisions
+     * @param listener The listener notified of each roll and the turn result
+     * @return The points earned this turn (0 on a six)
+     */
+    public static int playTurn(Strategy strategy, int[] scores, int seat, RandomGenerator random,
+                               GameListener listener) {
+        int turnScore = 0;
+        int rolls = 0;
+        while (true) {
+            int roll = random.nextInt(SIDES) + 1;
+            rolls++;
+            listener.rolled(seat, roll);
+            if (roll == SIDES) {
+                listener.turnEnded(seat, 0, rolls, true);
+                return 0;
+            }
+            turnScore += roll;
+            if (!strategy.shouldRoll(scores, seat, turnScore, roll, random)) {
+                listener.turnEnded(seat, turnScore, rolls, false);
+                return turnScore;
+            }
+        }
+    }
+}
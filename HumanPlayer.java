@@ -1,5 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 
 /**
@@ -15,6 +16,7 @@ import java.util.concurrent.CountDownLatch;
  * - Roll dice button
  * - End turn button
  * - Visual dice roll display
+ * - Optimal-move hint with the win chance of rolling and holding
  * - Detailed game logging
  * 
  * @author Unknown
@@ -45,11 +47,35 @@ public class HumanPlayer extends Player {
     /** Label to display the result of dice rolls. */
     private JLabel diceLabel;
     
+    /** Label showing the optimal choice for the current turn total. */
+    private JLabel hintLabel;
+    
+    /** The players in seat order, for reading opponent scores in hints. */
+    private Player[] table;
+    
+    /** This player's seat in the table. */
+    private int seat;
+    
     /** Tracks the score accumulated during the current turn. */
     private int turnScore;
     
     /** Synchronization mechanism to coordinate turn completion. */
     private CountDownLatch turnLatch;
+    
+    /** Record receiving this player's roll/hold decisions for replay, if any. */
+    private ReplayRecord replayRecord;
+    
+    /** Flight recorder event timing the current turn. */
+    private FlightEvents.Turn turnEvent;
+    
+    /** Throughput measurement of the current turn. */
+    private StrategyMetrics.Turn metricsTurn;
+    
+    /** Flight recorder event timing the pending decision, from the last roll to the next button press. */
+    private FlightEvents.Decision decisionEvent;
+    
+    /** Rolls made so far this turn. */
+    private int rolls;
 
     /**
      * Creates a default HumanPlayer with the name "Human".
@@ -68,6 +94,39 @@ public class HumanPlayer extends Player {
         /** Create a six-sided die */
         die = new Dice(6);
         initializePanel();
+        MoveHints.preload();
+    }
+
+    /**
+     * Makes this player's die draw from the given generator.
+     * 
+     * @param random the generator for all of this player's rolls
+     */
+    @Override
+    public void setRandom(Random random) {
+        die.setRandom(random);
+    }
+
+    /**
+     * Sets the record that receives this player's roll/hold decisions so
+     * the game can be replayed later.
+     * 
+     * @param replayRecord the record to append decisions to, or null to stop recording
+     */
+    public void setReplayRecord(ReplayRecord replayRecord) {
+        this.replayRecord = replayRecord;
+    }
+
+    /**
+     * Tells the player who is at the table and where it sits, so its
+     * hints can take the other scores into account.
+     * 
+     * @param table the players in seat order
+     * @param seat this player's seat
+     */
+    public void setTable(Player[] table, int seat) {
+        this.table = table;
+        this.seat = seat;
     }
 
     /**
@@ -95,8 +154,17 @@ public class HumanPlayer extends Player {
         // Dice display area
         diceLabel = new JLabel("Roll the dice!", SwingConstants.CENTER);
         diceLabel.setFont(new Font("Arial", Font.BOLD, 24));
-        diceLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 20, 0));
-        centerPanel.add(diceLabel, BorderLayout.NORTH);
+        diceLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
+        
+        // Hint display below the dice
+        hintLabel = new JLabel(" ", SwingConstants.CENTER);
+        hintLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        hintLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+        
+        JPanel dicePanel = new JPanel(new BorderLayout());
+        dicePanel.add(diceLabel, BorderLayout.CENTER);
+        dicePanel.add(hintLabel, BorderLayout.SOUTH);
+        centerPanel.add(dicePanel, BorderLayout.NORTH);
         
         // Game log
         gameLog = new JTextArea(8, 30);
@@ -145,7 +213,10 @@ public class HumanPlayer extends Player {
     public int play() {
         // Reset turn state
         turnScore = 0;
+        rolls = 0;
         turnLatch = new CountDownLatch(1);
+        turnEvent = FlightEvents.beginTurn(this, "Human");
+        metricsTurn = MetricsRegistry.global().register("Human").beginTurn();
         
         // Reset UI
         diceLabel.setText("Roll the dice!");
@@ -154,6 +225,9 @@ public class HumanPlayer extends Player {
         endTurnButton.setEnabled(false);
         
         logMessage("Starting " + getName() + "'s turn. Press 'Roll Dice' to begin.");
+        showHint();
+        // The rolls and the hold run on the Event Dispatch Thread, which measures each one
+        metricsTurn.pause();
         
         // Wait for player to complete their turn
         try {
@@ -175,7 +249,17 @@ public class HumanPlayer extends Player {
      * - Updates turn score and UI state
      */
     private void rollDice() {
+        metricsTurn.resume();
+        // Every roll after the first is a decision to keep going
+        if (turnScore > 0 && replayRecord != null) {
+            replayRecord.addDecision(true);
+        }
+        if (turnScore > 0) {
+            FlightEvents.endDecision(decisionEvent, this, "Human", turnScore, true);
+        }
+        
         int roll = die.roll();
+        rolls++;
         
         // Update dice display
         diceLabel.setText("You rolled: " + roll);
@@ -183,11 +267,14 @@ public class HumanPlayer extends Player {
         // Check if rolled a 6
         if (roll == 6) {
             logMessage("You rolled a 6! Turn ends with 0 points.");
+            FlightEvents.endTurn(turnEvent, 0, rolls, turnScore);
+            metricsTurn.end(rolls, true);
             turnScore = 0;
             
             // Disable buttons
             rollButton.setEnabled(false);
             endTurnButton.setEnabled(false);
+            hintLabel.setText(" ");
             
             // Display message and add short delay before ending turn
             Timer endTimer = new Timer(1500, e -> turnLatch.countDown());
@@ -203,6 +290,9 @@ public class HumanPlayer extends Player {
         
         // Enable end turn button after first successful roll
         endTurnButton.setEnabled(true);
+        showHint();
+        decisionEvent = FlightEvents.beginDecision();
+        metricsTurn.pause();
     }
 
     /**
@@ -214,16 +304,54 @@ public class HumanPlayer extends Player {
      * - Signals turn completion
      */
     private void endTurn() {
+        metricsTurn.resume();
+        if (replayRecord != null) {
+            replayRecord.addDecision(false);
+        }
+        FlightEvents.endDecision(decisionEvent, this, "Human", turnScore, false);
+        FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+        metricsTurn.end(rolls, false);
+        
         logMessage("You ended your turn with " + turnScore + " points.");
         
         // Disable buttons
         rollButton.setEnabled(false);
         endTurnButton.setEnabled(false);
+        hintLabel.setText(" ");
         
         // End the turn
         turnLatch.countDown();
     }
 
+    /**
+     * Shows the optimal choice for the current turn total. The lookup is a
+     * table read, so it adds nothing noticeable to a button press.
+     */
+    private void showHint() {
+        int[] scores;
+        int mySeat;
+        if (table != null) {
+            scores = new int[table.length];
+            for (int s = 0; s < scores.length; s++) {
+                scores[s] = table[s].getScore();
+            }
+            mySeat = seat;
+        } else {
+            scores = new int[] {getScore()};
+            mySeat = 0;
+        }
+        MoveHints.Hint hint = MoveHints.lookup(scores, mySeat, turnScore);
+        if (hint == null) {
+            hintLabel.setText("Hint: still loading the strategy table...");
+        } else if (!hint.canHold()) {
+            hintLabel.setText(String.format("Hint: Roll (win chance %.1f%%)", 100 * hint.getRollChance()));
+        } else {
+            hintLabel.setText(String.format("Hint: %s (roll wins %.1f%%, hold wins %.1f%%, %+.1f%% for rolling)",
+                hint.shouldRoll() ? "Roll" : "End Turn", 100 * hint.getRollChance(),
+                100 * hint.getHoldChance(), 100 * hint.getDelta()));
+        }
+    }
+
     /**
      * Adds a message to the game log and scrolls to the bottom.
      * 
@@ -0,0 +1,178 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Plain per-worker statistics for a {@link SimulationJob}.
+ *
+ * Unlike {@link StrategyStats}, a tally belongs to one thread and is
+ * updated in a fixed order, so merging the tallies of all workers in
+ * worker order gives bit-identical results however the run was split
+ * up, paused or resumed. It can be written to and read from a
+ * checkpoint.
+ */
+public class JobTally implements GameListener {
+    /** Width of a game-length histogram bucket, in turns. */
+    public static final int LENGTH_BUCKET = 5;
+
+    /** Number of game-length buckets; the last one also counts longer games. */
+    public static final int LENGTH_BUCKETS = 81;
+
+    private final int seatCount;
+    private long games;
+    private long abandoned;
+    private final long[] wins;
+    private final long[] turns;
+    private final long[] busts;
+    private final long[] rolls;
+    private final RunningMoments[] turnScores;
+    private final long[] lengths = new long[LENGTH_BUCKETS];
+
+    /**
+     * Creates an empty tally.
+     *
+     * @param seatCount The number of seats in the lineup
+     */
+    public JobTally(int seatCount) {
+        this.seatCount = seatCount;
+        this.wins = new long[seatCount];
+        this.turns = new long[seatCount];
+        this.busts = new long[seatCount];
+        this.rolls = new long[seatCount];
+        this.turnScores = new RunningMoments[seatCount];
+        for (int s = 0; s < seatCount; s++) {
+            turnScores[s] = new RunningMoments();
+        }
+    }
+
+    @Override
+    public void turnEnded(int seat, int turnScore, int rollCount, boolean busted) {
+        turns[seat]++;
+        rolls[seat] += rollCount;
+        if (busted) {
+            busts[seat]++;
+        }
+        turnScores[seat].add(turnScore);
+    }
+
+    @Override
+    public void gameEnded(int winner, int turnCount) {
+        games++;
+        if (winner < 0) {
+            abandoned++;
+        } else {
+            wins[winner]++;
+        }
+        lengths[Math.min(turnCount / LENGTH_BUCKET, LENGTH_BUCKETS - 1)]++;
+    }
+
+    /**
+     * Adds another tally for the same lineup to this one.
+     *
+     * @param other The tally to merge in; it is not modified
+     */
+    public void merge(JobTally other) {
+        games += other.games;
+        abandoned += other.abandoned;
+        for (int s = 0; s < seatCount; s++) {
+            wins[s] += other.wins[s];
+            turns[s] += other.turns[s];
+            busts[s] += other.busts[s];
+            rolls[s] += other.rolls[s];
+            turnScores[s].merge(other.turnScores[s]);
+        }
+        for (int b = 0; b < LENGTH_BUCKETS; b++) {
+            lengths[b] += other.lengths[b];
+        }
+    }
+
+    /**
+     * @return An independent copy of this tally
+     */
+    public JobTally copy() {
+        JobTally copy = new JobTally(seatCount);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Writes the tally in checkpoint form.
+     *
+     * @param out The destination
+     * @throws IOException if writing fails
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(games);
+        out.writeLong(abandoned);
+        for (int s = 0; s < seatCount; s++) {
+            out.writeLong(wins[s]);
+            out.writeLong(turns[s]);
+            out.writeLong(busts[s]);
+            out.writeLong(rolls[s]);
+            out.writeLong(turnScores[s].getCount());
+            out.writeDouble(turnScores[s].getMean());
+            out.writeDouble(turnScores[s].getM2());
+        }
+        for (long count : lengths) {
+            out.writeLong(count);
+        }
+    }
+
+    /**
+     * Reads a tally written by {@link #write}.
+     *
+     * @param in The source
+     * @param seatCount The number of seats in the lineup
+     * @return The tally
+     * @throws IOException if reading fails
+     */
+    public static JobTally read(DataInput in, int seatCount) throws IOException {
+        JobTally tally = new JobTally(seatCount);
+        tally.games = in.readLong();
+        tally.abandoned = in.readLong();
+        for (int s = 0; s < seatCount; s++) {
+            tally.wins[s] = in.readLong();
+            tally.turns[s] = in.readLong();
+            tally.busts[s] = in.readLong();
+            tally.rolls[s] = in.readLong();
+            tally.turnScores[s] = new RunningMoments(in.readLong(), in.readDouble(), in.readDouble());
+        }
+        for (int b = 0; b < LENGTH_BUCKETS; b++) {
+            tally.lengths[b] = in.readLong();
+        }
+        return tally;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    public double getBustRate(int seat) {
+        return turns[seat] == 0 ? 0.0 : (double) busts[seat] / turns[seat];
+    }
+
+    public RunningMoments getTurnScore(int seat) {
+        return turnScores[seat];
+    }
+
+    /**
+     * @return Game counts by length, in buckets of {@link #LENGTH_BUCKET} turns
+     */
+    public long[] getLengthHistogram() {
+        return lengths.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%,d games (%,d abandoned)", games, abandoned));
+        for (int s = 0; s < seatCount; s++) {
+            text.append(String.format("%n  seat %d: win %.5f  bust %.5f  turn %s",
+                s, games == 0 ? 0.0 : (double) wins[s] / games, getBustRate(s), turnScores[s]));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,335 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes exact win probabilities and game-length distributions for
+ * lineups of fixed-rule players, without simulation.
+ *
+ * A fixed-rule player's turn does not depend on the scores, so each seat
+ * has one distribution of points per turn, computed exactly by following
+ * the probability of every (turn total, last face) pair through the turn.
+ *
+ * The game is a Markov chain over the joint banked scores, but because
+ * no seat reacts to the others, that chain is a product of independent
+ * single-seat chains of {@link BulldogGame#WINNING_SCORE} states each.
+ * The analyzer advances every seat's chain one turn at a time in seat
+ * order; a seat wins on a turn with the probability that it finishes on
+ * that turn times the probability that every other seat is still short
+ * of the target. The joint chain would need up to 104^7 states, while
+ * this needs a few hundred doubles and runs until the undecided
+ * probability, computed as a product of sums rather than by
+ * subtraction, falls below the requested precision.
+ */
+public class MarkovAnalyzer {
+    private static final int WIN = BulldogGame.WINNING_SCORE;
+
+    private final String[] lineup;
+    private final int[][] gains;
+    private final double[][] chances;
+
+    /**
+     * Creates an analyzer for a lineup of fixed-rule players.
+     *
+     * @param lineup One {@link Strategies#parse} description per seat; only
+     *               {@code fifteen}, {@code wimp}, {@code odd} and {@code random} forms
+     * @throws IllegalArgumentException if a seat is not a fixed rule or the seat count is not 2-7
+     */
+    public MarkovAnalyzer(String... lineup) {
+        if (lineup.length < 2 || lineup.length > 7) {
+            throw new IllegalArgumentException("Bulldog is played by 2-7 players");
+        }
+        this.lineup = lineup.clone();
+        this.gains = new int[lineup.length][];
+        this.chances = new double[lineup.length][];
+        for (int s = 0; s < lineup.length; s++) {
+            double[] distribution = turnDistribution(lineup[s]);
+            int count = 0;
+            for (double p : distribution) {
+                if (p > 0.0) {
+                    count++;
+                }
+            }
+            gains[s] = new int[count];
+            chances[s] = new double[count];
+            for (int g = 0, n = 0; g < distribution.length; g++) {
+                if (distribution[g] > 0.0) {
+                    gains[s][n] = g;
+                    chances[s][n++] = distribution[g];
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an analyzer for built-in players.
+     *
+     * @param players The lineup in seat order
+     * @return The analyzer
+     * @throws IllegalArgumentException if a player is not a fixed-rule built-in
+     */
+    public static MarkovAnalyzer forPlayers(List<Player> players) {
+        String[] lineup = new String[players.size()];
+        for (int s = 0; s < lineup.length; s++) {
+            Player player = players.get(s);
+            if (player instanceof FifteenPlayer) lineup[s] = "fifteen";
+            else if (player instanceof WimpPlayer) lineup[s] = "wimp";
+            else if (player instanceof OddPlayer) lineup[s] = "odd";
+            else if (player instanceof RandomPlayer) lineup[s] = "random";
+            else throw new IllegalArgumentException(player.getName() + " does not play a fixed rule");
+        }
+        return new MarkovAnalyzer(lineup);
+    }
+
+    /**
+     * Returns the exact distribution of points scored in one turn.
+     *
+     * @param spec The rule, in {@link Strategies#parse} form
+     * @return Probabilities indexed by points; the last entry ({@link BulldogGame#WINNING_SCORE})
+     *         collects every turn worth that much or more
+     * @throws IllegalArgumentException if the rule is not a fixed rule
+     */
+    public static double[] turnDistribution(String spec) {
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String argument = colon < 0 ? null : spec.substring(colon + 1);
+        // Chance of rolling again, by turn total and last face
+        double[][] rollAgain = new double[WIN + 1][HeadlessGame.SIDES];
+        for (int t = 1; t <= WIN; t++) {
+            for (int face = 1; face < HeadlessGame.SIDES; face++) {
+                switch (kind) {
+                    case "fifteen":
+                        rollAgain[t][face] = t <= (argument == null ? 15 : Integer.parseInt(argument)) ? 1.0 : 0.0;
+                        break;
+                    case "wimp":
+                        rollAgain[t][face] = 0.0;
+                        break;
+                    case "odd":
+                        rollAgain[t][face] = (face & 1) == 1 ? 1.0 : 0.0;
+                        break;
+                    case "random":
+                        rollAgain[t][face] = argument == null ? 0.5 : Double.parseDouble(argument);
+                        break;
+                    default:
+                        throw new IllegalArgumentException(spec + " is not a fixed rule");
+                }
+            }
+        }
+
+        double[] distribution = new double[WIN + 1];
+        double[][] mass = new double[WIN + 1][HeadlessGame.SIDES];
+        double face = 1.0 / HeadlessGame.SIDES;
+        distribution[0] += face;
+        for (int f = 1; f < HeadlessGame.SIDES; f++) {
+            mass[f][f] += face;
+        }
+        for (int t = 1; t < WIN; t++) {
+            for (int last = 1; last < HeadlessGame.SIDES; last++) {
+                double m = mass[t][last];
+                if (m == 0.0) {
+                    continue;
+                }
+                double roll = m * rollAgain[t][last];
+                distribution[t] += m - roll;
+                distribution[0] += roll * face;
+                for (int f = 1; f < HeadlessGame.SIDES; f++) {
+                    mass[Math.min(t + f, WIN)][f] += roll * face;
+                }
+            }
+        }
+        // Totals of WIN and above all win; only busting can still take them away
+        double remaining = 1.0;
+        while (remaining > 1e-300) {
+            remaining = 0.0;
+            double[] next = new double[HeadlessGame.SIDES];
+            for (int last = 1; last < HeadlessGame.SIDES; last++) {
+                double m = mass[WIN][last];
+                double roll = m * rollAgain[WIN][last];
+                distribution[WIN] += m - roll;
+                distribution[0] += roll * face;
+                for (int f = 1; f < HeadlessGame.SIDES; f++) {
+                    next[f] += roll * face;
+                    remaining += roll * face;
+                }
+            }
+            mass[WIN] = next;
+        }
+        return distribution;
+    }
+
+    /**
+     * Runs the chains until the undecided probability falls below a bound.
+     *
+     * @param precision The undecided probability at which to stop
+     * @return The exact results, up to the precision
+     */
+    public Result analyze(double precision) {
+        return analyze(new int[lineup.length], 0, precision);
+    }
+
+    /**
+     * Runs the chains from a game in progress until the undecided
+     * probability falls below a bound.
+     *
+     * @param scores The banked score of every seat, all below the target
+     * @param firstSeat The seat about to take its turn
+     * @param precision The undecided probability at which to stop
+     * @return The exact results, up to the precision; game lengths count turns from now
+     * @throws IllegalArgumentException if a score has already reached the target
+     */
+    public Result analyze(int[] scores, int firstSeat, double precision) {
+        long start = System.nanoTime();
+        int seats = lineup.length;
+        // mass[s][x]: probability that seat s has banked x and not yet won
+        double[][] mass = new double[seats][WIN];
+        double[] next = new double[WIN];
+        double[] alive = new double[seats];
+        for (int s = 0; s < seats; s++) {
+            if (scores[s] < 0 || scores[s] >= WIN) {
+                throw new IllegalArgumentException("Seat " + s + " is not still playing");
+            }
+            mass[s][scores[s]] = 1.0;
+            alive[s] = 1.0;
+        }
+        double[] wins = new double[seats];
+        double[] lengths = new double[256];
+        double undecided = 1.0;
+        int turn = 0;
+        int round = 0;
+        while (undecided > precision && round < HeadlessGame.MAX_ROUNDS) {
+            for (int order = 0; order < seats; order++) {
+                // Push seat s through one more of its own turns
+                int s = (firstSeat + order) % seats;
+                int[] moves = gains[s];
+                double[] odds = chances[s];
+                double[] before = mass[s];
+                Arrays.fill(next, 0.0);
+                double stillAlive = 0.0;
+                for (int x = 0; x < WIN; x++) {
+                    double p = before[x];
+                    if (p == 0.0) {
+                        continue;
+                    }
+                    for (int i = 0; i < moves.length; i++) {
+                        int banked = x + moves[i];
+                        if (banked < WIN) {
+                            next[banked] += p * odds[i];
+                        }
+                    }
+                }
+                for (int x = 0; x < WIN; x++) {
+                    stillAlive += next[x];
+                }
+                mass[s] = next;
+                next = before;
+
+                // Seat s wins now if it finishes this turn and nobody has finished before
+                double others = 1.0;
+                for (int o = 0; o < seats; o++) {
+                    if (o != s) {
+                        others *= alive[o];
+                    }
+                }
+                double finished = (alive[s] - stillAlive) * others;
+                alive[s] = stillAlive;
+                turn++;
+                wins[s] += finished;
+                if (turn >= lengths.length) {
+                    lengths = Arrays.copyOf(lengths, lengths.length * 2);
+                }
+                lengths[turn] = finished;
+            }
+            round++;
+            undecided = 1.0;
+            for (double a : alive) {
+                undecided *= a;
+            }
+        }
+        return new Result(lineup, wins, Arrays.copyOf(lengths, turn + 1), undecided, System.nanoTime() - start);
+    }
+
+    /**
+     * The outcome of an analysis.
+     */
+    public static class Result {
+        private final String[] lineup;
+        private final double[] wins;
+        private final double[] lengths;
+        private final double undecided;
+        private final long nanos;
+
+        Result(String[] lineup, double[] wins, double[] lengths, double undecided, long nanos) {
+            this.lineup = lineup;
+            this.wins = wins;
+            this.lengths = lengths;
+            this.undecided = undecided;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @param seat A seat index
+         * @return The probability that the seat wins
+         */
+        public double getWinProbability(int seat) {
+            return wins[seat];
+        }
+
+        /**
+         * @return The probability of each game length, indexed by total turns
+         */
+        public double[] getLengthDistribution() {
+            return lengths.clone();
+        }
+
+        /**
+         * @return The expected number of turns in a game
+         */
+        public double getMeanLength() {
+            double sum = 0.0;
+            for (int t = 0; t < lengths.length; t++) {
+                sum += t * lengths[t];
+            }
+            return sum / (1.0 - undecided);
+        }
+
+        /**
+         * @return The probability left undecided when the analysis stopped
+         */
+        public double getUndecided() {
+            return undecided;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int s = 0; s < lineup.length; s++) {
+                text.append(String.format("seat %d %-10s win %.12f%n", s, lineup[s], wins[s]));
+            }
+            text.append(String.format("mean length %.6f turns, up to %d turns, %.1e undecided%n",
+                getMeanLength(), lengths.length - 1, undecided));
+            text.append(String.format("computed in %.3f s", nanos / 1e9));
+            return text.toString();
+        }
+    }
+
+    /**
+     * Analyzes a lineup given on the command line and prints the game-length
+     * distribution in buckets of five turns.
+     *
+     * Usage: java MarkovAnalyzer [strategy...]
+     */
+    public static void main(String[] args) {
+        String[] lineup = args.length > 0 ? args : new String[] {"fifteen", "wimp", "odd", "random"};
+        Result result = new MarkovAnalyzer(lineup).analyze(1e-15);
+        System.out.println(result);
+        double[] lengths = result.getLengthDistribution();
+        for (int from = 0; from < lengths.length; from += 5) {
+            double p = 0.0;
+            for (int t = from; t < Math.min(from + 5, lengths.length); t++) {
+                p += lengths[t];
+            }
+            if (p > 1e-6) {
+                System.out.printf("  %3d-%3d turns: %.6f%n", from, from + 4, p);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * A computer player that searches before every decision with
+ * {@link MctsStrategy}, modelling each opponent by its built-in rule.
+ *
+ * Each decision gets a fixed time budget and uses every processor. The
+ * search runs on the game thread, so the window stays responsive while
+ * the player thinks.
+ */
+public class MctsPlayer extends StrategyPlayer {
+    /** Thinking time per decision, in milliseconds. */
+    private static final long BUDGET_MILLIS = 250;
+
+    private final MctsStrategy search;
+
+    /**
+     * Creates a default MctsPlayer with the name "Monte Carlo".
+     */
+    public MctsPlayer() {
+        this("Monte Carlo");
+    }
+
+    /**
+     * Creates an MctsPlayer with a specified name.
+     *
+     * @param name the name to assign to the player
+     */
+    public MctsPlayer(String name) {
+        this(name, new MctsStrategy(Runtime.getRuntime().availableProcessors(),
+            BUDGET_MILLIS * 1_000_000L, 0, System.nanoTime()));
+    }
+
+    private MctsPlayer(String name, MctsStrategy search) {
+        super(name, search, "Monte Carlo search, " + BUDGET_MILLIS + " ms per decision");
+        this.search = search;
+    }
+
+    /**
+     * Records the table and models every other seat by its built-in rule;
+     * humans and unknown players are modelled by the FifteenPlayer rule.
+     *
+     * @param table the players in seat order
+     * @param seat this player's seat
+     */
+    @Override
+    public void setTable(Player[] table, int seat) {
+        super.setTable(table, seat);
+        Strategy[] models = new Strategy[table.length];
+        for (int s = 0; s < table.length; s++) {
+            try {
+                models[s] = Strategies.forPlayer(table[s]);
+            } catch (IllegalArgumentException e) {
+                models[s] = Strategies.fifteen(15);
+            }
+        }
+        search.setModels(models);
+    }
+}
@@ -0,0 +1,282 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides roll/hold by Monte Carlo search over the rest of the turn.
+ *
+ * Within a turn the banked scores do not change, so the search tree is
+ * small: a decision node is identified by the turn total alone, and each
+ * roll is a chance node with six equally likely outcomes. The chance
+ * nodes are expanded exactly, and only the leaves, "hold with this turn
+ * total" (a bust holds zero), are valued by rollouts that play the rest
+ * of the game with the opponent models. The decision values then follow
+ * by backing the tree up from the largest turn total to the current one.
+ *
+ * Every rollout sample plays out all leaves with the same dice for each
+ * later turn. Leaf values therefore differ only because of the banked
+ * points, which cancels most of the noise when two choices are compared;
+ * plain independent rollouts would need orders of magnitude more games
+ * to resolve win-probability differences of a fraction of a percent.
+ *
+ * Search is root-parallel: every worker samples into its own
+ * preallocated buffers, and their counts are summed when the budget runs
+ * out. Workers run on one pool shared by every instance, whose idle
+ * threads exit by themselves, so a strategy needs no shutting down when
+ * its player leaves the game. The budget is a time limit per decision, a sample limit, or both;
+ * with only a sample limit the cost of a decision is fixed, which suits
+ * simulations. The best decision found so far is always returned when
+ * the deadline hits.
+ */
+public class MctsStrategy implements Strategy {
+    /** How far above the current turn total the tree is expanded. */
+    private static final int SPAN = 30;
+
+    /** Samples between deadline checks. */
+    private static final int CHECK_INTERVAL = 4;
+
+    /** Runs the extra workers of every search; threads idle for a minute are released. */
+    private static final ExecutorService POOL = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mcts-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Worker[] workers;
+    private final List<Worker> tasks;
+    private final long budgetNanos;
+    private final long maxSamples;
+    private final long[] wins = new long[BulldogGame.WINNING_SCORE];
+    private final double[] values = new double[BulldogGame.WINNING_SCORE + HeadlessGame.SIDES];
+    private volatile Strategy[] models;
+    private final Strategy self = Strategies.fifteen(15);
+    private long totalSamples;
+
+    /**
+     * Creates a search strategy.
+     *
+     * @param threads The number of parallel search workers
+     * @param budgetNanos The time limit per decision, or 0 for none
+     * @param maxSamples The sample limit per decision (shared by the workers), or 0 for none
+     * @param seed The seed for the workers' dice
+     * @throws IllegalArgumentException if there is no budget at all
+     */
+    public MctsStrategy(int threads, long budgetNanos, long maxSamples, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one search thread");
+        }
+        if (budgetNanos <= 0 && maxSamples <= 0) {
+            throw new IllegalArgumentException("Give a time budget, a sample limit, or both");
+        }
+        this.budgetNanos = budgetNanos;
+        this.maxSamples = maxSamples;
+        this.workers = new Worker[threads];
+        for (int w = 0; w < threads; w++) {
+            workers[w] = new Worker(RacingScheduler.mix(seed, w));
+        }
+        this.tasks = new ArrayList<>(Arrays.asList(workers).subList(1, threads));
+    }
+
+    /**
+     * Sets the strategies used to play each seat in rollouts. The deciding
+     * seat's own later turns use its entry too; a null entry (or no models
+     * at all) means the FifteenPlayer rule.
+     *
+     * @param models One strategy per seat, or null
+     */
+    public void setModels(Strategy[] models) {
+        this.models = models == null ? null : models.clone();
+    }
+
+    /**
+     * @return The rollout samples taken over the lifetime of this strategy
+     */
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    @Override
+    public boolean shouldRoll(int[] scores, int seat, int turnScore, int lastRoll, RandomGenerator random) {
+        int own = scores[seat];
+        if (own + turnScore >= BulldogGame.WINNING_SCORE) {
+            return false;
+        }
+        int limit = Math.min(turnScore + SPAN, BulldogGame.WINNING_SCORE - own - 1);
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        long perWorker = maxSamples > 0 ? Math.max(1, maxSamples / workers.length) : Long.MAX_VALUE;
+        Strategy[] seatModels = models;
+        for (Worker worker : workers) {
+            worker.prepare(scores, seat, turnScore, limit, seatModels, deadline, perWorker);
+        }
+        try {
+            if (tasks.isEmpty()) {
+                workers[0].call();
+            } else {
+                // Submit rather than invokeAll, which would wait before this thread's worker starts
+                List<Future<Void>> futures = new ArrayList<>(tasks.size());
+                for (Worker task : tasks) {
+                    futures.add(POOL.submit(task));
+                }
+                workers[0].call();
+                for (var future : futures) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+
+        long samples = 0;
+        Arrays.fill(wins, 0);
+        for (Worker worker : workers) {
+            samples += worker.samples;
+            wins[0] += worker.wins[0];
+            for (int t = turnScore; t <= limit; t++) {
+                wins[t] += worker.wins[t];
+            }
+        }
+        totalSamples += samples;
+        if (samples == 0) {
+            return self.shouldRoll(scores, seat, turnScore, lastRoll, random);
+        }
+
+        // Back the tree up from the largest turn total. Past the span a turn
+        // total is worth a win if it reaches the target, else a hold at the span
+        double bust = (double) wins[0] / samples;
+        double spanHold = (double) wins[limit] / samples;
+        for (int t = limit + 1; t < limit + HeadlessGame.SIDES; t++) {
+            values[t] = own + t >= BulldogGame.WINNING_SCORE ? 1.0 : spanHold;
+        }
+        double rollValue = 0.0;
+        double holdValue = 0.0;
+        for (int t = limit; t >= turnScore; t--) {
+            holdValue = (double) wins[t] / samples;
+            rollValue = bust;
+            for (int face = 1; face < HeadlessGame.SIDES; face++) {
+                rollValue += values[t + face];
+            }
+            rollValue /= HeadlessGame.SIDES;
+            values[t] = Math.max(holdValue, rollValue);
+        }
+        return rollValue > holdValue;
+    }
+
+    /**
+     * One search worker with its own counts and rollout buffers, reused
+     * for every decision.
+     */
+    private final class Worker implements Callable<Void> {
+        /** Rollout wins after holding with each turn total; index 0 is a bust. */
+        final long[] wins = new long[BulldogGame.WINNING_SCORE];
+        final int[] rootScores = new int[7];
+        final int[] scores = new int[7];
+        final SimRandom seeds;
+        final SimRandom dice = new SimRandom(0);
+        int seatCount;
+        int seat;
+        int turnScore;
+        int limit;
+        Strategy[] seatModels;
+        long deadline;
+        long maxSamples;
+        long samples;
+
+        Worker(long seed) {
+            seeds = new SimRandom(seed);
+        }
+
+        void prepare(int[] table, int seat, int turnScore, int limit, Strategy[] seatModels,
+                     long deadline, long maxSamples) {
+            this.seatCount = table.length;
+            System.arraycopy(table, 0, rootScores, 0, seatCount);
+            this.seat = seat;
+            this.turnScore = turnScore;
+            this.limit = limit;
+            this.seatModels = seatModels;
+            this.deadline = deadline;
+            this.maxSamples = maxSamples;
+            this.samples = 0;
+            Arrays.fill(wins, 0);
+        }
+
+        @Override
+        public Void call() {
+            while (samples < maxSamples) {
+                if ((samples % CHECK_INTERVAL) == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+                long seed = seeds.nextLong();
+                wins[0] += playOut(0, seed);
+                for (int t = turnScore; t <= limit; t++) {
+                    wins[t] += playOut(t, seed);
+                }
+                samples++;
+            }
+            return null;
+        }
+
+        /**
+         * Finishes the game after the deciding seat banks some points. Each
+         * later turn draws its dice from its own stream of the sample seed,
+         * so every leaf of one sample sees the same luck.
+         *
+         * @return 1 if the deciding seat wins, otherwise 0
+         */
+        private int playOut(int banked, long seed) {
+            System.arraycopy(rootScores, 0, scores, 0, seatCount);
+            scores[seat] += banked;
+            int current = seat;
+            for (int turn = 0; turn < HeadlessGame.MAX_ROUNDS * seatCount; turn++) {
+                current = current + 1 == seatCount ? 0 : current + 1;
+                dice.setState(RacingScheduler.mix(seed, turn));
+                scores[current] += HeadlessGame.playTurn(model(current), scores, current, dice);
+                if (scores[current] >= BulldogGame.WINNING_SCORE) {
+                    return current == seat ? 1 : 0;
+                }
+            }
+            return 0;
+        }
+
+        private Strategy model(int s) {
+            Strategy[] m = seatModels;
+            return m == null || s >= m.length || m[s] == null || m[s] == MctsStrategy.this ? self : m[s];
+        }
+    }
+
+    /**
+     * Measures the search with a fixed sample budget against the FifteenPlayer rule.
+     *
+     * Usage: java MctsStrategy [samples-per-decision] [games] [threads]
+     */
+    public static void main(String[] args) {
+        long samples = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        MctsStrategy mcts = new MctsStrategy(threads, 0, samples, 2024L);
+        Strategy fifteen = Strategies.fifteen(15);
+        mcts.setModels(new Strategy[] {fifteen, fifteen});
+        SimRandom random = new SimRandom(7L);
+        int[] scores = new int[2];
+        long wins = 0;
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            int seat = game & 1;
+            Strategy[] lineup = seat == 0 ? new Strategy[] {mcts, fifteen} : new Strategy[] {fifteen, mcts};
+            if (HeadlessGame.play(lineup, scores, random) == seat) {
+                wins++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("MCTS (%,d samples/decision) wins %.3f of %d games against Fifteen%n",
+            samples, (double) wins / games, games);
+        System.out.printf("%,.0f samples/s on %d thread(s)%n", mcts.getTotalSamples() / seconds, threads);
+    }
+}
@@ -0,0 +1,198 @@
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The registry of per-strategy throughput counters.
+ *
+ * Like {@link SimulationStats}, strategies are registered by name and
+ * {@link #meter} binds the seats of a lineup to their counters as a
+ * {@link GameListener} for {@link HeadlessGame#play}. The Swing players
+ * record into {@link #global()} directly. A registry created with a JMX
+ * domain publishes every strategy as an MXBean named
+ * {@code <domain>:type=StrategyMetrics,name=<strategy>}, and
+ * {@link #startSnapshots} reports the rates over each period to a
+ * callback, so the strategy limiting a mixed lineup stands out.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry("bulldog");
+
+    private final String jmxDomain;
+    private final Map<String, StrategyMetrics> byName = new ConcurrentHashMap<>();
+    private final List<StrategyMetrics> inOrder = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param jmxDomain The JMX domain to publish strategies under, or null to not publish them
+     */
+    public MetricsRegistry(String jmxDomain) {
+        this.jmxDomain = jmxDomain;
+    }
+
+    /**
+     * @return The registry the Swing players record into, published under the "bulldog" JMX domain
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the counters for a strategy, creating and publishing them on first use.
+     *
+     * @param name The strategy name
+     * @return The counters for that name
+     */
+    public StrategyMetrics register(String name) {
+        return byName.computeIfAbsent(name, n -> {
+            StrategyMetrics metrics = new StrategyMetrics(n);
+            inOrder.add(metrics);
+            if (jmxDomain != null) {
+                publish(metrics);
+            }
+            return metrics;
+        });
+    }
+
+    private void publish(StrategyMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(jmxDomain + ":type=StrategyMetrics,name="
+                + ObjectName.quote(metrics.getName()));
+            server.registerMBean(metrics, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            // Another registry with the same domain got there first; its counters stay visible
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Cannot publish metrics for " + metrics.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a listener that records every turn into the counters of the
+     * strategy in each seat. A turn is timed from the end of the previous
+     * turn, so the time includes the listener itself. The listener keeps
+     * the time of the last turn, so each thread needs its own.
+     *
+     * @param seats The counters for each seat, in turn order
+     * @return The metering listener
+     */
+    public GameListener meter(StrategyMetrics... seats) {
+        StrategyMetrics[] bound = seats.clone();
+        return new GameListener() {
+            private long markNanos;
+            private long markBytes;
+
+            @Override
+            public void gameStarted(int seatCount) {
+                markBytes = StrategyMetrics.allocatedBytes();
+                markNanos = System.nanoTime();
+            }
+
+            @Override
+            public void turnEnded(int seat, int turnScore, int rolls, boolean busted) {
+                long now = System.nanoTime();
+                long bytes = StrategyMetrics.allocatedBytes();
+                bound[seat].recordTurn(rolls, busted, now - markNanos, bytes < 0 ? -1 : bytes - markBytes);
+                markBytes = bytes;
+                markNanos = now;
+            }
+        };
+    }
+
+    /**
+     * Captures the totals of every registered strategy.
+     *
+     * @return One snapshot per strategy, in registration order
+     */
+    public List<StrategyMetrics.Snapshot> snapshot() {
+        List<StrategyMetrics.Snapshot> result = new ArrayList<>();
+        for (StrategyMetrics metrics : inOrder) {
+            result.add(metrics.snapshot());
+        }
+        return result;
+    }
+
+    /**
+     * Reports the activity of every strategy once per period, on a
+     * daemon thread. Each report covers only the preceding period.
+     *
+     * @param period The time between reports
+     * @param unit The unit of the period
+     * @param consumer Receives one snapshot per strategy, in registration order
+     * @return The schedule; cancel it to stop reporting
+     */
+    public ScheduledFuture<?> startSnapshots(long period, TimeUnit unit,
+                                             Consumer<List<StrategyMetrics.Snapshot>> consumer) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, StrategyMetrics.Snapshot> previous = new ConcurrentHashMap<>();
+        for (StrategyMetrics.Snapshot snapshot : snapshot()) {
+            previous.put(snapshot.getName(), snapshot);
+        }
+        ScheduledFuture<?> schedule = timer.scheduleAtFixedRate(() -> {
+            List<StrategyMetrics.Snapshot> report = new ArrayList<>();
+            for (StrategyMetrics.Snapshot snapshot : snapshot()) {
+                StrategyMetrics.Snapshot earlier = previous.put(snapshot.getName(), snapshot);
+                report.add(earlier == null ? snapshot : snapshot.since(earlier));
+            }
+            consumer.accept(report);
+        }, period, period, unit);
+        // The thread goes away with the schedule
+        timer.shutdown();
+        return schedule;
+    }
+
+    /**
+     * Plays a mixed lineup on every core, metered, printing the rates once a second.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        MetricsRegistry registry = global();
+        String[] names = {"Fifteen", "Wimp", "Odd", "Random"};
+        Strategy[] seats = {Strategies.fifteen(15), Strategies.wimp(), Strategies.odd(), Strategies.randomPlayer()};
+        StrategyMetrics[] metrics = new StrategyMetrics[names.length];
+        for (int s = 0; s < names.length; s++) {
+            metrics[s] = registry.register(names[s]);
+        }
+        ScheduledFuture<?> reporting = registry.startSnapshots(1, TimeUnit.SECONDS, report -> {
+            report.forEach(System.out::println);
+            System.out.println();
+        });
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = RacingScheduler.mix(11L, t);
+            Thread worker = new Thread(() -> {
+                GameListener meter = registry.meter(metrics);
+                SimRandom random = new SimRandom(seed);
+                int[] scores = new int[seats.length];
+                for (int game = 0; game < 300_000; game++) {
+                    HeadlessGame.play(seats, scores, random, meter);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        reporting.cancel(false);
+        System.out.println("Totals");
+        registry.snapshot().forEach(System.out::println);
+    }
+}
@@ -0,0 +1,141 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Optimal roll/hold advice for human players, read from the exact
+ * two-player table built by {@link TwoPlayerSolver}.
+ *
+ * The table is loaded once, on a background thread, the first time a
+ * human player is created: from {@link #TABLE_FILE} if a valid copy is
+ * there, otherwise it is solved and saved for next time. Until it is
+ * ready {@link #lookup} returns null, so the event dispatch thread never
+ * waits for it; afterwards a lookup is two array reads.
+ */
+public final class MoveHints {
+    /** File caching the solved table between runs. */
+    static final Path TABLE_FILE = Paths.get(System.getProperty("user.home"), ".bulldog-hints");
+
+    private static volatile QPolicy table;
+    private static boolean loading;
+
+    private MoveHints() {
+    }
+
+    /**
+     * Starts loading the table in the background if that has not happened yet.
+     */
+    public static synchronized void preload() {
+        if (loading) {
+            return;
+        }
+        loading = true;
+        Thread loader = new Thread(MoveHints::load, "move-hints");
+        loader.setDaemon(true);
+        loader.setPriority(Thread.MIN_PRIORITY);
+        loader.start();
+    }
+
+    private static void load() {
+        QPolicy policy = null;
+        if (Files.isRegularFile(TABLE_FILE)) {
+            try {
+                policy = QPolicy.load(TABLE_FILE);
+            } catch (IOException e) {
+                // A damaged or outdated cache is simply rebuilt
+            }
+        }
+        if (policy == null) {
+            policy = TwoPlayerSolver.solve();
+            try {
+                policy.save(TABLE_FILE);
+            } catch (IOException e) {
+                // Hints still work for this run without the cache
+            }
+        }
+        table = policy;
+    }
+
+    /**
+     * @return true once lookups return hints
+     */
+    public static boolean isReady() {
+        return table != null;
+    }
+
+    /**
+     * Looks up the advice for a decision.
+     *
+     * @param scores The banked scores of every seat
+     * @param seat The deciding player's seat
+     * @param turnScore The points accumulated so far this turn
+     * @return The advice, or null while the table is still loading
+     */
+    public static Hint lookup(int[] scores, int seat, int turnScore) {
+        QPolicy policy = table;
+        if (policy == null) {
+            return null;
+        }
+        int own = scores[seat];
+        int opponent = QPolicy.bestOpponent(scores, seat);
+        float[] values = policy.getValues();
+        if (own + turnScore >= QPolicy.SCORES) {
+            // Holding wins outright; rolling wins unless a six hands the turn over
+            float afterSix = 1.0f - values[QPolicy.index(opponent, own, 0) + QPolicy.ROLL];
+            return new Hint(1.0f, (HeadlessGame.SIDES - 1 + afterSix) / HeadlessGame.SIDES, true);
+        }
+        int index = QPolicy.index(own, opponent, turnScore);
+        return new Hint(values[index + QPolicy.HOLD], values[index + QPolicy.ROLL], turnScore > 0);
+    }
+
+    /**
+     * The win probabilities of the two choices at one decision.
+     */
+    public static final class Hint {
+        private final float holdChance;
+        private final float rollChance;
+        private final boolean canHold;
+
+        Hint(float holdChance, float rollChance, boolean canHold) {
+            this.holdChance = holdChance;
+            this.rollChance = rollChance;
+            this.canHold = canHold;
+        }
+
+        /**
+         * @return true if rolling is the optimal choice (always, before the first roll)
+         */
+        public boolean shouldRoll() {
+            return !canHold || rollChance > holdChance;
+        }
+
+        /**
+         * @return The chance of winning after holding; meaningless before the first roll
+         */
+        public float getHoldChance() {
+            return holdChance;
+        }
+
+        /**
+         * @return The chance of winning after rolling and then playing optimally
+         */
+        public float getRollChance() {
+            return rollChance;
+        }
+
+        /**
+         * @return Roll chance minus hold chance, or 0 before the first roll
+         */
+        public float getDelta() {
+            return canHold ? rollChance - holdChance : 0.0f;
+        }
+
+        /**
+         * @return true once the turn has a score that can be banked
+         */
+        public boolean canHold() {
+            return canHold;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * A roll/hold policy for one seat count, solved by {@link MultiPlayerSolver}.
+ *
+ * The table holds one hold threshold per (own score, opponent scores)
+ * state: the player keeps rolling while its turn total is below the
+ * threshold. Opponent scores are bucketed and sorted, so every ordering
+ * of the same opponent scores shares one entry, and each entry is a
+ * single byte.
+ */
+public class MultiPlayerPolicy implements Strategy {
+    /** The magic number at the start of a saved policy ("BDP1"). */
+    public static final int MAGIC = 0x42445031;
+
+    private final int seats;
+    private final int bucketWidth;
+    private final byte[] thresholds;
+    private final ThreadLocal<int[]> scratch;
+
+    /**
+     * Creates a policy over a threshold table.
+     *
+     * @param seats The seat count the table was solved for
+     * @param bucketWidth The width of an opponent score bucket
+     * @param thresholds The thresholds, indexed by {@link MultiPlayerSolver#rank} times
+     *                   {@link BulldogGame#WINNING_SCORE} plus own score
+     * @throws IllegalArgumentException if the table has the wrong size
+     */
+    public MultiPlayerPolicy(int seats, int bucketWidth, byte[] thresholds) {
+        int rows = MultiPlayerSolver.rowCount(seats - 1, MultiPlayerSolver.buckets(bucketWidth));
+        if ((long) rows * BulldogGame.WINNING_SCORE != thresholds.length) {
+            throw new IllegalArgumentException("Threshold table does not match " + seats + " seats");
+        }
+        this.seats = seats;
+        this.bucketWidth = bucketWidth;
+        this.thresholds = thresholds;
+        this.scratch = ThreadLocal.withInitial(() -> new int[seats - 1]);
+    }
+
+    @Override
+    public boolean shouldRoll(int[] scores, int seat, int turnScore, int lastRoll, RandomGenerator random) {
+        if (scores.length != seats) {
+            throw new IllegalArgumentException("Policy was solved for " + seats + " seats, not " + scores.length);
+        }
+        int own = scores[seat];
+        if (own + turnScore >= BulldogGame.WINNING_SCORE) {
+            return false;
+        }
+        return turnScore < threshold(scores, seat);
+    }
+
+    /**
+     * Returns the hold threshold for a seat at the start of its turn.
+     *
+     * @param scores The banked scores of every seat
+     * @param seat The deciding seat
+     * @return The turn total at which the seat holds
+     */
+    public int threshold(int[] scores, int seat) {
+        int[] opponents = scratch.get();
+        int k = 0;
+        for (int s = 0; s < scores.length; s++) {
+            if (s != seat) {
+                int bucket = Math.min(scores[s], BulldogGame.WINNING_SCORE - 1) / bucketWidth;
+                // Insertion sort; there are at most six opponents
+                int i = k++;
+                while (i > 0 && opponents[i - 1] > bucket) {
+                    opponents[i] = opponents[i - 1];
+                    i--;
+                }
+                opponents[i] = bucket;
+            }
+        }
+        int row = MultiPlayerSolver.rank(opponents, k);
+        return thresholds[row * BulldogGame.WINNING_SCORE + scores[seat]] & 0xFF;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * @return The size of the table in bytes
+     */
+    public int getTableBytes() {
+        return thresholds.length;
+    }
+
+    /**
+     * Writes the policy to a file.
+     *
+     * @param file The destination
+     * @throws IOException if writing fails
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(16);
+        header.putInt(MAGIC).putInt(seats).putInt(bucketWidth).putInt(thresholds.length).flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer body = ByteBuffer.wrap(thresholds);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+    /**
+     * Reads a policy written by {@link #save}.
+     *
+     * @param file The source
+     * @return The policy
+     * @throws IOException if the file cannot be read or is not a policy
+     */
+    public static MultiPlayerPolicy load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            header.flip();
+            if (header.remaining() < 16 || header.getInt() != MAGIC) {
+                throw new IOException("Not a policy file: " + file);
+            }
+            int seats = header.getInt();
+            int bucketWidth = header.getInt();
+            int length = header.getInt();
+            if (seats < 2 || seats > 7 || bucketWidth < 1 || length != channel.size() - 16) {
+                throw new IOException("Corrupt policy file: " + file);
+            }
+            byte[] thresholds = new byte[length];
+            ByteBuffer body = ByteBuffer.wrap(thresholds);
+            while (body.hasRemaining() && channel.read(body) >= 0) {
+            }
+            try {
+                return new MultiPlayerPolicy(seats, bucketWidth, thresholds);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt policy file: " + file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,503 @@
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves Bulldog for 2-7 seats: the roll/hold policy that maximizes one
+ * player's chance of winning against opponents who play a fixed rule.
+ *
+ * The opponents' rule must not look at the scores, which holds for every
+ * built-in player. Their turns are then independent of one another, and
+ * the deciding player's chance of winning depends only on the multiset
+ * of opponent scores, not on the order in which they sit: if any of them
+ * reaches {@link BulldogGame#WINNING_SCORE} first the player has lost,
+ * whoever it was. States are therefore (own score, sorted opponent
+ * scores), which shrinks the table by up to 6! = 720 for seven seats.
+ *
+ * For many seats even the sorted table is too large, so opponent scores
+ * can be grouped into buckets of several points. An opponent's position
+ * within its bucket is taken to be the bucket's middle, and moves between
+ * buckets are split between the two nearest buckets so that the expected
+ * gain is preserved. With a bucket width of one there is no such
+ * approximation, and the solution is exact when the opponents play a
+ * fixed rule given by name, whose turn-score distribution
+ * {@link MarkovAnalyzer#turnDistribution} computes exactly. Any other
+ * opponent strategy has its distribution estimated from
+ * {@value #TURN_SAMPLES} simulated turns, and that noise (about 1e-4
+ * relative per score) carries into every value in the table.
+ *
+ * Scores only grow, so the table can be filled in one sweep from the
+ * highest opponent total down; all rows with the same total are
+ * independent and are solved in parallel. A row only depends on itself
+ * when every opponent scores nothing, and that fixed point is solved
+ * exactly inside the row. The result is compressed to a one-byte hold
+ * threshold per state.
+ */
+public class MultiPlayerSolver {
+    private static final int WIN = BulldogGame.WINNING_SCORE;
+
+    /** Turns simulated to estimate the opponents' turn-score distribution. */
+    private static final int TURN_SAMPLES = 4_000_000;
+
+    /** Rows solved by one leaf task. */
+    private static final int ROWS_PER_TASK = 32;
+
+    /** Binomial coefficients for ranking sorted opponent tuples. */
+    private static final long[][] BINOMIAL = new long[WIN + 8][8];
+
+    static {
+        for (int n = 0; n < BINOMIAL.length; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int r = 1; r < 8 && r <= n; r++) {
+                BINOMIAL[n][r] = BINOMIAL[n - 1][r - 1] + (r <= n - 1 ? BINOMIAL[n - 1][r] : 0);
+            }
+        }
+    }
+
+    private final int seats;
+    private final int opponents;
+    private final int bucketWidth;
+    private final int buckets;
+    private final int rows;
+    private final int[][] nextBucket;
+    private final double[][] nextProbability;
+    private int[] tuples;
+    private float[] values;
+    private byte[] thresholds;
+    private ThreadLocal<Scratch> scratch;
+    private double startValue;
+
+    /**
+     * Prepares a solver against a fixed rule, with the opponents'
+     * turn-score distribution computed exactly.
+     *
+     * @param seats The number of seats, 2-7
+     * @param bucketWidth The width of an opponent score bucket (1 for no bucketing)
+     * @param opponentSpec The rule every opponent plays, in {@link Strategies#parse} form;
+     *                     only the forms {@link MarkovAnalyzer#turnDistribution} accepts
+     * @throws IllegalArgumentException if the rule is not a fixed rule, the seat count is
+     *         out of range or the table would be too large
+     */
+    public MultiPlayerSolver(int seats, int bucketWidth, String opponentSpec) {
+        this(seats, bucketWidth, MarkovAnalyzer.turnDistribution(opponentSpec));
+    }
+
+    /**
+     * Prepares a solver against any strategy that ignores the scores, with
+     * the opponents' turn-score distribution estimated by simulation.
+     *
+     * @param seats The number of seats, 2-7
+     * @param bucketWidth The width of an opponent score bucket (1 for no bucketing)
+     * @param opponentModel The rule every opponent plays; it must ignore the scores
+     * @param seed The seed for sampling the opponents' turns
+     * @throws IllegalArgumentException if the seat count is out of range or the table would be too large
+     */
+    public MultiPlayerSolver(int seats, int bucketWidth, Strategy opponentModel, long seed) {
+        this(seats, bucketWidth, sampleTurns(opponentModel, seed));
+    }
+
+    /**
+     * Estimates how far one opponent moves in a turn.
+     */
+    private static double[] sampleTurns(Strategy opponentModel, long seed) {
+        double[] gains = new double[WIN + 1];
+        int[] table = new int[1];
+        SimRandom random = new SimRandom(seed);
+        for (int i = 0; i < TURN_SAMPLES; i++) {
+            gains[Math.min(HeadlessGame.playTurn(opponentModel, table, 0, random), WIN)] += 1.0 / TURN_SAMPLES;
+        }
+        return gains;
+    }
+
+    /**
+     * @param gains The chance of an opponent scoring each number of points in a turn,
+     *              with the last entry for the target or more
+     */
+    private MultiPlayerSolver(int seats, int bucketWidth, double[] gains) {
+        if (seats < 2 || seats > 7) {
+            throw new IllegalArgumentException("Bulldog is played by 2-7 players");
+        }
+        if (bucketWidth < 1) {
+            throw new IllegalArgumentException("Bucket width must be at least 1");
+        }
+        this.seats = seats;
+        this.opponents = seats - 1;
+        this.bucketWidth = bucketWidth;
+        this.buckets = buckets(bucketWidth);
+        long rowCount = BINOMIAL[buckets + opponents - 1][opponents];
+        if (rowCount * WIN > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException(String.format(
+                "%,d states for %d seats is too many; use wider buckets", rowCount * WIN, seats));
+        }
+        this.rows = (int) rowCount;
+
+        // How far one opponent moves in a turn, from any bucket
+        nextBucket = new int[buckets][];
+        nextProbability = new double[buckets][];
+        double offset = (bucketWidth - 1) / 2.0;
+        for (int b = 0; b < buckets; b++) {
+            double[] dense = new double[buckets];
+            for (int g = 0; g <= WIN; g++) {
+                double x = b * bucketWidth + offset + g;
+                if (gains[g] == 0.0 || x >= WIN) {
+                    continue;
+                }
+                double y = (x - offset) / bucketWidth;
+                int low = (int) y;
+                double fraction = y - low;
+                if (low + 1 >= buckets) {
+                    dense[buckets - 1] += gains[g];
+                } else {
+                    dense[low] += gains[g] * (1.0 - fraction);
+                    dense[low + 1] += gains[g] * fraction;
+                }
+            }
+            int count = 0;
+            for (double p : dense) {
+                if (p > 0.0) {
+                    count++;
+                }
+            }
+            nextBucket[b] = new int[count];
+            nextProbability[b] = new double[count];
+            for (int c = 0, n = 0; c < buckets; c++) {
+                if (dense[c] > 0.0) {
+                    nextBucket[b][n] = c;
+                    nextProbability[b][n++] = dense[c];
+                }
+            }
+        }
+    }
+
+    /**
+     * @param bucketWidth The width of a score bucket
+     * @return The number of buckets covering scores below the target
+     */
+    static int buckets(int bucketWidth) {
+        return (WIN + bucketWidth - 1) / bucketWidth;
+    }
+
+    /**
+     * @param opponents The number of opponents
+     * @param buckets The number of score buckets
+     * @return The number of sorted opponent tuples
+     */
+    static int rowCount(int opponents, int buckets) {
+        return (int) BINOMIAL[buckets + opponents - 1][opponents];
+    }
+
+    /**
+     * Ranks a sorted tuple of opponent buckets among all sorted tuples of
+     * its length, using the combinatorial number system.
+     *
+     * @param sorted The buckets in ascending order
+     * @param count The number of opponents
+     * @return The row index of the tuple
+     */
+    static int rank(int[] sorted, int count) {
+        long rank = 0;
+        for (int i = 0; i < count; i++) {
+            rank += BINOMIAL[sorted[i] + i][i + 1];
+        }
+        return (int) rank;
+    }
+
+    /**
+     * Per-thread buffers for solving rows.
+     */
+    private final class Scratch {
+        final double[] reach = new double[rows];
+        final int[] touched = new int[rows];
+        final int[] tuple = new int[opponents];
+        final int[] sorted = new int[opponents];
+        final double[] otherValue = new double[WIN];
+        final double[] value = new double[WIN];
+        final double[] alpha = new double[WIN + HeadlessGame.SIDES];
+        final double[] beta = new double[WIN + HeadlessGame.SIDES];
+        int touchedCount;
+    }
+
+    /**
+     * Solves the whole table, printing memory use and sweep times.
+     *
+     * @param pool The pool the rows are solved on
+     * @return The policy
+     */
+    public MultiPlayerPolicy solve(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        values = new float[rows * WIN];
+        thresholds = new byte[rows * WIN];
+        scratch = ThreadLocal.withInitial(Scratch::new);
+
+        // Enumerate the sorted tuples and group their rows by opponent total
+        tuples = new int[Math.max(1, rows * opponents)];
+        int maxTotal = opponents * (buckets - 1);
+        int[] levelStart = new int[maxTotal + 2];
+        int[] tuple = new int[opponents];
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(tuple, 0, tuples, row * opponents, opponents);
+            int total = 0;
+            for (int b : tuple) {
+                total += b;
+            }
+            levelStart[total + 1]++;
+            // Next sorted tuple in rank order: increment the first digit that may grow
+            for (int i = 0; i < opponents; i++) {
+                int limit = i + 1 < opponents ? tuple[i + 1] : buckets - 1;
+                if (tuple[i] < limit) {
+                    tuple[i]++;
+                    for (int j = 0; j < i; j++) {
+                        tuple[j] = 0;
+                    }
+                    break;
+                }
+            }
+        }
+        for (int t = 1; t < levelStart.length; t++) {
+            levelStart[t] += levelStart[t - 1];
+        }
+        int[] byLevel = new int[rows];
+        int[] fill = levelStart.clone();
+        for (int row = 0; row < rows; row++) {
+            int total = 0;
+            for (int i = 0; i < opponents; i++) {
+                total += tuples[row * opponents + i];
+            }
+            byLevel[fill[total]++] = row;
+        }
+
+        long memory = (long) values.length * Float.BYTES + thresholds.length + (long) tuples.length * Integer.BYTES
+            + (long) pool.getParallelism() * ((long) rows * (Double.BYTES + Integer.BYTES));
+        System.out.printf("%d seats, bucket width %d: %,d rows x %d own scores = %,d states, %.1f MB working set%n",
+            seats, bucketWidth, rows, WIN, (long) rows * WIN, memory / 1e6);
+
+        int reportEvery = Math.max(1, (maxTotal + 1) / 8);
+        long sweepStart = System.nanoTime();
+        int sweepRows = 0;
+        int upper = maxTotal;
+        for (int level = maxTotal; level >= 0; level--) {
+            int from = levelStart[level];
+            int to = levelStart[level + 1];
+            pool.invoke(new RowTask(byLevel, from, to));
+            sweepRows += to - from;
+            if (level % reportEvery == 0) {
+                long now = System.nanoTime();
+                System.out.printf("  opponent totals %3d-%3d: %,9d rows in %,7.1f ms%n",
+                    level, upper, sweepRows, (now - sweepStart) / 1e6);
+                sweepStart = now;
+                sweepRows = 0;
+                upper = level - 1;
+            }
+        }
+        startValue = values[0];
+        System.out.printf("Solved in %.2f s; first seat wins %.4f when everyone starts at zero%n",
+            (System.nanoTime() - start) / 1e9, startValue);
+
+        // Keep only the compressed policy
+        MultiPlayerPolicy policy = new MultiPlayerPolicy(seats, bucketWidth, thresholds);
+        System.out.printf("Policy table: %,d bytes (values were %,d bytes)%n",
+            policy.getTableBytes(), (long) values.length * Float.BYTES);
+        values = null;
+        tuples = null;
+        scratch = null;
+        return policy;
+    }
+
+    /**
+     * @return The solved chance of winning from the first seat with every score at zero
+     */
+    public double getStartValue() {
+        return startValue;
+    }
+
+    /**
+     * Solves a range of rows of one level, splitting so idle workers can steal.
+     */
+    private class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] order;
+        private final int from;
+        private final int to;
+
+        RowTask(int[] order, int from, int to) {
+            this.order = order;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowTask(order, from, mid), new RowTask(order, mid, to));
+                return;
+            }
+            Scratch s = scratch.get();
+            for (int i = from; i < to; i++) {
+                solveRow(order[i], s);
+            }
+        }
+    }
+
+    /**
+     * Solves every own score for one tuple of opponent buckets.
+     */
+    private void solveRow(int row, Scratch s) {
+        // Where the opponents can be after one round in which none of them wins
+        s.touchedCount = 0;
+        spread(row * opponents, 0, 1.0, s);
+        double stay = s.reach[row];
+        double[] other = s.otherValue;
+        Arrays.fill(other, 0.0);
+        for (int n = 0; n < s.touchedCount; n++) {
+            int next = s.touched[n];
+            double p = s.reach[next];
+            s.reach[next] = 0.0;
+            if (next == row) {
+                continue;
+            }
+            int base = next * WIN;
+            for (int m = 0; m < WIN; m++) {
+                other[m] += p * values[base + m];
+            }
+        }
+
+        // value[m] is the chance of winning after banking to m, before the opponents move
+        int base = row * WIN;
+        for (int own = WIN - 1; own >= 0; own--) {
+            int maxTurn = WIN - 1 - own;
+            double v = own + 1 < WIN ? values[base + own + 1] : 0.5;
+            int threshold = maxTurn + 1;
+            for (int iteration = 0; iteration < 50; iteration++) {
+                // Turn totals as value = alpha + beta * (value of busting), best action first
+                double bust = other[own] + stay * v;
+                for (int t = maxTurn + 1; t < maxTurn + HeadlessGame.SIDES; t++) {
+                    s.alpha[t] = 1.0;
+                    s.beta[t] = 0.0;
+                }
+                threshold = maxTurn + 1;
+                for (int t = maxTurn; t >= 1; t--) {
+                    double rollAlpha = 0.0;
+                    double rollBeta = 1.0;
+                    for (int face = 1; face < HeadlessGame.SIDES; face++) {
+                        rollAlpha += s.alpha[t + face];
+                        rollBeta += s.beta[t + face];
+                    }
+                    rollAlpha /= HeadlessGame.SIDES;
+                    rollBeta /= HeadlessGame.SIDES;
+                    double hold = s.value[own + t];
+                    if (hold >= rollAlpha + rollBeta * bust) {
+                        s.alpha[t] = hold;
+                        s.beta[t] = 0.0;
+                        threshold = t;
+                    } else {
+                        s.alpha[t] = rollAlpha;
+                        s.beta[t] = rollBeta;
+                    }
+                }
+                double startAlpha = 0.0;
+                double startBeta = 1.0;
+                for (int face = 1; face < HeadlessGame.SIDES; face++) {
+                    startAlpha += s.alpha[face];
+                    startBeta += s.beta[face];
+                }
+                startAlpha /= HeadlessGame.SIDES;
+                startBeta /= HeadlessGame.SIDES;
+                // v = startAlpha + startBeta * (other + stay * v), solved for v
+                double next = (startAlpha + startBeta * other[own]) / (1.0 - startBeta * stay);
+                boolean settled = Math.abs(next - v) < 1e-12;
+                v = next;
+                if (settled) {
+                    break;
+                }
+            }
+            values[base + own] = (float) v;
+            thresholds[base + own] = (byte) threshold;
+            s.value[own] = other[own] + stay * v;
+        }
+    }
+
+    /**
+     * Accumulates the probability of every sorted opponent tuple reachable
+     * in one round without an opponent winning.
+     */
+    private void spread(int tupleBase, int opponent, double probability, Scratch s) {
+        if (opponent == opponents) {
+            int[] sorted = s.sorted;
+            for (int i = 0; i < opponents; i++) {
+                int bucket = s.tuple[i];
+                int j = i;
+                while (j > 0 && sorted[j - 1] > bucket) {
+                    sorted[j] = sorted[j - 1];
+                    j--;
+                }
+                sorted[j] = bucket;
+            }
+            int next = rank(sorted, opponents);
+            if (s.reach[next] == 0.0) {
+                s.touched[s.touchedCount++] = next;
+            }
+            s.reach[next] += probability;
+            return;
+        }
+        int bucket = tuples[tupleBase + opponent];
+        int[] targets = nextBucket[bucket];
+        double[] chances = nextProbability[bucket];
+        for (int i = 0; i < targets.length; i++) {
+            s.tuple[opponent] = targets[i];
+            spread(tupleBase, opponent + 1, probability * chances[i], s);
+        }
+    }
+
+    /**
+     * Solves a seat count against an opponent rule, checks the policy by
+     * simulation, and optionally saves it.
+     *
+     * Usage: java MultiPlayerSolver [seats] [bucket-width] [opponent-strategy] [policy-file]
+     */
+    public static void main(String[] args) throws Exception {
+        int seats = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int width = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String model = args.length > 2 ? args[2] : "fifteen";
+        Strategy opponent = Strategies.parse(model);
+        // Fixed rules get their exact turn distribution; anything else is sampled
+        boolean fixedRule;
+        try {
+            MarkovAnalyzer.turnDistribution(model);
+            fixedRule = true;
+        } catch (IllegalArgumentException e) {
+            fixedRule = false;
+        }
+        MultiPlayerSolver solver = fixedRule ? new MultiPlayerSolver(seats, width, model)
+            : new MultiPlayerSolver(seats, width, opponent, 2024L);
+        MultiPlayerPolicy policy = solver.solve(ForkJoinPool.commonPool());
+
+        Strategy[] lineup = new Strategy[seats];
+        Arrays.fill(lineup, opponent);
+        lineup[0] = policy;
+        SimRandom random = new SimRandom(7L);
+        int[] scores = new int[seats];
+        int games = 200_000;
+        long wins = 0;
+        long ruleWins = 0;
+        for (int game = 0; game < games; game++) {
+            lineup[0] = policy;
+            if (HeadlessGame.play(lineup, scores, random) == 0) {
+                wins++;
+            }
+            lineup[0] = opponent;
+            if (HeadlessGame.play(lineup, scores, random) == 0) {
+                ruleWins++;
+            }
+        }
+        System.out.printf("Seat 0 against %d x %s: policy wins %.4f (solver predicted %.4f), %s itself wins %.4f%n",
+            seats - 1, model, (double) wins / games, solver.getStartValue(), model, (double) ruleWins / games);
+
+        if (args.length > 3) {
+            policy.save(Path.of(args[3]));
+            System.out.println("Saved policy to " + args[3]);
+        }
+    }
+}
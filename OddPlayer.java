@@ -1,5 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -41,6 +42,15 @@ public class OddPlayer extends Player {
     
     /** Flag to control the continuation of the player's turn. */
     private boolean continueTurn;
+    
+    /** Flight recorder event timing the current turn. */
+    private FlightEvents.Turn turnEvent;
+    
+    /** Throughput measurement of the current turn. */
+    private StrategyMetrics.Turn metricsTurn;
+    
+    /** Rolls made so far this turn. */
+    private int rolls;
 
     /**
      * Creates a default OddPlayer with the name "Bold".
@@ -59,6 +69,25 @@ public class OddPlayer extends Player {
         /** Create a six-sided die */
         die = new Dice(6);
         initializePanel();
+        
+        // One timer paces every roll of every turn
+        delayTimer = new Timer(500, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                continuePlay();
+            }
+        });
+        delayTimer.setRepeats(false);
+    }
+
+    /**
+     * Makes this player's die draw from the given generator.
+     * 
+     * @param random the generator for all of this player's rolls
+     */
+    @Override
+    public void setRandom(Random random) {
+        die.setRandom(random);
     }
 
     /**
@@ -97,18 +126,17 @@ public class OddPlayer extends Player {
     public int play() {
         turnScore = 0;
         continueTurn = true;
+        rolls = 0;
         gameLog.setText("");
         
         logMessage(getName() + " is starting their turn.");
+        turnEvent = FlightEvents.beginTurn(this, "Odd");
+        metricsTurn = MetricsRegistry.global().register("Odd").beginTurn();
+        // The rolls run on the Event Dispatch Thread, which measures each one
+        metricsTurn.pause();
         
         // Begin the rolling sequence with a timer for delay
-        delayTimer = new Timer(500, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                continuePlay();
-            }
-        });
-        delayTimer.setRepeats(false);
+        delayTimer.setInitialDelay(500);
         delayTimer.start();
         
         // Wait until the turn is complete
@@ -116,7 +144,9 @@ public class OddPlayer extends Player {
             try {
                 Thread.sleep(100);
             } catch (InterruptedException e) {
+                // The game was abandoned; stop waiting for the turn
                 Thread.currentThread().interrupt();
+                break;
             }
         }
         
@@ -134,8 +164,10 @@ public class OddPlayer extends Player {
      * - Continues rolling if an odd number is rolled
      */
     private void continuePlay() {
+        metricsTurn.resume();
         // Roll the die
         int roll = die.roll();
+        rolls++;
         
         // Log the roll
         logMessage(getName() + " rolled a " + roll);
@@ -143,6 +175,8 @@ public class OddPlayer extends Player {
         // Check if rolled a 6
         if (roll == 6) {
             logMessage("Oh no! Rolled a 6. Turn ends with 0 points.");
+            FlightEvents.endTurn(turnEvent, 0, rolls, turnScore);
+            metricsTurn.end(rolls, true);
             turnScore = 0;
             continueTurn = false;
             return;
@@ -153,11 +187,17 @@ public class OddPlayer extends Player {
         logMessage("Turn score is now: " + turnScore);
         
         // Check if rolled an even number (2 or 4)
-        if (roll % 2 == 0) {
+        FlightEvents.Decision decision = FlightEvents.beginDecision();
+        boolean rollAgain = roll % 2 != 0;
+        FlightEvents.endDecision(decision, this, "Odd", turnScore, rollAgain);
+        if (!rollAgain) {
             logMessage("Rolled an even number (" + roll + "). Stopping with " + turnScore + " points.");
+            FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+            metricsTurn.end(rolls, false);
             continueTurn = false;
         } else {
             logMessage("Rolled an odd number (" + roll + "). Rolling again...");
+            metricsTurn.pause();
             delayTimer.setInitialDelay(500);
             delayTimer.start();
         }
@@ -1,5 +1,8 @@
 import javax.swing.*;
 import java.awt.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Random;
 
 /**
  * Represents a generic player in a dice game.
@@ -9,6 +12,14 @@ import java.awt.*;
  * It manages basic player information such as name, score, 
  * and a graphical user interface panel.
  * 
+ * The score is written by the game thread and read by the scoreboard on
+ * the event dispatch thread, so it is kept in a single long together
+ * with a version number that every change increments. Writes publish
+ * with release semantics and reads use acquire semantics, so a reader
+ * always sees a complete, current value, and {@link #getScoreStamp()}
+ * lets observers tell cheaply whether anything changed since they last
+ * looked.
+ * 
  * @author Unknown
  * @version 1.0
  * @since Summer 2024
@@ -17,8 +28,18 @@ public class Player {
     /** The name of the player. */
     private String name;
 
-    /** The current score of the player. */
-    private int score;
+    /** The score in the low 32 bits and its version in the high 32 bits; accessed through SCORE_STAMP. */
+    private long scoreStamp;
+
+    private static final VarHandle SCORE_STAMP;
+
+    static {
+        try {
+            SCORE_STAMP = MethodHandles.lookup().findVarHandle(Player.class, "scoreStamp", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     /** The graphical panel associated with this player. */
     private JPanel playerFrame;
@@ -35,7 +56,7 @@ public class Player {
      */
     public Player(String name) {
         this.name = name;
-        this.score = 0;
+        SCORE_STAMP.setRelease(this, 0L);
         this.playerFrame = new JPanel();
     }
 
@@ -63,7 +84,7 @@ public class Player {
      * @return the current score of the player
      */
     public int getScore() {
-        return score;
+        return scoreOf((long) SCORE_STAMP.getAcquire(this));
     }
 
     /**
@@ -72,7 +93,57 @@ public class Player {
      * @param score the new score for the player
      */
     public void setScore(int score) {
-        this.score = score;
+        long stamp;
+        do {
+            stamp = (long) SCORE_STAMP.getAcquire(this);
+        } while (!SCORE_STAMP.weakCompareAndSetRelease(this, stamp, stamp(versionOf(stamp) + 1, score)));
+    }
+
+    /**
+     * Atomically adds a turn's points to the player's score.
+     * 
+     * @param points the points to add
+     * @return the new score
+     */
+    public int addScore(int points) {
+        long stamp;
+        int score;
+        do {
+            stamp = (long) SCORE_STAMP.getAcquire(this);
+            score = scoreOf(stamp) + points;
+        } while (!SCORE_STAMP.weakCompareAndSetRelease(this, stamp, stamp(versionOf(stamp) + 1, score)));
+        return score;
+    }
+
+    /**
+     * Reads the score together with its version in one atomic read. An
+     * observer that keeps the last stamp it rendered can skip redrawing
+     * when the new stamp is equal.
+     * 
+     * @return the stamp; see {@link #scoreOf(long)} and {@link #versionOf(long)}
+     */
+    public long getScoreStamp() {
+        return (long) SCORE_STAMP.getAcquire(this);
+    }
+
+    /**
+     * @param stamp a stamp from {@link #getScoreStamp()}
+     * @return the score it holds
+     */
+    public static int scoreOf(long stamp) {
+        return (int) stamp;
+    }
+
+    /**
+     * @param stamp a stamp from {@link #getScoreStamp()}
+     * @return the number of score changes before it was taken (wrapping after 2^32)
+     */
+    public static int versionOf(long stamp) {
+        return (int) (stamp >>> 32);
+    }
+
+    private static long stamp(int version, int score) {
+        return ((long) version << 32) | (score & 0xFFFFFFFFL);
     }
 
     /**
@@ -105,4 +176,17 @@ public class Player {
     public int play() {
         return 0;
     }
+
+    /**
+     * Sets the random number generator used by this player's dice.
+     * 
+     * The game calls this with one seeded generator shared by every
+     * player so that the whole game can be reproduced from its seed.
+     * The base implementation does nothing, since a plain Player has
+     * no dice.
+     * 
+     * @param random the generator for all of this player's rolls
+     */
+    public void setRandom(Random random) {
+    }
 }
\ No newline at end of file
@@ -1,18 +1,47 @@
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Manages the collection of players for the Bulldog Dice Game.
  * Provides methods to add players, retrieve player information,
  * and update player scores.
+ * 
+ * The players are held as an immutable list behind an atomic reference.
+ * Every change builds a new list and swaps it in with compare-and-set,
+ * so the game thread, the event dispatch thread and statistics observers
+ * can all use the manager at once without locks. Reads see one complete
+ * list, and {@link #getPlayers()} hands that list out without copying.
+ * Code that reads several times, such as a game loop, should take one
+ * snapshot and use it throughout, so a concurrent change cannot shift
+ * indexes under it.
  */
 public class PlayerManager {
-    private ArrayList<Player> players;
+    private final AtomicReference<List<Player>> players;
     
     /**
      * Constructs a new PlayerManager with an empty players list.
      */
     public PlayerManager() {
-        players = new ArrayList<>();
+        players = new AtomicReference<>(List.of());
+    }
+    
+    /**
+     * Replaces the player list with a changed copy, retrying if another
+     * thread changed it in the meantime.
+     * 
+     * @param change Builds the new list from a mutable copy of the current one
+     * @return The list that was replaced
+     */
+    private List<Player> update(UnaryOperator<ArrayList<Player>> change) {
+        while (true) {
+            List<Player> current = players.get();
+            List<Player> next = List.copyOf(change.apply(new ArrayList<>(current)));
+            if (players.compareAndSet(current, next)) {
+                return current;
+            }
+        }
     }
     
     /**
@@ -23,7 +52,11 @@ public class PlayerManager {
      */
     public boolean addPlayer(Player player) {
         if (player != null) {
-            return players.add(player);
+            update(list -> {
+                list.add(player);
+                return list;
+            });
+            return true;
         }
         return false;
     }
@@ -35,7 +68,10 @@ public class PlayerManager {
      * @return true if the player was removed successfully
      */
     public boolean removePlayer(Player player) {
-        return players.remove(player);
+        return update(list -> {
+            list.remove(player);
+            return list;
+        }).contains(player);
     }
     
     /**
@@ -46,7 +82,10 @@ public class PlayerManager {
      * @throws IndexOutOfBoundsException if the index is out of range
      */
     public Player removePlayerAt(int index) {
-        return players.remove(index);
+        return update(list -> {
+            list.remove(index);
+            return list;
+        }).get(index);
     }
     
     /**
@@ -57,7 +96,7 @@ public class PlayerManager {
      * @throws IndexOutOfBoundsException if the index is out of range
      */
     public String getPlayerName(int index) {
-        return players.get(index).getName();
+        return players.get().get(index).getName();
     }
     
     /**
@@ -68,7 +107,7 @@ public class PlayerManager {
      * @throws IndexOutOfBoundsException if the index is out of range
      */
     public void setPlayerScore(int index, int score) {
-        players.get(index).setScore(score);
+        players.get().get(index).setScore(score);
     }
     
     /**
@@ -79,7 +118,7 @@ public class PlayerManager {
      * @throws IndexOutOfBoundsException if the index is out of range
      */
     public int getPlayerScore(int index) {
-        return players.get(index).getScore();
+        return players.get().get(index).getScore();
     }
     
     /**
@@ -90,16 +129,25 @@ public class PlayerManager {
      * @throws IndexOutOfBoundsException if the index is out of range
      */
     public Player getPlayer(int index) {
-        return players.get(index);
+        return players.get().get(index);
+    }
+    
+    /**
+     * Gets the current players without copying them.
+     * 
+     * @return An immutable snapshot of the players, unaffected by later changes
+     */
+    public List<Player> getPlayers() {
+        return players.get();
     }
     
     /**
      * Gets all players in the collection.
      * 
-     * @return An ArrayList containing all Player objects
+     * @return A new ArrayList containing all Player objects, for callers that need a mutable copy
      */
     public ArrayList<Player> getAllPlayers() {
-        return new ArrayList<>(players);
+        return new ArrayList<>(players.get());
     }
     
     /**
@@ -108,7 +156,7 @@ public class PlayerManager {
      * @return The number of players
      */
     public int getPlayerCount() {
-        return players.size();
+        return players.get().size();
     }
     
     /**
@@ -118,13 +166,13 @@ public class PlayerManager {
      * @return true if the player exists in the collection
      */
     public boolean containsPlayer(Player player) {
-        return players.contains(player);
+        return players.get().contains(player);
     }
     
     /**
      * Clears all players from the collection.
      */
     public void clearPlayers() {
-        players.clear();
+        players.set(List.of());
     }
 }
\ No newline at end of file
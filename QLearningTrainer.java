@@ -0,0 +1,178 @@
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Learns a roll/hold policy by two-player self-play with Q-learning.
+ *
+ * The action values live in one flat float array shared by every worker
+ * thread. Workers read and write it without locks in the Hogwild style:
+ * an occasional lost update only adds a little noise, while avoiding all
+ * synchronization on the hot path. Values estimate the chance of winning
+ * from a state, so a win is rewarded with 1, a loss with 0, and no
+ * discounting is applied.
+ *
+ * Exploration is epsilon-greedy, with epsilon falling linearly from its
+ * start to its end value over each worker's share of the games.
+ */
+public class QLearningTrainer {
+    private final double alpha;
+    private final double epsilonStart;
+    private final double epsilonEnd;
+    private final long seed;
+    private final float[] values;
+    private double gamesPerSecond;
+
+    /**
+     * Creates a trainer with every action value at 0.5.
+     *
+     * @param alpha The learning rate
+     * @param epsilonStart The exploration rate at the start of training
+     * @param epsilonEnd The exploration rate at the end of training
+     * @param seed The base seed for the workers
+     * @throws IllegalArgumentException if a rate is outside [0, 1]
+     */
+    public QLearningTrainer(double alpha, double epsilonStart, double epsilonEnd, long seed) {
+        if (!(alpha > 0.0 && alpha <= 1.0)) {
+            throw new IllegalArgumentException("Alpha must be in (0, 1]");
+        }
+        if (!(epsilonStart >= 0.0 && epsilonStart <= 1.0 && epsilonEnd >= 0.0 && epsilonEnd <= 1.0)) {
+            throw new IllegalArgumentException("Epsilon must be in [0, 1]");
+        }
+        this.alpha = alpha;
+        this.epsilonStart = epsilonStart;
+        this.epsilonEnd = epsilonEnd;
+        this.seed = seed;
+        this.values = new float[QPolicy.size()];
+        Arrays.fill(values, 0.5f);
+    }
+
+    /**
+     * Trains for a number of self-play games. Training can be continued
+     * by calling this again; each call runs a full exploration schedule.
+     *
+     * @param workers The number of worker threads
+     * @param games The total number of games
+     * @return The policy, sharing the live table with the trainer
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public QPolicy train(int workers, long games) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(workers);
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            long share = games / workers + (w < games % workers ? 1 : 0);
+            SimRandom random = new SimRandom(RacingScheduler.mix(seed, w));
+            Thread worker = new Thread(() -> {
+                try {
+                    selfPlay(share, random);
+                } finally {
+                    done.countDown();
+                }
+            }, "q-learning-" + w);
+            worker.start();
+        }
+        done.await();
+        gamesPerSecond = games / ((System.nanoTime() - start) / 1e9);
+        return new QPolicy(values);
+    }
+
+    /**
+     * @return The training throughput of the last call to {@link #train}
+     */
+    public double getGamesPerSecond() {
+        return gamesPerSecond;
+    }
+
+    /**
+     * Plays self-play games, updating the shared table after every decision.
+     */
+    private void selfPlay(long games, SimRandom random) {
+        final float[] q = values;
+        final float a = (float) alpha;
+        final int win = QPolicy.SCORES;
+        int[] scores = new int[2];
+        int[] pending = new int[2];
+        for (long game = 0; game < games; game++) {
+            double epsilon = epsilonStart + (epsilonEnd - epsilonStart) * game / games;
+            scores[0] = 0;
+            scores[1] = 0;
+            pending[0] = -1;
+            pending[1] = -1;
+            int winner = -1;
+            for (int seat = 0; winner < 0; seat ^= 1) {
+                int own = scores[seat];
+                int opponent = scores[seat ^ 1];
+                int turnScore = 0;
+                while (true) {
+                    int roll = random.nextInt(HeadlessGame.SIDES) + 1;
+                    if (roll == HeadlessGame.SIDES) {
+                        turnScore = 0;
+                        break;
+                    }
+                    turnScore += roll;
+                    if (own + turnScore >= win) {
+                        break;
+                    }
+                    // Move the previous decision towards the value of this state
+                    int state = QPolicy.index(own, opponent, turnScore);
+                    float best = Math.max(q[state + QPolicy.HOLD], q[state + QPolicy.ROLL]);
+                    int previous = pending[seat];
+                    if (previous >= 0) {
+                        q[previous] += a * (best - q[previous]);
+                    }
+                    boolean rollAgain = random.nextDouble() < epsilon
+                        ? random.nextBoolean()
+                        : q[state + QPolicy.ROLL] > q[state + QPolicy.HOLD];
+                    pending[seat] = state + (rollAgain ? QPolicy.ROLL : QPolicy.HOLD);
+                    if (!rollAgain) {
+                        break;
+                    }
+                }
+                scores[seat] = own + turnScore;
+                if (scores[seat] >= win) {
+                    winner = seat;
+                }
+            }
+            for (int seat = 0; seat < 2; seat++) {
+                int previous = pending[seat];
+                if (previous >= 0) {
+                    q[previous] += a * ((seat == winner ? 1f : 0f) - q[previous]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trains a policy, reports throughput, and measures the policy against
+     * FifteenPlayer's rule with each side going first half of the time.
+     *
+     * Usage: java QLearningTrainer [games] [workers] [policy-file]
+     */
+    public static void main(String[] args) throws Exception {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        QLearningTrainer trainer = new QLearningTrainer(0.05, 0.2, 0.01, 2024L);
+        QPolicy policy = trainer.train(workers, games);
+        System.out.printf("Trained on %,d games: %,.0f games/s with %d worker(s)%n",
+            games, trainer.getGamesPerSecond(), workers);
+
+        Strategy fifteen = Strategies.fifteen(15);
+        SimRandom random = new SimRandom(7L);
+        int[] scores = new int[2];
+        int evaluation = 200_000;
+        long wins = 0;
+        for (int game = 0; game < evaluation; game++) {
+            int seat = game & 1;
+            Strategy[] lineup = seat == 0 ? new Strategy[] {policy, fifteen} : new Strategy[] {fifteen, policy};
+            if (HeadlessGame.play(lineup, scores, random) == seat) {
+                wins++;
+            }
+        }
+        System.out.printf("Learned policy wins %.4f of %,d games against Fifteen%n", (double) wins / evaluation, evaluation);
+
+        if (args.length > 2) {
+            policy.save(Path.of(args[2]));
+            System.out.println("Saved policy to " + args[2]);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * A roll/hold policy stored as a table of action values over
+ * (own score, best opponent score, turn total).
+ *
+ * Each state has two values, hold and roll, kept side by side in one
+ * flat float array; the policy rolls when the roll value is higher. In
+ * games with more than two players the opponent score is the highest
+ * score among the other seats.
+ */
+public class QPolicy implements Strategy {
+    /** The magic number at the start of a saved policy ("BDQ1"). */
+    public static final int MAGIC = 0x42445131;
+
+    /** Scores and turn totals are below this bound in every non-final state. */
+    public static final int SCORES = BulldogGame.WINNING_SCORE;
+
+    /** Index offset of the hold value within a state. */
+    public static final int HOLD = 0;
+
+    /** Index offset of the roll value within a state. */
+    public static final int ROLL = 1;
+
+    private final float[] values;
+
+    /**
+     * Creates a policy over a table of action values.
+     *
+     * @param values The values, {@link #size()} entries; used without copying
+     * @throws IllegalArgumentException if the table has the wrong size
+     */
+    public QPolicy(float[] values) {
+        if (values.length != size()) {
+            throw new IllegalArgumentException("A policy table needs " + size() + " values");
+        }
+        this.values = values;
+    }
+
+    /**
+     * @return The number of values in a policy table
+     */
+    public static int size() {
+        return SCORES * SCORES * SCORES * 2;
+    }
+
+    /**
+     * Returns the index of the hold value of a state; the roll value follows it.
+     *
+     * @param own The deciding player's banked score
+     * @param opponent The best opponent score
+     * @param turnScore The turn total, with own + turnScore below {@link #SCORES}
+     * @return The index into the table
+     */
+    public static int index(int own, int opponent, int turnScore) {
+        return ((own * SCORES + Math.min(opponent, SCORES - 1)) * SCORES + turnScore) * 2;
+    }
+
+    @Override
+    public boolean shouldRoll(int[] scores, int seat, int turnScore, int lastRoll, RandomGenerator random) {
+        int own = scores[seat];
+        if (own + turnScore >= SCORES) {
+            return false;
+        }
+        int i = index(own, bestOpponent(scores, seat), turnScore);
+        return values[i + ROLL] > values[i + HOLD];
+    }
+
+    /**
+     * @return The highest score among the seats other than the given one
+     */
+    static int bestOpponent(int[] scores, int seat) {
+        int best = 0;
+        for (int s = 0; s < scores.length; s++) {
+            if (s != seat && scores[s] > best) {
+                best = scores[s];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return The value table; shared, not copied
+     */
+    public float[] getValues() {
+        return values;
+    }
+
+    /**
+     * Writes the policy to a file.
+     *
+     * @param file The destination
+     * @throws IOException if writing fails
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + values.length * 4);
+        buffer.putInt(MAGIC).putInt(values.length);
+        buffer.asFloatBuffer().put(values);
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a policy written by {@link #save}.
+     *
+     * @param file The source
+     * @return The policy
+     * @throws IOException if the file cannot be read or is not a policy
+     */
+    public static QPolicy load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            }
+            buffer.flip();
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != size()
+                    || buffer.remaining() != size() * 4) {
+                throw new IOException("Not a policy file: " + file);
+            }
+            float[] values = new float[size()];
+            buffer.asFloatBuffer().get(values);
+            return new QPolicy(values);
+        }
+    }
+}
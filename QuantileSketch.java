@@ -0,0 +1,140 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A mergeable quantile sketch with a guaranteed relative error.
+ *
+ * Positive values are counted in logarithmic buckets whose bounds grow
+ * by a factor of (1 + a) / (1 - a), so any reported quantile is within
+ * a relative error of a of the true value (the DDSketch scheme). The
+ * bucket range is fixed up front, so recording never allocates, and
+ * counters are striped like {@link StripedHistogram} so many threads can
+ * record at once. Two sketches with the same accuracy and range merge
+ * exactly by adding their counts.
+ */
+public class QuantileSketch {
+    private static final int PAD = 16;
+
+    private final double accuracy;
+    private final double gamma;
+    private final double inverseLogGamma;
+    private final int buckets;
+    private final int stride;
+    private final AtomicLongArray counts;
+
+    /**
+     * Creates a sketch for values in [0, maxValue].
+     *
+     * @param accuracy The relative accuracy, for example 0.01 for 1%
+     * @param maxValue The largest value expected; larger values share the top bucket
+     * @throws IllegalArgumentException if accuracy is not in (0, 1) or maxValue is below 1
+     */
+    public QuantileSketch(double accuracy, double maxValue) {
+        if (!(accuracy > 0.0 && accuracy < 1.0) || !(maxValue >= 1.0)) {
+            throw new IllegalArgumentException("Accuracy must be in (0, 1) and maxValue at least 1");
+        }
+        this.accuracy = accuracy;
+        this.gamma = (1.0 + accuracy) / (1.0 - accuracy);
+        this.inverseLogGamma = 1.0 / Math.log(gamma);
+        // Bucket 0 holds zeros, bucket i > 0 holds (gamma^(i-2), gamma^(i-1)]
+        this.buckets = (int) Math.ceil(Math.log(maxValue) * inverseLogGamma) + 2;
+        this.stride = buckets + PAD;
+        this.counts = new AtomicLongArray(StripedHistogram.STRIPES * stride);
+    }
+
+    /**
+     * Records one value. Values in (0, 1) are counted as 1 and negative
+     * values as 0.
+     *
+     * @param value The value to record
+     */
+    public void record(double value) {
+        counts.getAndIncrement(StripedHistogram.stripe() * stride + bucketOf(value));
+    }
+
+    private int bucketOf(double value) {
+        if (!(value > 0.0)) {
+            return 0;
+        }
+        int index = (int) Math.ceil(Math.log(Math.max(1.0, value)) * inverseLogGamma) + 1;
+        return Math.min(index, buckets - 1);
+    }
+
+    /**
+     * Adds all counts of another sketch with the same accuracy and range.
+     *
+     * @param other The sketch to merge in; it is not modified
+     * @throws IllegalArgumentException if the sketches are incompatible
+     */
+    public void merge(QuantileSketch other) {
+        if (other.accuracy != accuracy || other.buckets != buckets) {
+            throw new IllegalArgumentException("Sketch parameters differ");
+        }
+        long[] theirs = other.bucketCounts();
+        int base = StripedHistogram.stripe() * stride;
+        for (int b = 0; b < buckets; b++) {
+            if (theirs[b] != 0) {
+                counts.getAndAdd(base + b, theirs[b]);
+            }
+        }
+    }
+
+    /**
+     * Sums the stripes into a new array of bucket counts.
+     *
+     * @return The current count of every bucket
+     */
+    public long[] bucketCounts() {
+        long[] result = new long[buckets];
+        for (int s = 0; s < StripedHistogram.STRIPES; s++) {
+            int base = s * stride;
+            for (int b = 0; b < buckets; b++) {
+                result[b] += counts.get(base + b);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Estimates several quantiles from one consistent read of the counts.
+     *
+     * @param quantiles The quantiles wanted, each in [0, 1]
+     * @return The estimated value for each quantile, or NaN if nothing was recorded
+     */
+    public double[] quantiles(double... quantiles) {
+        long[] snapshot = bucketCounts();
+        long total = 0;
+        for (long c : snapshot) {
+            total += c;
+        }
+        double[] result = new double[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            result[i] = total == 0 ? Double.NaN : valueAtRank(snapshot, (long) (quantiles[i] * (total - 1)));
+        }
+        return result;
+    }
+
+    /**
+     * Estimates a single quantile.
+     *
+     * @param quantile The quantile wanted, in [0, 1]
+     * @return The estimated value, or NaN if nothing was recorded
+     */
+    public double quantile(double quantile) {
+        return quantiles(quantile)[0];
+    }
+
+    private double valueAtRank(long[] snapshot, long rank) {
+        long seen = 0;
+        for (int b = 0; b < snapshot.length; b++) {
+            seen += snapshot[b];
+            if (seen > rank) {
+                return b == 0 ? 0.0 : 2.0 * Math.pow(gamma, b - 1) / (gamma + 1.0);
+            }
+        }
+        return 2.0 * Math.pow(gamma, snapshot.length - 2) / (gamma + 1.0);
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+}
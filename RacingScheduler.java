@@ -0,0 +1,365 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Races parameterized strategies against each other to find the best
+ * configuration with as few simulated games as possible.
+ *
+ * Every round, each configuration still in contention plays one batch
+ * of games against the opponent lineups. A Hoeffding confidence interval
+ * is kept on every win rate, and a configuration is dropped as soon as
+ * its upper bound falls below the lower bound of the current leader.
+ * Simulation budget therefore flows to the configurations that are hard
+ * to tell apart instead of being spent equally on clearly bad ones.
+ *
+ * Batches run on a work-stealing {@link ForkJoinPool}. Each chunk of a
+ * batch is seeded from its candidate, round and chunk index, so a race
+ * is reproducible regardless of thread scheduling.
+ */
+public class RacingScheduler {
+    /** Games played per leaf task before a batch is split no further. */
+    private static final int CHUNK_GAMES = 256;
+
+    private final List<Candidate> candidates;
+    private final List<Strategy[]> lineups;
+    private final int batchGames;
+    private final double delta;
+    private final long seed;
+
+    /**
+     * Creates a scheduler with no candidates or lineups.
+     *
+     * @param batchGames Games each surviving candidate plays per round
+     * @param delta Probability that the overall race reports a wrong winner
+     * @param seed Base seed for all simulations
+     * @throws IllegalArgumentException if batchGames or delta is out of range
+     */
+    public RacingScheduler(int batchGames, double delta, long seed) {
+        if (batchGames < 1) {
+            throw new IllegalArgumentException("Batch size must be at least one game");
+        }
+        if (!(delta > 0.0 && delta < 1.0)) {
+            throw new IllegalArgumentException("Delta must be in (0, 1)");
+        }
+        this.candidates = new ArrayList<>();
+        this.lineups = new ArrayList<>();
+        this.batchGames = batchGames;
+        this.delta = delta;
+        this.seed = seed;
+    }
+
+    /**
+     * Adds a configuration to the race.
+     *
+     * @param label A display name for the configuration
+     * @param parameter The parameter value the configuration was built from
+     * @param strategy The strategy to evaluate
+     */
+    public void addCandidate(String label, double parameter, Strategy strategy) {
+        candidates.add(new Candidate(label, parameter, strategy));
+    }
+
+    /**
+     * Adds an opponent lineup. Games are spread evenly over all lineups,
+     * and the candidate rotates through every seat to cancel seat bias.
+     *
+     * @param opponents The opponent strategies (one to six of them)
+     * @throws IllegalArgumentException if the lineup would exceed 7 seats
+     */
+    public void addLineup(Strategy... opponents) {
+        if (opponents.length < 1 || opponents.length > 6) {
+            throw new IllegalArgumentException("A lineup needs 1-6 opponents");
+        }
+        lineups.add(opponents.clone());
+    }
+
+    /**
+     * Runs the race until one candidate remains or the game budget runs out.
+     *
+     * @param pool The work-stealing pool to run batches on
+     * @param maxTotalGames The maximum number of games to play overall
+     * @return The result, naming the leading candidate with its confidence bounds
+     * @throws IllegalStateException if no candidates or lineups were added
+     */
+    public Result race(ForkJoinPool pool, long maxTotalGames) {
+        if (candidates.isEmpty() || lineups.isEmpty()) {
+            throw new IllegalStateException("Add at least one candidate and one lineup");
+        }
+        long totalGames = 0;
+        int round = 0;
+        int active = candidates.size();
+        List<BatchTask> tasks = new ArrayList<>();
+
+        while (active > 1 && totalGames + (long) active * batchGames <= maxTotalGames) {
+            // Submit one batch per surviving candidate, then wait for all of them
+            tasks.clear();
+            for (int i = 0; i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i);
+                if (candidate.active) {
+                    BatchTask task = new BatchTask(candidate.strategy, i, round, 0, batchGames);
+                    tasks.add(task);
+                    pool.execute(task);
+                }
+            }
+            int t = 0;
+            for (Candidate candidate : candidates) {
+                if (candidate.active) {
+                    candidate.wins += tasks.get(t++).join();
+                    candidate.games += batchGames;
+                    totalGames += batchGames;
+                }
+            }
+            round++;
+            active = eliminate(round);
+        }
+        return new Result(leader(), totalGames, round, active);
+    }
+
+    /**
+     * Drops every candidate whose upper confidence bound is below the
+     * best lower confidence bound.
+     *
+     * @param round The number of completed rounds
+     * @return The number of candidates still in contention
+     */
+    private int eliminate(int round) {
+        double bestLower = 0.0;
+        for (Candidate candidate : candidates) {
+            if (candidate.active) {
+                bestLower = Math.max(bestLower, candidate.winRate() - radius(candidate.games, round));
+            }
+        }
+        int active = 0;
+        for (Candidate candidate : candidates) {
+            if (candidate.active) {
+                candidate.radius = radius(candidate.games, round);
+                if (candidate.winRate() + candidate.radius < bestLower) {
+                    candidate.active = false;
+                } else {
+                    active++;
+                }
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Hoeffding radius with a union bound over candidates and rounds, so
+     * the intervals hold simultaneously for the whole race.
+     */
+    private double radius(long games, int round) {
+        double k = candidates.size();
+        return Math.sqrt(Math.log(2.0 * k * round * (round + 1) / delta) / (2.0 * games));
+    }
+
+    /**
+     * Returns the surviving candidate with the highest observed win rate.
+     */
+    private Candidate leader() {
+        Candidate best = null;
+        for (Candidate candidate : candidates) {
+            if (candidate.active && (best == null || candidate.winRate() > best.winRate())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns every candidate in insertion order, including eliminated ones.
+     *
+     * @return The candidates with their current statistics
+     */
+    public List<Candidate> getCandidates() {
+        return new ArrayList<>(candidates);
+    }
+
+    /**
+     * Mixes a seed with an index using the SplitMix64 finalizer.
+     */
+    static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A batch of games for one candidate, split recursively so that idle
+     * workers can steal chunks from busy ones.
+     */
+    private class BatchTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Strategy strategy;
+        private final int candidateIndex;
+        private final int round;
+        private final int from;
+        private final int to;
+
+        BatchTask(Strategy strategy, int candidateIndex, int round, int from, int to) {
+            this.strategy = strategy;
+            this.candidateIndex = candidateIndex;
+            this.round = round;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > CHUNK_GAMES) {
+                int mid = (from + to) >>> 1;
+                BatchTask left = new BatchTask(strategy, candidateIndex, round, from, mid);
+                left.fork();
+                long right = new BatchTask(strategy, candidateIndex, round, mid, to).compute();
+                return left.join() + right;
+            }
+            long chunkSeed = mix(mix(mix(seed, candidateIndex), round), from);
+            SplittableRandom random = new SplittableRandom(chunkSeed);
+            // One seat array per lineup, reused for every game of the chunk
+            Strategy[][] seats = new Strategy[lineups.size()][];
+            for (int l = 0; l < seats.length; l++) {
+                seats[l] = new Strategy[lineups.get(l).length + 1];
+            }
+            int[] scores = new int[7];
+            long wins = 0;
+            for (int game = from; game < to; game++) {
+                int l = game % seats.length;
+                Strategy[] opponents = lineups.get(l);
+                Strategy[] lineup = seats[l];
+                int mySeat = (game / seats.length) % lineup.length;
+                for (int s = 0, o = 0; s < lineup.length; s++) {
+                    lineup[s] = (s == mySeat) ? strategy : opponents[o++];
+                }
+                if (HeadlessGame.play(lineup, scores, random) == mySeat) {
+                    wins++;
+                }
+            }
+            return wins;
+        }
+    }
+
+    /**
+     * A configuration taking part in the race along with its running tally.
+     */
+    public static class Candidate {
+        private final String label;
+        private final double parameter;
+        private final Strategy strategy;
+        private long wins;
+        private long games;
+        private double radius = 1.0;
+        private boolean active = true;
+
+        Candidate(String label, double parameter, Strategy strategy) {
+            this.label = label;
+            this.parameter = parameter;
+            this.strategy = strategy;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public double getParameter() {
+            return parameter;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public double winRate() {
+            return games == 0 ? 0.0 : (double) wins / games;
+        }
+
+        public double lowerBound() {
+            return Math.max(0.0, winRate() - radius);
+        }
+
+        public double upperBound() {
+            return Math.min(1.0, winRate() + radius);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14s win %.4f [%.4f, %.4f] over %,d games%s",
+                label, winRate(), lowerBound(), upperBound(), games, active ? "" : " (dropped)");
+        }
+    }
+
+    /**
+     * The outcome of a race.
+     */
+    public static class Result {
+        private final Candidate winner;
+        private final long totalGames;
+        private final int rounds;
+        private final int survivors;
+
+        Result(Candidate winner, long totalGames, int rounds, int survivors) {
+            this.winner = winner;
+            this.totalGames = totalGames;
+            this.rounds = rounds;
+            this.survivors = survivors;
+        }
+
+        public Candidate getWinner() {
+            return winner;
+        }
+
+        public long getTotalGames() {
+            return totalGames;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        /**
+         * @return The number of candidates still in contention; more than one
+         *         means the budget ran out before a single winner was proven
+         */
+        public int getSurvivors() {
+            return survivors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Best: %s (parameter %s)%n%,d games in %d rounds, %d candidate(s) left",
+                winner, winner.getParameter(), totalGames, rounds, survivors);
+        }
+    }
+
+    /**
+     * Sweeps FifteenPlayer thresholds 5-40 and RandomPlayer continue
+     * probabilities against lineups of the built-in players.
+     */
+    public static void main(String[] args) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        RacingScheduler thresholds = new RacingScheduler(2_000, 0.05, 42L);
+        for (int threshold = 5; threshold <= 40; threshold++) {
+            thresholds.addCandidate("Fifteen@" + threshold, threshold, Strategies.fifteen(threshold));
+        }
+        thresholds.addLineup(Strategies.fifteen(15));
+        thresholds.addLineup(Strategies.wimp(), Strategies.odd());
+        thresholds.addLineup(Strategies.random(0.5), Strategies.fifteen(15), Strategies.odd());
+        System.out.println(thresholds.race(pool, 20_000_000L));
+
+        RacingScheduler probabilities = new RacingScheduler(2_000, 0.05, 43L);
+        for (int p = 5; p <= 95; p += 5) {
+            probabilities.addCandidate("Random@" + p + "%", p / 100.0, Strategies.random(p / 100.0));
+        }
+        probabilities.addLineup(Strategies.fifteen(15));
+        probabilities.addLineup(Strategies.wimp(), Strategies.odd());
+        System.out.println(probabilities.race(pool, 10_000_000L));
+    }
+}
@@ -1,5 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -43,6 +44,15 @@ public class RandomPlayer extends Player {
     
     /** Flag to control the continuation of the player's turn. */
     private boolean continueTurn;
+    
+    /** Flight recorder event timing the current turn. */
+    private FlightEvents.Turn turnEvent;
+    
+    /** Throughput measurement of the current turn. */
+    private StrategyMetrics.Turn metricsTurn;
+    
+    /** Rolls made so far this turn. */
+    private int rolls;
 
     /**
      * Creates a default RandomPlayer with the name "Random".
@@ -63,6 +73,26 @@ public class RandomPlayer extends Player {
         /** Create a 2-sided die */
         reRoll = new Dice(2);
         initializePanel();
+        
+        // One timer paces every roll of every turn
+        delayTimer = new Timer(500, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                continuePlay();
+            }
+        });
+        delayTimer.setRepeats(false);
+    }
+
+    /**
+     * Makes this player's die draw from the given generator.
+     * 
+     * @param random the generator for all of this player's rolls
+     */
+    @Override
+    public void setRandom(Random random) {
+        die.setRandom(random);
+        reRoll.setRandom(random);
     }
 
     /**
@@ -100,18 +130,17 @@ public class RandomPlayer extends Player {
     public int play() {
         turnScore = 0;
         continueTurn = true;
+        rolls = 0;
         gameLog.setText("");
         
         logMessage(getName() + " is starting their turn.");
+        turnEvent = FlightEvents.beginTurn(this, "Random");
+        metricsTurn = MetricsRegistry.global().register("Random").beginTurn();
+        // The rolls run on the Event Dispatch Thread, which measures each one
+        metricsTurn.pause();
         
         // Begin the rolling sequence with a timer for delay
-        delayTimer = new Timer(500, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                continuePlay();
-            }
-        });
-        delayTimer.setRepeats(false);
+        delayTimer.setInitialDelay(500);
         delayTimer.start();
         
         // Wait until the turn is complete
@@ -119,7 +148,9 @@ public class RandomPlayer extends Player {
             try {
                 Thread.sleep(100);
             } catch (InterruptedException e) {
+                // The game was abandoned; stop waiting for the turn
                 Thread.currentThread().interrupt();
+                break;
             }
         }
         
@@ -136,8 +167,10 @@ public class RandomPlayer extends Player {
      * - Ends the turn if a six is rolled or the player decides to stop
      */
     private void continuePlay() {
+        metricsTurn.resume();
         // Roll the die
         int roll = die.roll();
+        rolls++;
         
         // Log the roll
         logMessage(getName() + " rolled a " + roll);
@@ -145,6 +178,8 @@ public class RandomPlayer extends Player {
         // Check if rolled a 6
         if (roll == 6) {
             logMessage("Oh no! Rolled a 6. Turn ends with 0 points.");
+            FlightEvents.endTurn(turnEvent, 0, rolls, turnScore);
+            metricsTurn.end(rolls, true);
             turnScore = 0;
             continueTurn = false;
             return;
@@ -155,11 +190,17 @@ public class RandomPlayer extends Player {
         logMessage("Turn score is now: " + turnScore);
         
         // Make a random decision to continue or stop (50/50 chance)
-        if (reRoll.roll() == 1) {
+        FlightEvents.Decision decision = FlightEvents.beginDecision();
+        boolean rollAgain = reRoll.roll() != 1;
+        FlightEvents.endDecision(decision, this, "Random", turnScore, rollAgain);
+        if (!rollAgain) {
             logMessage(getName() + " randomly decides to stop with " + turnScore + " points.");
+            FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+            metricsTurn.end(rolls, false);
             continueTurn = false;
         } else {
             logMessage(getName() + " randomly decides to roll again.");
+            metricsTurn.pause();
             delayTimer.setInitialDelay(500);
             delayTimer.start();
         }
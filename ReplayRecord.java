@@ -0,0 +1,125 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Everything needed to replay a GUI game exactly: the seed of the game's
+ * {@link GameRandom}, the strategy in each seat, and the roll/hold
+ * decisions made by human and Monte Carlo players.
+ *
+ * Rule-based players are deterministic given the dice, so their choices
+ * are not stored; a Monte Carlo search depends on its time budget, so its
+ * choices are stored in the same stream as the humans'. Encoded, a record
+ * is the 8-byte seed, a seat count byte, one strategy id byte per seat, a
+ * varint decision count and one bit per stored decision, which is a few
+ * dozen bytes for a whole game.
+ */
+public class ReplayRecord {
+    private final long seed;
+    private final int[] strategyIds;
+    private long[] decisions = new long[4];
+    private int decisionCount;
+
+    /**
+     * Creates a record for a new game.
+     *
+     * @param seed The seed of the game's generator
+     * @param strategyIds The {@link GameRecord} strategy id of each seat
+     * @throws IllegalArgumentException if there are not 1-7 seats
+     */
+    public ReplayRecord(long seed, int... strategyIds) {
+        if (strategyIds.length < 1 || strategyIds.length > 7) {
+            throw new IllegalArgumentException("Seat count must be 1-7");
+        }
+        this.seed = seed;
+        this.strategyIds = strategyIds.clone();
+    }
+
+    /**
+     * Appends a decision made after a roll that was not a six. Called on
+     * the Event Dispatch Thread for humans and on the game thread for
+     * Monte Carlo players, while the game thread may read.
+     *
+     * @param roll true if the player rolled again, false if they held
+     */
+    public synchronized void addDecision(boolean roll) {
+        if (decisionCount == decisions.length * 64) {
+            decisions = Arrays.copyOf(decisions, decisions.length * 2);
+        }
+        if (roll) {
+            decisions[decisionCount >>> 6] |= 1L << (decisionCount & 63);
+        }
+        decisionCount++;
+    }
+
+    /**
+     * @param index The decision index
+     * @return true if that decision was to roll again
+     */
+    public synchronized boolean getDecision(int index) {
+        return (decisions[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    public synchronized int getDecisionCount() {
+        return decisionCount;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSeatCount() {
+        return strategyIds.length;
+    }
+
+    public int getStrategyId(int seat) {
+        return strategyIds[seat];
+    }
+
+    /**
+     * @return The compact binary form of this record
+     */
+    public synchronized byte[] encode() {
+        int bitBytes = (decisionCount + 7) / 8;
+        ByteBuffer out = ByteBuffer.allocate(9 + strategyIds.length + GameRecord.varintLength(decisionCount) + bitBytes);
+        out.putLong(seed);
+        out.put((byte) strategyIds.length);
+        for (int id : strategyIds) {
+            out.put((byte) id);
+        }
+        GameRecord.putVarint(out, decisionCount);
+        for (int i = 0; i < bitBytes; i++) {
+            out.put((byte) (decisions[i >>> 3] >>> ((i & 7) * 8)));
+        }
+        return out.array();
+    }
+
+    /**
+     * Reads a record written by {@link #encode()}.
+     *
+     * @param bytes The encoded record
+     * @return The decoded record
+     * @throws IllegalArgumentException if the bytes are not a valid record
+     */
+    public static ReplayRecord decode(byte[] bytes) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            long seed = in.getLong();
+            int[] ids = new int[in.get()];
+            for (int s = 0; s < ids.length; s++) {
+                ids[s] = in.get() & 0xFF;
+            }
+            ReplayRecord record = new ReplayRecord(seed, ids);
+            int count = GameRecord.getVarint(in);
+            int bits = 0;
+            for (int i = 0; i < count; i++) {
+                if ((i & 7) == 0) {
+                    bits = in.get() & 0xFF;
+                }
+                record.addDecision((bits & (1 << (i & 7))) != 0);
+            }
+            return record;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Not a valid replay record", e);
+        }
+    }
+}
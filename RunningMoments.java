@@ -0,0 +1,119 @@
+/**
+ * Running mean and variance of a stream of values using Welford's
+ * algorithm, which stays numerically stable over billions of samples.
+ *
+ * Instances are not thread-safe. Two accumulators can be combined with
+ * {@link #merge(RunningMoments)}, so each thread can keep its own and
+ * the results can be merged afterwards.
+ */
+public class RunningMoments {
+    private long count;
+    private double mean;
+    private double m2;
+
+    /**
+     * Creates an empty accumulator.
+     */
+    public RunningMoments() {
+    }
+
+    /**
+     * Creates an accumulator from previously captured state.
+     *
+     * @param count The number of samples
+     * @param mean The mean of the samples
+     * @param m2 The sum of squared differences from the mean
+     */
+    public RunningMoments(long count, double mean, double m2) {
+        this.count = count;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    /**
+     * Adds one sample.
+     *
+     * @param value The sample to add
+     */
+    public void add(double value) {
+        count++;
+        double d = value - mean;
+        mean += d / count;
+        m2 += d * (value - mean);
+    }
+
+    /**
+     * Adds all samples of another accumulator to this one
+     * (Chan et al. parallel combination).
+     *
+     * @param other The accumulator to merge in; it is not modified
+     */
+    public void merge(RunningMoments other) {
+        merge(other.count, other.mean, other.m2);
+    }
+
+    /**
+     * Adds previously captured state to this accumulator.
+     *
+     * @param otherCount The number of samples
+     * @param otherMean The mean of the samples
+     * @param otherM2 The sum of squared differences from the mean
+     */
+    public void merge(long otherCount, double otherMean, double otherM2) {
+        if (otherCount == 0) {
+            return;
+        }
+        if (count == 0) {
+            // Copy exactly; the general formula can round even when merging into nothing
+            count = otherCount;
+            mean = otherMean;
+            m2 = otherM2;
+            return;
+        }
+        long total = count + otherCount;
+        double d = otherMean - mean;
+        mean += d * otherCount / total;
+        m2 += otherM2 + d * d * ((double) count * otherCount / total);
+        count = total;
+    }
+
+    /**
+     * Clears all samples.
+     */
+    public void reset() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return The sum of squared differences from the mean
+     */
+    public double getM2() {
+        return m2;
+    }
+
+    /**
+     * @return The sample variance, or 0 with fewer than two samples
+     */
+    public double getVariance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mean %.3f sd %.3f (n=%,d)", mean, getStandardDeviation(), count);
+    }
+}
@@ -13,7 +13,10 @@ public class ScoreboardViewer extends JPanel {
     private JPanel scoreListPanel;
     private ArrayList<Player> players;
     private Map<Player, JPanel> playerPanels;
+    private Map<Player, JLabel> chanceLabels;
+    private Map<Player, Long> shownStamps;
     private Player currentPlayer;
+    private final WinProbabilityEstimator estimator;
     
     /**
      * Creates a new ScoreboardViewer with an empty player list
@@ -30,6 +33,9 @@ public class ScoreboardViewer extends JPanel {
     public ScoreboardViewer(ArrayList<Player> players) {
         this.players = players;
         this.playerPanels = new HashMap<>();
+        this.chanceLabels = new HashMap<>();
+        this.shownStamps = new HashMap<>();
+        this.estimator = new WinProbabilityEstimator(this::showChances);
         initializeUI();
     }
     
@@ -85,6 +91,7 @@ public class ScoreboardViewer extends JPanel {
             scoreListPanel.add(Box.createVerticalStrut(5));
             revalidate();
             repaint();
+            restartEstimate(0);
         }
     }
     
@@ -94,6 +101,8 @@ public class ScoreboardViewer extends JPanel {
     private void updatePlayers() {
         scoreListPanel.removeAll();
         playerPanels.clear();
+        chanceLabels.clear();
+        shownStamps.clear();
         
         for (Player player : players) {
             JPanel scoreEntry = createScoreEntry(player, player.getScore(), getPlayerTypeName(player));
@@ -104,6 +113,7 @@ public class ScoreboardViewer extends JPanel {
         
         revalidate();
         repaint();
+        restartEstimate(0);
     }
     
     /**
@@ -121,7 +131,7 @@ public class ScoreboardViewer extends JPanel {
             BorderFactory.createMatteBorder(0, 5, 0, 0, getPlayerTypeColor(playerType)),
             BorderFactory.createEmptyBorder(8, 8, 8, 0)
         ));
-        scoreEntry.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
+        scoreEntry.setMaximumSize(new Dimension(Integer.MAX_VALUE, 58));
         
         JLabel nameLabel = new JLabel(player.getName());
         nameLabel.setFont(new Font("Arial", Font.BOLD, 14));
@@ -130,8 +140,14 @@ public class ScoreboardViewer extends JPanel {
         scoreLabel.setFont(new Font("Arial", Font.BOLD, 16));
         scoreLabel.setHorizontalAlignment(SwingConstants.RIGHT);
         
+        JLabel chanceLabel = new JLabel(" ");
+        chanceLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        chanceLabel.setForeground(new Color(110, 110, 110));
+        chanceLabels.put(player, chanceLabel);
+        
         scoreEntry.add(nameLabel, BorderLayout.WEST);
         scoreEntry.add(scoreLabel, BorderLayout.EAST);
+        scoreEntry.add(chanceLabel, BorderLayout.SOUTH);
         
         return scoreEntry;
     }
@@ -141,22 +157,75 @@ public class ScoreboardViewer extends JPanel {
      */
     public void updateScores() {
         for (Player player : players) {
-            updateScore(player);
+            showScore(player);
         }
+        int current = players.indexOf(currentPlayer);
+        restartEstimate(current < 0 ? 0 : (current + 1) % players.size());
     }
     
     /**
-     * Updates the score display for a specific player
+     * Updates the score display for a specific player, who has just
+     * finished a turn, and starts a new win-probability estimate with the
+     * next player to move.
      * 
      * @param player The player whose score needs updating
      */
     public void updateScore(Player player) {
+        showScore(player);
+        int seat = players.indexOf(player);
+        if (seat >= 0) {
+            restartEstimate((seat + 1) % players.size());
+        }
+    }
+    
+    /**
+     * Shows a player's current score, unless it has not changed since it
+     * was last shown.
+     * 
+     * @param player The player whose score needs updating
+     */
+    private void showScore(Player player) {
         JPanel panel = playerPanels.get(player);
         if (panel != null) {
+            long stamp = player.getScoreStamp();
+            Long shown = shownStamps.put(player, stamp);
+            if (shown != null && shown == stamp) {
+                return;
+            }
             Component[] components = panel.getComponents();
             if (components.length > 1 && components[1] instanceof JLabel) {
                 JLabel scoreLabel = (JLabel) components[1];
-                scoreLabel.setText(String.valueOf(player.getScore()));
+                scoreLabel.setText(String.valueOf(Player.scoreOf(stamp)));
+            }
+        }
+    }
+    
+    /**
+     * Starts estimating win probabilities from the current scores in the
+     * background; the estimate replaces any that is still running.
+     * 
+     * @param nextSeat The index of the player about to move
+     */
+    private void restartEstimate(int nextSeat) {
+        if (players.size() >= 2) {
+            estimator.restart(players.toArray(new Player[0]), nextSeat);
+        }
+    }
+    
+    /**
+     * Shows win probabilities; called on the event dispatch thread at
+     * most once per frame.
+     * 
+     * @param probabilities The chance of winning for each player, in order
+     * @param games The games behind the estimate, or 0 if it is exact
+     */
+    private void showChances(double[] probabilities, long games) {
+        for (int i = 0; i < probabilities.length && i < players.size(); i++) {
+            JLabel label = chanceLabels.get(players.get(i));
+            if (label != null) {
+                label.setText(games == 0
+                    ? String.format("Win chance %.1f%%", 100 * probabilities[i])
+                    : String.format("Win chance ~%.1f%%", 100 * probabilities[i]));
             }
         }
     }
@@ -201,6 +270,10 @@ public class ScoreboardViewer extends JPanel {
      * @param winner The player who won the game
      */
     public void setWinner(Player winner) {
+        estimator.cancel();
+        for (Map.Entry<Player, JLabel> entry : chanceLabels.entrySet()) {
+            entry.getValue().setText(entry.getKey() == winner ? "Winner" : " ");
+        }
         JPanel panel = playerPanels.get(winner);
         if (panel != null) {
             panel.setBackground(new Color(255, 255, 220));
@@ -236,6 +309,7 @@ public class ScoreboardViewer extends JPanel {
             case "Fifteen Player": return new Color(148, 0, 211); // Dark Violet
             case "Odd Player": return new Color(205, 92, 92); // Indian Red
             case "Wimp Player": return new Color(184, 134, 11); // Dark Goldenrod
+            case "Monte Carlo Player": return new Color(0, 128, 128); // Teal
             default: return new Color(100, 100, 100); // Dark Gray
         }
     }
@@ -252,6 +326,7 @@ public class ScoreboardViewer extends JPanel {
         if (player instanceof FifteenPlayer) return "Fifteen Player";
         if (player instanceof OddPlayer) return "Odd Player";
         if (player instanceof WimpPlayer) return "Wimp Player";
+        if (player instanceof MctsPlayer) return "Monte Carlo Player";
         return "Unknown Player";
     }
     
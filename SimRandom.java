@@ -0,0 +1,73 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * The SplitMix64 generator with a readable and restorable state.
+ *
+ * It produces the same quality of numbers as {@link java.util.SplittableRandom}
+ * (which uses the same algorithm), but its whole state is one long, so a
+ * simulation worker can checkpoint its generator and later continue the
+ * exact same sequence.
+ */
+public class SimRandom implements RandomGenerator {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed The initial state
+     */
+    public SimRandom(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns an unbiased value in [0, bound) using the same rejection
+     * scheme as {@link java.util.Random#nextInt(int)}.
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return (int) ((bound * (long) r) >>> 31);
+        }
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33)) {
+            // reject values from the incomplete final interval
+        }
+        return r;
+    }
+
+    /**
+     * @return The current state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state previously returned by {@link #getState()}.
+     *
+     * @param state The state to continue from
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
@@ -0,0 +1,256 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A long-running tournament of one lineup that survives JVM restarts.
+ *
+ * The games are split evenly over a fixed number of workers, each with
+ * its own {@link SimRandom} and {@link JobTally}. After every chunk of
+ * games a worker publishes an immutable copy of its progress, and the
+ * coordinator periodically writes the latest published progress of all
+ * workers to the checkpoint file: to a temporary file first, forced to
+ * disk, then atomically renamed over the old checkpoint, so a crash at
+ * any moment leaves either the old or the new checkpoint intact.
+ *
+ * A restarted job loads the checkpoint and each worker continues from
+ * its saved generator state and tally. Games played after the last
+ * checkpoint are simply played again with the same random numbers, so
+ * the final result is bit-identical to an uninterrupted run. Publishing
+ * costs one small copy per {@value #CHUNK_GAMES} games and the file is
+ * written a few times a minute, which keeps the overhead far below 1%.
+ */
+public class SimulationJob {
+    /** The magic number at the start of every checkpoint ("BDJ1"). */
+    public static final int MAGIC = 0x42444A31;
+
+    /** Games a worker plays between publishing its progress. */
+    public static final int CHUNK_GAMES = 4096;
+
+    private final String name;
+    private final Strategy[] seats;
+    private final long seed;
+    private final int workerCount;
+    private final long gamesPerWorker;
+    private final Path checkpointFile;
+    private final long checkpointMillis;
+    private final Progress[] published;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean stopRequested;
+
+    /**
+     * Creates a job.
+     *
+     * @param name A name identifying the lineup; checked when resuming
+     * @param seats The lineup, in seat order
+     * @param seed The base seed of the job
+     * @param workerCount The number of worker threads
+     * @param gamesPerWorker The games each worker plays
+     * @param checkpointFile Where progress is saved
+     * @param checkpointMillis The interval between checkpoints
+     */
+    public SimulationJob(String name, Strategy[] seats, long seed, int workerCount, long gamesPerWorker,
+                         Path checkpointFile, long checkpointMillis) {
+        this.name = name;
+        this.seats = seats.clone();
+        this.seed = seed;
+        this.workerCount = workerCount;
+        this.gamesPerWorker = gamesPerWorker;
+        this.checkpointFile = checkpointFile;
+        this.checkpointMillis = checkpointMillis;
+        this.published = new Progress[workerCount];
+    }
+
+    /**
+     * The progress of one worker after a whole number of chunks.
+     */
+    private static final class Progress {
+        final long completed;
+        final long randomState;
+        final JobTally tally;
+
+        Progress(long completed, long randomState, JobTally tally) {
+            this.completed = completed;
+            this.randomState = randomState;
+            this.tally = tally;
+        }
+    }
+
+    /**
+     * Runs the job to completion, or until {@link #requestStop()}, resuming
+     * from the checkpoint file if one exists.
+     *
+     * @return The merged tally of all workers (partial if stopped early)
+     * @throws IOException if the checkpoint cannot be read or written
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public JobTally run() throws IOException, InterruptedException {
+        try {
+            if (Files.exists(checkpointFile)) {
+                loadCheckpoint();
+            } else {
+                for (int w = 0; w < workerCount; w++) {
+                    published[w] = new Progress(0, RacingScheduler.mix(seed, w), new JobTally(seats.length));
+                }
+            }
+
+            Thread[] workers = new Thread[workerCount];
+            for (int w = 0; w < workerCount; w++) {
+                int index = w;
+                workers[w] = new Thread(() -> work(index), name + "-worker-" + w);
+                workers[w].start();
+            }
+            for (Thread worker : workers) {
+                while (worker.isAlive()) {
+                    worker.join(checkpointMillis);
+                    if (worker.isAlive()) {
+                        writeCheckpoint();
+                    }
+                }
+            }
+            writeCheckpoint();
+            return merged();
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Asks the workers to stop at their next chunk boundary. {@link #run()}
+     * then writes a final checkpoint and returns.
+     */
+    public void requestStop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Waits until {@link #run()} has returned.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitFinished() throws InterruptedException {
+        finished.await();
+    }
+
+    /**
+     * @return true if every worker has played all its games
+     */
+    public boolean isComplete() {
+        for (Progress progress : published) {
+            if (progress == null || progress.completed < gamesPerWorker) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void work(int index) {
+        Progress start = published[index];
+        SimRandom random = new SimRandom(start.randomState);
+        JobTally tally = start.tally.copy();
+        long completed = start.completed;
+        int[] scores = new int[seats.length];
+        while (completed < gamesPerWorker && !stopRequested) {
+            long end = Math.min(completed + CHUNK_GAMES, gamesPerWorker);
+            for (; completed < end; completed++) {
+                HeadlessGame.play(seats, scores, random, tally);
+            }
+            published[index] = new Progress(completed, random.getState(), tally.copy());
+        }
+    }
+
+    private JobTally merged() {
+        JobTally total = new JobTally(seats.length);
+        for (Progress progress : published) {
+            total.merge(progress.tally);
+        }
+        return total;
+    }
+
+    /**
+     * Writes the latest published progress with write-then-rename.
+     */
+    private synchronized void writeCheckpoint() throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(MAGIC);
+            out.writeUTF(name);
+            out.writeLong(seed);
+            out.writeInt(workerCount);
+            out.writeLong(gamesPerWorker);
+            out.writeInt(seats.length);
+            for (int w = 0; w < workerCount; w++) {
+                Progress progress = published[w];
+                out.writeLong(progress.completed);
+                out.writeLong(progress.randomState);
+                progress.tally.write(out);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadCheckpoint() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a simulation checkpoint: " + checkpointFile);
+            }
+            if (!in.readUTF().equals(name) || in.readLong() != seed || in.readInt() != workerCount
+                    || in.readLong() != gamesPerWorker || in.readInt() != seats.length) {
+                throw new IOException("Checkpoint belongs to a different job: " + checkpointFile);
+            }
+            for (int w = 0; w < workerCount; w++) {
+                long completed = in.readLong();
+                long state = in.readLong();
+                published[w] = new Progress(completed, state, JobTally.read(in, seats.length));
+            }
+        }
+    }
+
+    /**
+     * Runs (or resumes) a checkpointed tournament of the built-in players.
+     * Interrupting the JVM writes a final checkpoint; running the same
+     * command again continues the job.
+     *
+     * Usage: java SimulationJob checkpoint-file [games-per-worker] [workers]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java SimulationJob checkpoint-file [games-per-worker] [workers]");
+            System.exit(1);
+        }
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Strategy[] seats = {Strategies.fifteen(15), Strategies.wimp(), Strategies.odd(), Strategies.randomPlayer()};
+        SimulationJob job = new SimulationJob("fifteen-wimp-odd-random", seats, 2024L, workers, games,
+            Path.of(args[0]), 10_000L);
+
+        Thread hook = new Thread(() -> {
+            job.requestStop();
+            try {
+                job.awaitFinished();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(hook);
+
+        long start = System.nanoTime();
+        JobTally result = job.run();
+        Runtime.getRuntime().removeShutdownHook(hook);
+        System.out.println(result);
+        System.out.printf("%s in %.1f s%n", job.isComplete() ? "Complete" : "Stopped", (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,103 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The registry of per-strategy statistics for a simulation run.
+ *
+ * Strategies are registered by name, and {@link #recorder} binds the
+ * seats of a lineup to their statistics as a {@link GameListener} that
+ * can be passed straight to {@link HeadlessGame#play}. Nothing is kept
+ * per game, so memory use does not grow with the number of games.
+ */
+public class SimulationStats {
+    private final Map<String, StrategyStats> byName = new ConcurrentHashMap<>();
+    private final List<StrategyStats> inOrder = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the statistics for a strategy, creating them on first use.
+     *
+     * @param name The strategy name
+     * @return The statistics for that name
+     */
+    public StrategyStats register(String name) {
+        return byName.computeIfAbsent(name, n -> {
+            StrategyStats stats = new StrategyStats(n);
+            inOrder.add(stats);
+            return stats;
+        });
+    }
+
+    /**
+     * Creates a listener that records every game into the statistics of
+     * the strategy sitting in each seat. The listener holds no per-game
+     * state, so one instance can be shared by all threads.
+     *
+     * @param seats The statistics for each seat, in turn order
+     * @return The recording listener
+     */
+    public GameListener recorder(StrategyStats... seats) {
+        StrategyStats[] bound = seats.clone();
+        return new GameListener() {
+            @Override
+            public void turnEnded(int seat, int turnScore, int rolls, boolean busted) {
+                bound[seat].recordTurn(turnScore, rolls, busted);
+            }
+
+            @Override
+            public void gameEnded(int winner, int turns) {
+                for (int s = 0; s < bound.length; s++) {
+                    bound[s].recordGame(turns, s == winner);
+                }
+            }
+        };
+    }
+
+    /**
+     * Captures the current statistics of every registered strategy.
+     *
+     * @return One snapshot per strategy, in registration order
+     */
+    public List<StrategyStats.Snapshot> snapshot() {
+        List<StrategyStats.Snapshot> result = new ArrayList<>();
+        for (StrategyStats stats : inOrder) {
+            result.add(stats.snapshot());
+        }
+        return result;
+    }
+
+    /**
+     * Plays games on every core while printing snapshots once a second.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        SimulationStats stats = new SimulationStats();
+        Strategy[] seats = {Strategies.fifteen(15), Strategies.wimp(), Strategies.odd(), Strategies.random(0.5)};
+        GameListener recorder = stats.recorder(stats.register("Fifteen"), stats.register("Wimp"),
+            stats.register("Odd"), stats.register("Random"));
+
+        long gamesPerThread = args.length > 0 ? Long.parseLong(args[0]) : 500_000L;
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                int[] scores = new int[seats.length];
+                for (long g = 0; g < gamesPerThread; g++) {
+                    HeadlessGame.play(seats, scores, random, recorder);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                thread.join(1000);
+                System.out.println("--");
+                stats.snapshot().forEach(System.out::println);
+            }
+        }
+    }
+}
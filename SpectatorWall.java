@@ -0,0 +1,421 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches many bot-vs-bot games at once, as a grid of compact scoreboards
+ * in a single component.
+ *
+ * Every game is played one roll per step by a single daemon thread, so a
+ * hundred games cost a hundred rolls per step and no threads, frames or
+ * timers of their own. The games are drawn by {@link #paintComponent}
+ * straight from their state, with no component tree per game. One shared
+ * Swing timer checks which games changed since the last frame and asks
+ * for just their cells to be repainted; Swing merges those requests into
+ * a single paint, and the paint skips every cell outside the clip, so the
+ * cost of a frame follows the games that moved rather than the size of
+ * the wall.
+ *
+ * A finished game stays on the wall briefly with its winner marked, then
+ * a new game starts at the same table; each seat's wins are tallied.
+ */
+public class SpectatorWall extends JPanel implements Scrollable {
+    private static final long serialVersionUID = 1L;
+
+    /** Time between frames of the shared render tick. */
+    private static final int FRAME_MILLIS = 33;
+
+    /** Steps a finished game stays on the wall before the next one starts. */
+    private static final int RESULT_STEPS = 15;
+
+    private static final int CELL_WIDTH = 190;
+    private static final int HEADER_HEIGHT = 16;
+    private static final int ROW_HEIGHT = 15;
+    private static final int FOOTER_HEIGHT = 16;
+    private static final int GAP = 6;
+
+    /** Text of the small numbers drawn every frame, made once. */
+    private static final String[] NUMBERS = new String[1000];
+
+    private static final Font TITLE_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 11);
+    private static final Font TEXT_FONT = new Font(Font.SANS_SERIF, Font.PLAIN, 11);
+    private static final Color BORDER = new Color(200, 200, 200);
+    private static final Color CURRENT = new Color(245, 245, 255);
+    private static final Color WINNER = new Color(255, 255, 220);
+    private static final Color GOLD = new Color(218, 165, 32);
+    private static final Color BUST = new Color(205, 92, 92);
+    private static final Color BAR = new Color(225, 230, 240);
+
+    static {
+        for (int i = 0; i < NUMBERS.length; i++) {
+            NUMBERS[i] = Integer.toString(i);
+        }
+    }
+
+    private final Table[] tables;
+    private final int cellHeight;
+    private final int[] paintedChanges;
+    private final Timer renderTick;
+    private final ScheduledExecutorService player;
+    private int columns = 1;
+
+    /**
+     * Creates a wall of tables and starts playing them.
+     *
+     * @param specs The strategy for each seat, as accepted by {@link Strategies#parse}
+     * @param tableCount The number of games to play at once
+     * @param stepMillis The time between rolls in every game
+     * @param seed The seed the tables' dice are derived from
+     * @throws IllegalArgumentException if the seat count is not 2-7, there
+     *         are no tables, or a strategy is not recognized
+     */
+    public SpectatorWall(String[] specs, int tableCount, long stepMillis, long seed) {
+        if (specs.length < 2 || specs.length > 7) {
+            throw new IllegalArgumentException("Bulldog is played by 2-7 players");
+        }
+        if (tableCount < 1 || stepMillis < 1) {
+            throw new IllegalArgumentException("Need at least one table and a positive step");
+        }
+        this.tables = new Table[tableCount];
+        for (int t = 0; t < tableCount; t++) {
+            // Rotate the seats so every strategy gets its turn to move first
+            String[] seated = new String[specs.length];
+            for (int s = 0; s < specs.length; s++) {
+                seated[s] = specs[(s + t) % specs.length];
+            }
+            tables[t] = new Table(t + 1, seated, new SimRandom(RacingScheduler.mix(seed, t)));
+        }
+        this.cellHeight = HEADER_HEIGHT + ROW_HEIGHT * specs.length + FOOTER_HEIGHT;
+        this.paintedChanges = new int[tableCount];
+        setBackground(Color.WHITE);
+        setOpaque(true);
+
+        this.renderTick = new Timer(FRAME_MILLIS, e -> repaintChanged());
+        renderTick.setCoalesce(true);
+        renderTick.start();
+        this.player = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "spectator-games");
+            thread.setDaemon(true);
+            return thread;
+        });
+        player.scheduleAtFixedRate(this::step, stepMillis, stepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the games and the render tick.
+     */
+    public void stop() {
+        player.shutdownNow();
+        renderTick.stop();
+    }
+
+    /**
+     * Advances every game by one roll; runs on the game thread.
+     */
+    private void step() {
+        for (Table table : tables) {
+            table.step();
+        }
+    }
+
+    /**
+     * The shared render tick: asks for a repaint of every cell whose game
+     * changed since the last frame.
+     */
+    private void repaintChanged() {
+        for (int t = 0; t < tables.length; t++) {
+            int changes = tables[t].changes;
+            if (changes != paintedChanges[t]) {
+                paintedChanges[t] = changes;
+                repaint(cellX(t), cellY(t), CELL_WIDTH, cellHeight);
+            }
+        }
+    }
+
+    private int cellX(int index) {
+        return GAP + (index % columns) * (CELL_WIDTH + GAP);
+    }
+
+    private int cellY(int index) {
+        return GAP + (index / columns) * (cellHeight + GAP);
+    }
+
+    @Override
+    public void doLayout() {
+        int fit = Math.max(1, (getWidth() - GAP) / (CELL_WIDTH + GAP));
+        if (fit != columns) {
+            columns = fit;
+            revalidate();
+            repaint();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int rows = (tables.length + columns - 1) / columns;
+        return new Dimension(GAP + columns * (CELL_WIDTH + GAP), GAP + rows * (cellHeight + GAP));
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        int shown = Math.min(tables.length, 6);
+        return new Dimension(GAP + shown * (CELL_WIDTH + GAP), GAP + 4 * (cellHeight + GAP));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? ROW_HEIGHT : CELL_WIDTH / 4;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visible.height : visible.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // The grid wraps to the window's width and scrolls vertically
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        Rectangle clip = g.getClipBounds();
+        int firstRow = 0;
+        int lastRow = (tables.length - 1) / columns;
+        if (clip != null) {
+            firstRow = Math.max(0, (clip.y - GAP) / (cellHeight + GAP));
+            lastRow = Math.min(lastRow, (clip.y + clip.height - GAP) / (cellHeight + GAP));
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = 0; col < columns; col++) {
+                int index = row * columns + col;
+                if (index >= tables.length) {
+                    break;
+                }
+                int x = cellX(index);
+                int y = cellY(index);
+                if (clip == null || clip.intersects(x, y, CELL_WIDTH, cellHeight)) {
+                    paintTable(g2, tables[index], x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws one game as a compact scoreboard.
+     */
+    private void paintTable(Graphics2D g, Table table, int x, int y) {
+        // Read the counter first; the fields below are at least as new as it
+        int changes = table.changes;
+        int current = table.currentSeat;
+        int winner = table.winner;
+        FontMetrics metrics = g.getFontMetrics(TEXT_FONT);
+        int baseline = (ROW_HEIGHT + metrics.getAscent() - metrics.getDescent()) / 2;
+
+        g.setColor(Color.WHITE);
+        g.fillRect(x, y, CELL_WIDTH, cellHeight);
+        g.setColor(BORDER);
+        g.drawRect(x, y, CELL_WIDTH - 1, cellHeight - 1);
+        g.setFont(TITLE_FONT);
+        g.setColor(Color.DARK_GRAY);
+        g.drawString("Table " + number(table.number), x + 5, y + HEADER_HEIGHT - 4);
+        g.setFont(TEXT_FONT);
+        g.drawString("game " + number(table.gamesPlayed + 1), x + CELL_WIDTH - 60, y + HEADER_HEIGHT - 4);
+
+        for (int s = 0; s < table.names.length; s++) {
+            int rowY = y + HEADER_HEIGHT + s * ROW_HEIGHT;
+            int score = table.shownScores[s];
+            if (s == winner) {
+                g.setColor(WINNER);
+                g.fillRect(x + 1, rowY, CELL_WIDTH - 2, ROW_HEIGHT);
+            } else if (s == current && winner < 0) {
+                g.setColor(CURRENT);
+                g.fillRect(x + 1, rowY, CELL_WIDTH - 2, ROW_HEIGHT);
+            }
+            int barWidth = Math.min(score, BulldogGame.WINNING_SCORE) * 60 / BulldogGame.WINNING_SCORE;
+            g.setColor(BAR);
+            g.fillRect(x + 96, rowY + 3, barWidth, ROW_HEIGHT - 6);
+            g.setColor(s == winner ? GOLD : table.colors[s]);
+            g.fillRect(x + 1, rowY, 4, ROW_HEIGHT);
+            g.setColor(Color.BLACK);
+            g.drawString(table.names[s], x + 9, rowY + baseline);
+            g.drawString(number(score), x + 98, rowY + baseline);
+            g.setColor(Color.GRAY);
+            g.drawString(number(table.wins[s]), x + CELL_WIDTH - 24, rowY + baseline);
+        }
+
+        int footerY = y + HEADER_HEIGHT + table.names.length * ROW_HEIGHT + FOOTER_HEIGHT - 4;
+        if (winner >= 0) {
+            g.setColor(GOLD);
+            g.drawString(table.names[winner] + " wins", x + 9, footerY);
+        } else if (table.lastRoll == HeadlessGame.SIDES) {
+            g.setColor(BUST);
+            g.drawString("rolled a 6", x + 9, footerY);
+        } else if (table.lastRoll > 0) {
+            g.setColor(Color.DARK_GRAY);
+            g.drawString("rolled " + number(table.lastRoll) + ", turn " + number(table.shownTurnScore), x + 9, footerY);
+        }
+        // A change during this paint leaves the counter ahead of what was drawn; the next tick repaints
+        if (changes != table.changes) {
+            repaint(x, y, CELL_WIDTH, cellHeight);
+        }
+    }
+
+    private static String number(int value) {
+        return value >= 0 && value < NUMBERS.length ? NUMBERS[value] : Integer.toString(value);
+    }
+
+    /**
+     * One game in progress. Only the game thread changes a table; the
+     * fields read by the painter are published through {@link #changes}.
+     */
+    private static final class Table {
+        final int number;
+        final String[] names;
+        final Color[] colors;
+        final Strategy[] strategies;
+        final SimRandom random;
+        final int[] scores;
+        final int[] wins;
+        final int[] shownScores;
+        volatile int currentSeat;
+        volatile int shownTurnScore;
+        volatile int lastRoll;
+        volatile int winner = -1;
+        volatile int gamesPlayed;
+        volatile int changes;
+        private int turnScore;
+        private int turns;
+        private int resultSteps;
+
+        Table(int number, String[] specs, SimRandom random) {
+            this.number = number;
+            this.names = new String[specs.length];
+            this.colors = new Color[specs.length];
+            this.strategies = new Strategy[specs.length];
+            for (int s = 0; s < specs.length; s++) {
+                // A strategy per table, so no strategy is shared between games
+                strategies[s] = Strategies.parse(specs[s]);
+                names[s] = specs[s];
+                colors[s] = colorOf(specs[s]);
+            }
+            this.random = random;
+            this.scores = new int[specs.length];
+            this.wins = new int[specs.length];
+            this.shownScores = new int[specs.length];
+        }
+
+        /**
+         * Makes one roll, or counts down the pause after a finished game.
+         */
+        void step() {
+            if (winner >= 0 || turns >= HeadlessGame.MAX_ROUNDS * scores.length) {
+                if (++resultSteps >= RESULT_STEPS) {
+                    newGame();
+                }
+                return;
+            }
+            int seat = currentSeat;
+            int roll = random.nextInt(HeadlessGame.SIDES) + 1;
+            lastRoll = roll;
+            if (roll == HeadlessGame.SIDES) {
+                endTurn(seat, 0);
+            } else {
+                turnScore += roll;
+                shownTurnScore = turnScore;
+                if (!strategies[seat].shouldRoll(scores, seat, turnScore, roll, random)) {
+                    endTurn(seat, turnScore);
+                }
+            }
+            changes++;
+        }
+
+        private void endTurn(int seat, int points) {
+            scores[seat] += points;
+            shownScores[seat] = scores[seat];
+            turns++;
+            turnScore = 0;
+            shownTurnScore = 0;
+            // As in the game, a win is checked once the turn is over
+            if (scores[seat] >= BulldogGame.WINNING_SCORE) {
+                wins[seat]++;
+                winner = seat;
+                resultSteps = 0;
+            } else {
+                currentSeat = (seat + 1) % scores.length;
+            }
+        }
+
+        private void newGame() {
+            for (int s = 0; s < scores.length; s++) {
+                scores[s] = 0;
+                shownScores[s] = 0;
+            }
+            turnScore = 0;
+            turns = 0;
+            resultSteps = 0;
+            shownTurnScore = 0;
+            lastRoll = 0;
+            currentSeat = 0;
+            gamesPlayed++;
+            winner = -1;
+            changes++;
+        }
+
+        private static Color colorOf(String spec) {
+            if (spec.startsWith("fifteen")) return new Color(148, 0, 211); // Dark Violet
+            if (spec.startsWith("wimp")) return new Color(184, 134, 11); // Dark Goldenrod
+            if (spec.startsWith("odd")) return new Color(205, 92, 92); // Indian Red
+            if (spec.startsWith("random")) return new Color(60, 179, 113); // Medium Sea Green
+            return new Color(0, 128, 128); // Teal
+        }
+    }
+
+    /**
+     * Opens a window watching many games at once.
+     *
+     * Usage: {@code java SpectatorWall [tables] [stepMillis] [strategy...]},
+     * for example {@code java SpectatorWall 150 100 fifteen:20 wimp odd}.
+     * Without arguments, 120 tables of Fifteen, Wimp, Odd and Random roll
+     * ten times a second.
+     */
+    public static void main(String[] args) {
+        int tableCount = args.length > 0 ? Integer.parseInt(args[0]) : 120;
+        long stepMillis = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        String[] specs = args.length > 2
+            ? Arrays.copyOfRange(args, 2, args.length)
+            : new String[] {"fifteen", "wimp", "odd", "random"};
+
+        SwingUtilities.invokeLater(() -> {
+            SpectatorWall wall = new SpectatorWall(specs, tableCount, stepMillis, System.nanoTime());
+            JFrame frame = new JFrame("Bulldog Spectator Wall - " + tableCount + " games");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    wall.stop();
+                }
+            });
+            JScrollPane scroll = new JScrollPane(wall);
+            scroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+            frame.add(scroll);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        });
+    }
+}
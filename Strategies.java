@@ -0,0 +1,122 @@
+/**
+ * Factory methods for the headless equivalents of the built-in players.
+ *
+ * Each strategy reproduces the decision rule of the corresponding
+ * Swing player exactly, so simulation results carry over to the GUI.
+ */
+public final class Strategies {
+
+    private Strategies() {
+    }
+
+    /**
+     * The rule used by FifteenPlayer: keep rolling while the turn score
+     * is at or below the threshold.
+     *
+     * @param threshold The turn score at or below which the player rolls again
+     * @return The threshold strategy
+     */
+    public static Strategy fifteen(int threshold) {
+        return (scores, seat, turnScore, lastRoll, random) -> turnScore <= threshold;
+    }
+
+    /**
+     * The rule used by WimpPlayer: never roll more than once.
+     *
+     * @return The wimp strategy
+     */
+    public static Strategy wimp() {
+        return (scores, seat, turnScore, lastRoll, random) -> false;
+    }
+
+    /**
+     * The rule used by OddPlayer: roll again only after an odd face.
+     *
+     * @return The odd strategy
+     */
+    public static Strategy odd() {
+        return (scores, seat, turnScore, lastRoll, random) -> (lastRoll & 1) == 1;
+    }
+
+    /**
+     * The rule used by RandomPlayer, generalized to any continue probability.
+     * RandomPlayer itself flips a two-sided die, which is a probability of 0.5.
+     *
+     * @param continueProbability The chance of rolling again after each roll
+     * @return The random strategy
+     * @throws IllegalArgumentException if the probability is outside [0, 1)
+     */
+    public static Strategy random(double continueProbability) {
+        if (!(continueProbability >= 0.0 && continueProbability < 1.0)) {
+            throw new IllegalArgumentException("Continue probability must be in [0, 1)");
+        }
+        return (scores, seat, turnScore, lastRoll, random) -> random.nextDouble() < continueProbability;
+    }
+
+    /**
+     * The exact rule used by RandomPlayer: roll a two-sided die and stop
+     * on a one. Unlike {@link #random(double)} this consumes the same
+     * random draw as the Swing player, so a game replayed from the same
+     * seed makes the same choices.
+     *
+     * @return The RandomPlayer strategy
+     */
+    public static Strategy randomPlayer() {
+        return (scores, seat, turnScore, lastRoll, random) -> random.nextInt(2) + 1 != 1;
+    }
+
+    /**
+     * Returns the headless strategy matching a built-in player type.
+     *
+     * @param player The player whose decision rule is wanted
+     * @return The equivalent strategy
+     * @throws IllegalArgumentException if the player has no headless equivalent
+     */
+    public static Strategy forPlayer(Player player) {
+        if (player instanceof FifteenPlayer) return fifteen(15);
+        if (player instanceof WimpPlayer) return wimp();
+        if (player instanceof OddPlayer) return odd();
+        if (player instanceof RandomPlayer) return randomPlayer();
+        throw new IllegalArgumentException("No headless strategy for " + player.getClass().getSimpleName());
+    }
+
+    /**
+     * Builds a strategy from a short text description, so that lineups
+     * can be passed to other processes or given on the command line.
+     * Recognized forms are {@code fifteen}, {@code fifteen:<threshold>},
+     * {@code wimp}, {@code odd}, {@code random} (the exact RandomPlayer
+     * rule), {@code random:<probability>} and {@code genome:<thresholds>}
+     * (see {@link ThresholdGenome#toSpec()}).
+     *
+     * @param spec The description
+     * @return The described strategy
+     * @throws IllegalArgumentException if the description is not recognized
+     */
+    public static Strategy parse(String spec) {
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String argument = colon < 0 ? null : spec.substring(colon + 1);
+        try {
+            switch (kind) {
+                case "fifteen":
+                    return fifteen(argument == null ? 15 : Integer.parseInt(argument));
+                case "wimp":
+                    return wimp();
+                case "odd":
+                    return odd();
+                case "random":
+                    return argument == null ? randomPlayer() : random(Double.parseDouble(argument));
+                case "genome":
+                    if (argument != null) {
+                        return ThresholdGenome.parse(argument);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad strategy parameter: " + spec, e);
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + spec);
+    }
+}
@@ -0,0 +1,27 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * A headless roll/hold decision rule for the Bulldog Dice Game.
+ *
+ * The Swing players make their decisions inside Timer callbacks and
+ * report them through their panels, which makes them unusable for
+ * large simulations. A Strategy captures only the decision itself so
+ * that it can be driven by {@link HeadlessGame} without any UI.
+ *
+ * A turn always begins with one mandatory roll. The strategy is then
+ * asked after every roll that was not a six whether to keep rolling.
+ */
+public interface Strategy {
+
+    /**
+     * Decides whether the player in the given seat rolls again.
+     *
+     * @param scores The banked scores of every seat (must not be modified)
+     * @param seat The seat index of the deciding player
+     * @param turnScore The points accumulated so far this turn
+     * @param lastRoll The face of the most recent roll (1-5)
+     * @param random Random source for strategies that decide randomly
+     * @return true to roll again, false to hold and bank the turn score
+     */
+    boolean shouldRoll(int[] scores, int seat, int turnScore, int lastRoll, RandomGenerator random);
+}
@@ -0,0 +1,284 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput counters for one strategy: rolls, decisions and turns, with
+ * the time and heap allocation spent per turn.
+ *
+ * Counting is lock-free like {@link StrategyStats}. Allocation is read
+ * from the JVM's per-thread allocation counter, so a turn is measured in
+ * pieces, one per thread it runs on: the Swing players roll in Event
+ * Dispatch Thread callbacks, each of which adds its own allocation to the
+ * turn with {@link Turn#resume()} and {@link Turn#pause()}. Only a turn
+ * that ends on another thread without pausing first is timed but not
+ * counted towards the allocation mean.
+ *
+ * {@link MetricsRegistry} publishes the counters over JMX through
+ * {@link StrategyMetricsMXBean}.
+ */
+public class StrategyMetrics implements StrategyMetricsMXBean {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final String name;
+    private final long created = System.nanoTime();
+    private final LongAdder rolls = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder turnNanos = new LongAdder();
+    private final LongAdder allocatedTurns = new LongAdder();
+    private final LongAdder turnBytes = new LongAdder();
+
+    /**
+     * Creates empty counters.
+     *
+     * @param name The name of the strategy
+     */
+    public StrategyMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one finished turn. A turn makes one decision after every
+     * roll that was not a six.
+     *
+     * @param rollCount The rolls made
+     * @param busted true if the turn ended on a six
+     * @param nanos The wall time of the turn
+     * @param bytes The bytes allocated during the turn, or -1 if unknown
+     */
+    public void recordTurn(int rollCount, boolean busted, long nanos, long bytes) {
+        turns.increment();
+        rolls.add(rollCount);
+        decisions.add(busted ? rollCount - 1 : rollCount);
+        turnNanos.add(nanos);
+        if (bytes >= 0) {
+            allocatedTurns.increment();
+            turnBytes.add(bytes);
+        }
+    }
+
+    /**
+     * Starts measuring a turn on the current thread.
+     *
+     * @return The measurement, to end once the turn is over
+     */
+    public Turn beginTurn() {
+        return new Turn(this);
+    }
+
+    /**
+     * @return The bytes allocated so far by the current thread, or -1 if the JVM cannot tell
+     */
+    static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getRolls() {
+        return rolls.sum();
+    }
+
+    @Override
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public double getRollsPerSecond() {
+        return snapshot().getRollsPerSecond();
+    }
+
+    @Override
+    public double getDecisionsPerSecond() {
+        return snapshot().getDecisionsPerSecond();
+    }
+
+    @Override
+    public double getMeanTurnMicros() {
+        return snapshot().getMeanTurnNanos() / 1_000.0;
+    }
+
+    @Override
+    public double getMeanTurnBytes() {
+        return snapshot().getMeanTurnBytes();
+    }
+
+    /**
+     * Captures the current totals.
+     *
+     * @return The totals since the counters were created
+     */
+    public Snapshot snapshot() {
+        long now = System.nanoTime();
+        return new Snapshot(name, now, now - created, rolls.sum(), decisions.sum(), turns.sum(),
+            turnNanos.sum(), allocatedTurns.sum(), turnBytes.sum());
+    }
+
+    /**
+     * A turn being measured. Not thread-safe; end it exactly once.
+     *
+     * Allocation is counted per thread, so a turn whose work is split
+     * between the game thread and Event Dispatch Thread callbacks is
+     * measured in pieces: the thread that begins the turn measures until
+     * it calls {@link #pause()}, each callback wraps its work in
+     * {@link #resume()} and {@link #pause()}, and the pieces are summed.
+     * Pieces must follow one another, never overlap.
+     */
+    public static final class Turn {
+        private final StrategyMetrics metrics;
+        private final long startNanos = System.nanoTime();
+        private Thread pieceThread;
+        private long pieceStart;
+        private long bytes;
+        private boolean unknown;
+
+        Turn(StrategyMetrics metrics) {
+            this.metrics = metrics;
+            resume();
+        }
+
+        /**
+         * Starts measuring allocation on the current thread.
+         */
+        public void resume() {
+            pieceThread = Thread.currentThread();
+            pieceStart = allocatedBytes();
+        }
+
+        /**
+         * Stops measuring and adds what the current thread allocated since
+         * {@link #resume()} to the turn. Does nothing if not measuring.
+         */
+        public void pause() {
+            if (pieceThread == null) {
+                return;
+            }
+            if (pieceStart < 0 || pieceThread != Thread.currentThread()) {
+                unknown = true;
+            } else {
+                bytes += allocatedBytes() - pieceStart;
+            }
+            pieceThread = null;
+        }
+
+        /**
+         * Records the turn, ending any piece still being measured.
+         *
+         * @param rollCount The rolls made
+         * @param busted true if the turn ended on a six
+         */
+        public void end(int rollCount, boolean busted) {
+            pause();
+            metrics.recordTurn(rollCount, busted, System.nanoTime() - startNanos, unknown ? -1 : bytes);
+        }
+    }
+
+    /**
+     * Totals at one moment, or the change between two moments.
+     */
+    public static class Snapshot {
+        private final String name;
+        private final long takenAt;
+        private final long intervalNanos;
+        private final long rolls;
+        private final long decisions;
+        private final long turns;
+        private final long turnNanos;
+        private final long allocatedTurns;
+        private final long turnBytes;
+
+        Snapshot(String name, long takenAt, long intervalNanos, long rolls, long decisions, long turns,
+                 long turnNanos, long allocatedTurns, long turnBytes) {
+            this.name = name;
+            this.takenAt = takenAt;
+            this.intervalNanos = intervalNanos;
+            this.rolls = rolls;
+            this.decisions = decisions;
+            this.turns = turns;
+            this.turnNanos = turnNanos;
+            this.allocatedTurns = allocatedTurns;
+            this.turnBytes = turnBytes;
+        }
+
+        /**
+         * Returns the activity between an earlier snapshot and this one.
+         *
+         * @param earlier A snapshot of the same strategy taken before this one
+         * @return The difference, with rates over the time between the two
+         */
+        public Snapshot since(Snapshot earlier) {
+            return new Snapshot(name, takenAt, takenAt - earlier.takenAt, rolls - earlier.rolls,
+                decisions - earlier.decisions, turns - earlier.turns, turnNanos - earlier.turnNanos,
+                allocatedTurns - earlier.allocatedTurns, turnBytes - earlier.turnBytes);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRolls() {
+            return rolls;
+        }
+
+        public long getDecisions() {
+            return decisions;
+        }
+
+        public long getTurns() {
+            return turns;
+        }
+
+        public double getRollsPerSecond() {
+            return intervalNanos <= 0 ? 0.0 : rolls * 1e9 / intervalNanos;
+        }
+
+        public double getDecisionsPerSecond() {
+            return intervalNanos <= 0 ? 0.0 : decisions * 1e9 / intervalNanos;
+        }
+
+        public double getTurnsPerSecond() {
+            return intervalNanos <= 0 ? 0.0 : turns * 1e9 / intervalNanos;
+        }
+
+        /**
+         * @return Mean wall time per turn, or NaN if no turns were played
+         */
+        public double getMeanTurnNanos() {
+            return turns == 0 ? Double.NaN : (double) turnNanos / turns;
+        }
+
+        /**
+         * @return Mean bytes allocated per measured turn, or NaN if none was measured
+         */
+        public double getMeanTurnBytes() {
+            return allocatedTurns == 0 ? Double.NaN : (double) turnBytes / allocatedTurns;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s %,12.0f rolls/s %,12.0f decisions/s %,10.0f turns/s %,10.1f us/turn %,8.1f B/turn",
+                name, getRollsPerSecond(), getDecisionsPerSecond(), getTurnsPerSecond(),
+                getMeanTurnNanos() / 1_000.0, getMeanTurnBytes());
+        }
+    }
+}
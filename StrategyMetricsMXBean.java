@@ -0,0 +1,24 @@
+/**
+ * The JMX view of a strategy's counters; see {@link StrategyMetrics}.
+ */
+public interface StrategyMetricsMXBean {
+    String getName();
+
+    long getRolls();
+
+    long getDecisions();
+
+    long getTurns();
+
+    /** @return Rolls per second since the counters were created */
+    double getRollsPerSecond();
+
+    /** @return Decisions per second since the counters were created */
+    double getDecisionsPerSecond();
+
+    /** @return Mean wall time per turn in microseconds */
+    double getMeanTurnMicros();
+
+    /** @return Mean bytes allocated per turn, over the turns whose allocation was measured */
+    double getMeanTurnBytes();
+}
@@ -0,0 +1,223 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * A computer player that makes its roll/hold decisions with any headless
+ * {@link Strategy}, such as a policy learned by {@link QLearningTrainer}.
+ *
+ * Unlike the built-in players, a strategy may look at every seat's
+ * score, so the game tells this player where it sits before each turn
+ * with {@link #setTable(Player[], int)}.
+ */
+public class StrategyPlayer extends Player {
+    /** Dice object for rolling */
+    private Dice die;
+
+    /** The decision rule. */
+    private final Strategy strategy;
+
+    /** A short description of the strategy for the panel. */
+    private final String description;
+
+    /** Random source for strategies that decide randomly. */
+    private Random random = new Random();
+
+    /** The players at the table, in seat order. */
+    private Player[] table;
+
+    /** This player's seat at the table. */
+    private int seat;
+
+    /** Where decisions are stored for replay, or null if the dice alone reproduce them. */
+    private ReplayRecord replayRecord;
+
+    /** Label showing the current player's turn status. */
+    private JLabel statusLabel;
+
+    /** Text area for logging game events and player actions. */
+    private JTextArea gameLog;
+
+    /** Delay between rolls, in milliseconds, so the turn can be followed on screen. */
+    private static final int ROLL_DELAY = 600;
+
+    /**
+     * Creates a player driven by a strategy.
+     *
+     * @param name the name to assign to the player
+     * @param strategy the decision rule
+     * @param description a short description shown on the player's panel
+     */
+    public StrategyPlayer(String name, Strategy strategy, String description) {
+        super(name);
+        this.strategy = strategy;
+        this.description = description;
+        die = new Dice(6);
+        initializePanel();
+    }
+
+    /**
+     * Sets the record this player's decisions are stored in, for a
+     * strategy whose choices cannot be recomputed from the dice.
+     *
+     * @param replayRecord the record of the current game, or null to store nothing
+     */
+    public void setReplayRecord(ReplayRecord replayRecord) {
+        this.replayRecord = replayRecord;
+    }
+
+    /**
+     * Makes this player's die and random decisions draw from the given generator.
+     *
+     * @param random the generator for all of this player's rolls
+     */
+    @Override
+    public void setRandom(Random random) {
+        die.setRandom(random);
+        this.random = random == null ? new Random() : random;
+    }
+
+    /**
+     * Tells the player who is at the table and where it sits, so its
+     * strategy can see the other scores.
+     *
+     * @param table the players in seat order
+     * @param seat this player's seat
+     */
+    public void setTable(Player[] table, int seat) {
+        this.table = table;
+        this.seat = seat;
+    }
+
+    /**
+     * Initializes the graphical user interface panel for the player.
+     */
+    private void initializePanel() {
+        JPanel playerPanel = new JPanel(new BorderLayout());
+
+        statusLabel = new JLabel(getName() + "'s turn", SwingConstants.CENTER);
+        statusLabel.setFont(new Font("Arial", Font.BOLD, 18));
+
+        JLabel strategyLabel = new JLabel("Strategy: " + description, SwingConstants.CENTER);
+        strategyLabel.setFont(new Font("Arial", Font.ITALIC, 14));
+
+        gameLog = new JTextArea(10, 30);
+        gameLog.setEditable(false);
+
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(statusLabel, BorderLayout.CENTER);
+        header.add(strategyLabel, BorderLayout.SOUTH);
+        playerPanel.add(header, BorderLayout.NORTH);
+        playerPanel.add(new JScrollPane(gameLog), BorderLayout.CENTER);
+
+        setPlayerFrame(playerPanel);
+    }
+
+    /**
+     * Plays one turn, asking the strategy after every roll whether to continue.
+     *
+     * The turn runs on the game thread, and so do the strategy's decisions;
+     * only the display updates go to the event dispatch thread, so a
+     * strategy that searches for a while never freezes the window.
+     *
+     * @return the score earned during the turn (0 if a six was rolled)
+     */
+    @Override
+    public int play() {
+        SwingUtilities.invokeLater(() -> {
+            gameLog.setText("");
+            statusLabel.setText(getName() + "'s turn");
+        });
+        logMessage(getName() + " is starting their turn.");
+        FlightEvents.Turn turnEvent = FlightEvents.beginTurn(this, description);
+        StrategyMetrics.Turn metricsTurn = MetricsRegistry.global().register(description).beginTurn();
+
+        int turnScore = 0;
+        int rolls = 0;
+        while (true) {
+            pause();
+            if (Thread.currentThread().isInterrupted()) {
+                // The game was abandoned; stop where the turn stands
+                FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+                metricsTurn.end(rolls, false);
+                return turnScore;
+            }
+            int roll = die.roll();
+            rolls++;
+            logMessage(getName() + " rolled a " + roll);
+
+            if (roll == 6) {
+                setStatus(getName() + " busted!");
+                logMessage("Rolled a 6. Turn ends with 0 points.");
+                FlightEvents.endTurn(turnEvent, 0, rolls, turnScore);
+                metricsTurn.end(rolls, true);
+                return 0;
+            }
+
+            turnScore += roll;
+            logMessage("Turn score is now: " + turnScore);
+            FlightEvents.Decision decision = FlightEvents.beginDecision();
+            boolean rollAgain = strategy.shouldRoll(tableScores(), seat, turnScore, roll, random);
+            FlightEvents.endDecision(decision, this, description, turnScore, rollAgain);
+            if (replayRecord != null) {
+                replayRecord.addDecision(rollAgain);
+            }
+            if (!rollAgain) {
+                setStatus(getName() + " stops at " + turnScore);
+                logMessage(getName() + " stops at " + turnScore + " points.");
+                FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+                metricsTurn.end(rolls, false);
+                return turnScore;
+            }
+            setStatus(getName() + " will roll again");
+        }
+    }
+
+    /**
+     * Waits between rolls.
+     */
+    private void pause() {
+        try {
+            Thread.sleep(ROLL_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Shows a status message on the event dispatch thread.
+     *
+     * @param status the text to show
+     */
+    private void setStatus(String status) {
+        SwingUtilities.invokeLater(() -> statusLabel.setText(status));
+    }
+
+    /**
+     * @return the banked score of every seat, or just this player's if no table was set
+     */
+    private int[] tableScores() {
+        if (table == null) {
+            seat = 0;
+            return new int[] {getScore()};
+        }
+        int[] scores = new int[table.length];
+        for (int s = 0; s < scores.length; s++) {
+            scores[s] = table[s].getScore();
+        }
+        return scores;
+    }
+
+    /**
+     * Adds a message to the game log and scrolls to the bottom, on the
+     * event dispatch thread.
+     *
+     * @param message the text message to be logged
+     */
+    private void logMessage(String message) {
+        SwingUtilities.invokeLater(() -> {
+            gameLog.append(message + "\n");
+            gameLog.setCaretPosition(gameLog.getDocument().getLength());
+        });
+    }
+}
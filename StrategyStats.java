@@ -0,0 +1,192 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streaming statistics for one strategy across any number of games
+ * and threads.
+ *
+ * Every recording method is lock-free and allocation-free, so game
+ * loops can call it directly. {@link #snapshot()} may be called at any
+ * time during a run to get a consistent-enough view of the totals.
+ */
+public class StrategyStats {
+    /** Turn scores above this are counted in the last histogram bucket. */
+    public static final int MAX_TURN_SCORE_BUCKET = 60;
+
+    /** Game lengths (total turns) above this are counted in the last histogram bucket. */
+    public static final int MAX_GAME_LENGTH_BUCKET = 400;
+
+    private final String name;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder busts = new LongAdder();
+    private final LongAdder rolls = new LongAdder();
+    private final ConcurrentMoments turnScores = new ConcurrentMoments();
+    private final StripedHistogram turnScoreHistogram = new StripedHistogram(0, 1, MAX_TURN_SCORE_BUCKET + 1);
+    private final StripedHistogram gameLengthHistogram = new StripedHistogram(0, 5, MAX_GAME_LENGTH_BUCKET / 5 + 1);
+    private final QuantileSketch gameLengths = new QuantileSketch(0.01, 100_000);
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param name The name of the strategy
+     */
+    public StrategyStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the end of one turn.
+     *
+     * @param turnScore The points banked (0 on a bust)
+     * @param rollCount The rolls made during the turn
+     * @param busted true if the turn ended on a six
+     */
+    public void recordTurn(int turnScore, int rollCount, boolean busted) {
+        turns.increment();
+        rolls.add(rollCount);
+        if (busted) {
+            busts.increment();
+        }
+        turnScores.add(turnScore);
+        turnScoreHistogram.record(turnScore);
+    }
+
+    /**
+     * Records the end of one game this strategy took part in.
+     *
+     * @param length The total number of turns played in the game
+     * @param won true if this strategy's seat won
+     */
+    public void recordGame(int length, boolean won) {
+        games.increment();
+        if (won) {
+            wins.increment();
+        }
+        gameLengthHistogram.record(length);
+        gameLengths.record(length);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Captures the current totals. Writers keep running while this is
+     * taken, so counters read a few nanoseconds apart may differ slightly.
+     *
+     * @return A new immutable snapshot
+     */
+    public Snapshot snapshot() {
+        double[] q = gameLengths.quantiles(0.5, 0.9, 0.99);
+        return new Snapshot(name, games.sum(), wins.sum(), turns.sum(), busts.sum(), rolls.sum(),
+            turnScores.snapshot(), turnScoreHistogram.snapshot(), gameLengthHistogram.snapshot(),
+            q[0], q[1], q[2]);
+    }
+
+    /**
+     * An immutable view of a strategy's statistics at one moment.
+     */
+    public static class Snapshot {
+        private final String name;
+        private final long games;
+        private final long wins;
+        private final long turns;
+        private final long busts;
+        private final long rolls;
+        private final RunningMoments turnScore;
+        private final long[] turnScoreHistogram;
+        private final long[] gameLengthHistogram;
+        private final double medianLength;
+        private final double p90Length;
+        private final double p99Length;
+
+        Snapshot(String name, long games, long wins, long turns, long busts, long rolls,
+                 RunningMoments turnScore, long[] turnScoreHistogram, long[] gameLengthHistogram,
+                 double medianLength, double p90Length, double p99Length) {
+            this.name = name;
+            this.games = games;
+            this.wins = wins;
+            this.turns = turns;
+            this.busts = busts;
+            this.rolls = rolls;
+            this.turnScore = turnScore;
+            this.turnScoreHistogram = turnScoreHistogram;
+            this.gameLengthHistogram = gameLengthHistogram;
+            this.medianLength = medianLength;
+            this.p90Length = p90Length;
+            this.p99Length = p99Length;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public long getTurns() {
+            return turns;
+        }
+
+        public long getBusts() {
+            return busts;
+        }
+
+        public long getRolls() {
+            return rolls;
+        }
+
+        public double getWinRate() {
+            return games == 0 ? 0.0 : (double) wins / games;
+        }
+
+        public double getBustRate() {
+            return turns == 0 ? 0.0 : (double) busts / turns;
+        }
+
+        /**
+         * @return Mean and variance of the points banked per turn
+         */
+        public RunningMoments getTurnScore() {
+            return turnScore;
+        }
+
+        /**
+         * @return Turn counts by score, one bucket per point from 0 to {@link #MAX_TURN_SCORE_BUCKET}
+         */
+        public long[] getTurnScoreHistogram() {
+            return turnScoreHistogram.clone();
+        }
+
+        /**
+         * @return Game counts by length in turns, in buckets of five turns
+         */
+        public long[] getGameLengthHistogram() {
+            return gameLengthHistogram.clone();
+        }
+
+        public double getMedianLength() {
+            return medianLength;
+        }
+
+        public double getP90Length() {
+            return p90Length;
+        }
+
+        public double getP99Length() {
+            return p99Length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s games %,d  win %.4f  bust %.4f  turn %s  length p50 %.0f p90 %.0f p99 %.0f",
+                name, games, getWinRate(), getBustRate(), turnScore, medianLength, p90Length, p99Length);
+        }
+    }
+}
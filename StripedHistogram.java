@@ -0,0 +1,127 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram with fixed-width buckets that many threads can record
+ * into at once, in the manner of {@link java.util.concurrent.atomic.LongAdder}.
+ *
+ * The counters are split into stripes, and each thread increments the
+ * stripe chosen by its thread id. Stripes are padded apart so threads on
+ * different stripes never share a cache line. Recording allocates
+ * nothing; reading sums the stripes, so counts can be taken at any time.
+ *
+ * Values below the first bucket are counted in the first bucket and
+ * values past the last bucket are counted in the last one.
+ */
+public class StripedHistogram {
+    /** Number of stripes: the next power of two at or above twice the CPU count. */
+    static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+
+    /** Longs of padding between stripes (two 64-byte cache lines). */
+    private static final int PAD = 16;
+
+    private final long min;
+    private final long width;
+    private final int buckets;
+    private final int stride;
+    private final AtomicLongArray counts;
+
+    /**
+     * Creates a histogram.
+     *
+     * @param min The lowest value of the first bucket
+     * @param width The width of every bucket
+     * @param buckets The number of buckets
+     * @throws IllegalArgumentException if width or buckets is less than 1
+     */
+    public StripedHistogram(long min, long width, int buckets) {
+        if (width < 1 || buckets < 1) {
+            throw new IllegalArgumentException("Histogram needs a positive width and bucket count");
+        }
+        this.min = min;
+        this.width = width;
+        this.buckets = buckets;
+        this.stride = buckets + PAD;
+        this.counts = new AtomicLongArray(STRIPES * stride);
+    }
+
+    /**
+     * Records one value.
+     *
+     * @param value The value to count
+     */
+    public void record(long value) {
+        long bucket = (value - min) / width;
+        if (value < min) {
+            bucket = 0;
+        } else if (bucket >= buckets) {
+            bucket = buckets - 1;
+        }
+        counts.getAndIncrement(stripe() * stride + (int) bucket);
+    }
+
+    /**
+     * Adds a count directly to a bucket, used when merging histograms.
+     *
+     * @param bucket The bucket index
+     * @param count The count to add
+     */
+    public void addToBucket(int bucket, long count) {
+        counts.getAndAdd(stripe() * stride + bucket, count);
+    }
+
+    /**
+     * Adds all counts of another histogram with the same layout to this one.
+     *
+     * @param other The histogram to merge in; it is not modified
+     * @throws IllegalArgumentException if the bucket layouts differ
+     */
+    public void merge(StripedHistogram other) {
+        if (other.min != min || other.width != width || other.buckets != buckets) {
+            throw new IllegalArgumentException("Histogram layouts differ");
+        }
+        long[] theirs = other.snapshot();
+        for (int b = 0; b < buckets; b++) {
+            if (theirs[b] != 0) {
+                addToBucket(b, theirs[b]);
+            }
+        }
+    }
+
+    /**
+     * Sums the stripes into a new array of bucket counts.
+     *
+     * @return The current count of every bucket
+     */
+    public long[] snapshot() {
+        long[] result = new long[buckets];
+        for (int s = 0; s < STRIPES; s++) {
+            int base = s * stride;
+            for (int b = 0; b < buckets; b++) {
+                result[b] += counts.get(base + b);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the lowest value counted in a bucket.
+     *
+     * @param bucket The bucket index
+     * @return The bucket's lower bound
+     */
+    public long bucketStart(int bucket) {
+        return min + bucket * width;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Picks the calling thread's stripe by mixing its id.
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (STRIPES - 1);
+    }
+}
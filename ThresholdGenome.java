@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * A hold-threshold strategy whose threshold depends on the game situation.
+ *
+ * The situation is split by the gap to the best opponent and by the
+ * player's distance to {@link BulldogGame#WINNING_SCORE}, and each cell
+ * has its own threshold: the player keeps rolling while its turn score
+ * is below the threshold of the current cell, and always holds once the
+ * turn would win. FifteenPlayer is the special case with every threshold
+ * at 16.
+ *
+ * Genomes are immutable and compare by their thresholds, so they can key
+ * a fitness cache.
+ */
+public final class ThresholdGenome implements Strategy {
+    /** Upper bounds of the score-gap cells (own minus best opponent); the last cell is open. */
+    private static final int[] GAP_LIMITS = {-30, -10, 10, 30};
+
+    /** Upper bounds of the distance-to-win cells; the last cell is open. */
+    private static final int[] DISTANCE_LIMITS = {15, 30, 60};
+
+    /** The number of situation cells, and so of genes. */
+    public static final int GENES = (GAP_LIMITS.length + 1) * (DISTANCE_LIMITS.length + 1);
+
+    /** The largest threshold a gene may hold. */
+    public static final int MAX_THRESHOLD = 60;
+
+    private final byte[] thresholds;
+
+    /**
+     * Creates a genome.
+     *
+     * @param thresholds One threshold per cell, each in [1, {@link #MAX_THRESHOLD}]
+     * @throws IllegalArgumentException if the count or a value is out of range
+     */
+    public ThresholdGenome(int... thresholds) {
+        if (thresholds.length != GENES) {
+            throw new IllegalArgumentException("A genome needs " + GENES + " thresholds");
+        }
+        this.thresholds = new byte[GENES];
+        for (int i = 0; i < GENES; i++) {
+            if (thresholds[i] < 1 || thresholds[i] > MAX_THRESHOLD) {
+                throw new IllegalArgumentException("Thresholds must be in [1, " + MAX_THRESHOLD + "]");
+            }
+            this.thresholds[i] = (byte) thresholds[i];
+        }
+    }
+
+    /**
+     * @param threshold The threshold for every cell
+     * @return A genome that ignores the situation
+     */
+    public static ThresholdGenome uniform(int threshold) {
+        int[] genes = new int[GENES];
+        Arrays.fill(genes, threshold);
+        return new ThresholdGenome(genes);
+    }
+
+    /**
+     * @param random The random source
+     * @return A genome with every threshold drawn uniformly
+     */
+    public static ThresholdGenome random(RandomGenerator random) {
+        int[] genes = new int[GENES];
+        for (int i = 0; i < GENES; i++) {
+            genes[i] = 1 + random.nextInt(MAX_THRESHOLD);
+        }
+        return new ThresholdGenome(genes);
+    }
+
+    @Override
+    public boolean shouldRoll(int[] scores, int seat, int turnScore, int lastRoll, RandomGenerator random) {
+        int own = scores[seat];
+        if (own + turnScore >= BulldogGame.WINNING_SCORE) {
+            return false;
+        }
+        int gap = own - QPolicy.bestOpponent(scores, seat);
+        int g = 0;
+        while (g < GAP_LIMITS.length && gap >= GAP_LIMITS[g]) {
+            g++;
+        }
+        int distance = BulldogGame.WINNING_SCORE - own;
+        int d = 0;
+        while (d < DISTANCE_LIMITS.length && distance >= DISTANCE_LIMITS[d]) {
+            d++;
+        }
+        return turnScore < thresholds[g * (DISTANCE_LIMITS.length + 1) + d];
+    }
+
+    /**
+     * @param gene The cell index
+     * @return The threshold of that cell
+     */
+    public int getThreshold(int gene) {
+        return thresholds[gene];
+    }
+
+    /**
+     * Mixes two genomes gene by gene, then nudges some genes.
+     *
+     * @param other The other parent
+     * @param mutationRate The chance of each gene being mutated
+     * @param random The random source
+     * @return The child
+     */
+    public ThresholdGenome breed(ThresholdGenome other, double mutationRate, RandomGenerator random) {
+        int[] genes = new int[GENES];
+        for (int i = 0; i < GENES; i++) {
+            genes[i] = random.nextBoolean() ? thresholds[i] : other.thresholds[i];
+            if (random.nextDouble() < mutationRate) {
+                int step = 1 + random.nextInt(4);
+                genes[i] += random.nextBoolean() ? step : -step;
+                genes[i] = Math.max(1, Math.min(MAX_THRESHOLD, genes[i]));
+            }
+        }
+        return new ThresholdGenome(genes);
+    }
+
+    /**
+     * Returns the description understood by {@link Strategies#parse}, which
+     * is how a genome is exported as a player configuration.
+     *
+     * @return The description, e.g. {@code genome:16,16,...}
+     */
+    public String toSpec() {
+        StringBuilder spec = new StringBuilder("genome:");
+        for (int i = 0; i < GENES; i++) {
+            if (i > 0) {
+                spec.append(',');
+            }
+            spec.append(thresholds[i]);
+        }
+        return spec.toString();
+    }
+
+    /**
+     * Reads the thresholds part of a {@link #toSpec()} description.
+     *
+     * @param genes Comma-separated thresholds
+     * @return The genome
+     * @throws IllegalArgumentException if the list is malformed
+     */
+    public static ThresholdGenome parse(String genes) {
+        String[] parts = genes.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return new ThresholdGenome(values);
+    }
+
+    /**
+     * Creates a Swing player that plays this genome.
+     *
+     * @param name The player's name
+     * @return The player
+     */
+    public StrategyPlayer toPlayer(String name) {
+        return new StrategyPlayer(name, this, "Evolved thresholds");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ThresholdGenome && Arrays.equals(thresholds, ((ThresholdGenome) other).thresholds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(thresholds);
+    }
+
+    @Override
+    public String toString() {
+        return toSpec();
+    }
+}
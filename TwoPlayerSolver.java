@@ -0,0 +1,121 @@
+import java.nio.file.Path;
+
+/**
+ * Solves two-player Bulldog exactly, producing a {@link QPolicy} whose
+ * values are true win probabilities under optimal play by both sides.
+ *
+ * The value of a state (own score, opponent score, turn total) depends
+ * on states with a higher score total, reached by holding, and on the
+ * opponent's turn-start value at the same total, reached by a six. The
+ * solver therefore sweeps score totals from the top down; within a total
+ * the seats (i, j) and (j, i) only depend on each other through their
+ * turn-start values, which are found by iterating the two rows to a
+ * fixed point. The whole table takes well under a second to build.
+ *
+ * In games with more than two players the table is read against the
+ * leading opponent, as {@link QPolicy} does.
+ */
+public final class TwoPlayerSolver {
+    private static final int WIN = BulldogGame.WINNING_SCORE;
+
+    /** Fixed-point tolerance on turn-start win probabilities. */
+    private static final double TOLERANCE = 1e-12;
+
+    private TwoPlayerSolver() {
+    }
+
+    /**
+     * Builds the optimal policy table. The hold value of a turn-start
+     * state is left at zero, since the first roll of a turn is mandatory.
+     *
+     * @return The policy, with values in [0, 1]
+     */
+    public static QPolicy solve() {
+        float[] values = new float[QPolicy.size()];
+        // Turn-start win probabilities, kept in double precision for the sweep
+        double[][] start = new double[WIN][WIN];
+        double[] row = new double[WIN + 6];
+        for (int total = 2 * (WIN - 1); total >= 0; total--) {
+            for (int i = Math.max(0, total - (WIN - 1)); i <= total / 2; i++) {
+                int j = total - i;
+                double a = 0.5;
+                double b = 0.5;
+                while (true) {
+                    double nextA = solveRow(i, j, 1.0 - b, start, row, null);
+                    double nextB = solveRow(j, i, 1.0 - nextA, start, row, null);
+                    boolean done = Math.abs(nextA - a) < TOLERANCE && Math.abs(nextB - b) < TOLERANCE;
+                    a = nextA;
+                    b = nextB;
+                    if (done) {
+                        break;
+                    }
+                }
+                start[i][j] = solveRow(i, j, 1.0 - b, start, row, values);
+                start[j][i] = solveRow(j, i, 1.0 - start[i][j], start, row, values);
+            }
+        }
+        return new QPolicy(values);
+    }
+
+    /**
+     * Evaluates every turn total of one (own, opponent) pair, from the
+     * highest down, and optionally stores the hold and roll values.
+     *
+     * @param own The deciding player's banked score
+     * @param opponent The opponent's banked score
+     * @param bustValue The win probability after rolling a six
+     * @param start Turn-start values of every pair solved so far
+     * @param row Scratch space with room for turn totals up to WIN + 5
+     * @param values The table to fill, or null to only find the turn-start value
+     * @return The win probability at the start of the turn
+     */
+    private static double solveRow(int own, int opponent, double bustValue, double[][] start,
+                                   double[] row, float[] values) {
+        // Any total that reaches the winning score is banked for a certain win
+        for (int t = WIN - own; t < WIN - own + 6; t++) {
+            row[t] = 1.0;
+        }
+        for (int t = WIN - own - 1; t >= 0; t--) {
+            double roll = bustValue;
+            for (int face = 1; face < HeadlessGame.SIDES; face++) {
+                roll += row[t + face];
+            }
+            roll /= HeadlessGame.SIDES;
+            double hold = t == 0 ? 0.0 : 1.0 - start[opponent][own + t];
+            row[t] = t == 0 ? roll : Math.max(hold, roll);
+            if (values != null) {
+                int index = QPolicy.index(own, opponent, t);
+                values[index + QPolicy.HOLD] = (float) hold;
+                values[index + QPolicy.ROLL] = (float) roll;
+            }
+        }
+        return row[0];
+    }
+
+    /**
+     * Solves the game and saves the table.
+     * Usage: {@code java TwoPlayerSolver [file]}
+     */
+    public static void main(String[] args) throws Exception {
+        long started = System.nanoTime();
+        QPolicy policy = solve();
+        float[] values = policy.getValues();
+        System.out.printf("Solved in %d ms%n", (System.nanoTime() - started) / 1_000_000);
+        int first = QPolicy.index(0, 0, 0) + QPolicy.ROLL;
+        System.out.printf("First player wins %.4f of optimal games%n", values[first]);
+        for (int own = 0; own < WIN; own += 20) {
+            StringBuilder line = new StringBuilder(String.format("own %3d holds at:", own));
+            for (int opponent = 0; opponent < WIN; opponent += 20) {
+                int t = 1;
+                while (own + t < WIN && policy.shouldRoll(new int[] {own, opponent}, 0, t, 1, null)) {
+                    t++;
+                }
+                line.append(String.format(" %3d", t));
+            }
+            System.out.println(line);
+        }
+        if (args.length > 0) {
+            policy.save(Path.of(args[0]));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
+import java.util.Random;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
@@ -39,6 +40,15 @@ public class WimpPlayer extends Player {
     
     /** Flag to control the continuation of the player's turn. */
     private boolean continueTurn;
+    
+    /** Flight recorder event timing the current turn. */
+    private FlightEvents.Turn turnEvent;
+    
+    /** Throughput measurement of the current turn. */
+    private StrategyMetrics.Turn metricsTurn;
+    
+    /** Rolls made so far this turn. */
+    private int rolls;
 
     /**
      * Creates a default WimpPlayer with the name "Wimp".
@@ -57,6 +67,25 @@ public class WimpPlayer extends Player {
         /** Create a six-sided die */
         die = new Dice(6);
         initializePanel();
+        
+        // One timer paces every roll of every turn
+        delayTimer = new Timer(500, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                doSingleRoll();
+            }
+        });
+        delayTimer.setRepeats(false);
+    }
+
+    /**
+     * Makes this player's die draw from the given generator.
+     * 
+     * @param random the generator for all of this player's rolls
+     */
+    @Override
+    public void setRandom(Random random) {
+        die.setRandom(random);
     }
 
     /**
@@ -94,18 +123,17 @@ public class WimpPlayer extends Player {
     public int play() {
         turnScore = 0;
         continueTurn = true;
+        rolls = 0;
         gameLog.setText("");
         
         logMessage(getName() + " is starting their turn.");
+        turnEvent = FlightEvents.beginTurn(this, "Wimp");
+        metricsTurn = MetricsRegistry.global().register("Wimp").beginTurn();
+        // The rolls run on the Event Dispatch Thread, which measures each one
+        metricsTurn.pause();
         
         // Begin the rolling sequence with a timer for delay
-        delayTimer = new Timer(500, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                doSingleRoll();
-            }
-        });
-        delayTimer.setRepeats(false);
+        delayTimer.setInitialDelay(500);
         delayTimer.start();
         
         // Wait until the turn is complete
@@ -113,7 +141,9 @@ public class WimpPlayer extends Player {
             try {
                 Thread.sleep(100);
             } catch (InterruptedException e) {
+                // The game was abandoned; stop waiting for the turn
                 Thread.currentThread().interrupt();
+                break;
             }
         }
         
@@ -130,8 +160,10 @@ public class WimpPlayer extends Player {
      * - Always ends the turn after one roll
      */
     private void doSingleRoll() {
+        metricsTurn.resume();
         // Roll the die
         int roll = die.roll();
+        rolls++;
         
         // Log the roll
         logMessage(getName() + " rolled a " + roll);
@@ -140,8 +172,14 @@ public class WimpPlayer extends Player {
         if (roll == 6) {
             logMessage("Rolled a 6. Turn ends with 0 points.");
             turnScore = 0;
+            FlightEvents.endTurn(turnEvent, 0, rolls, 0);
+            metricsTurn.end(rolls, true);
         } else {
             turnScore = roll;
+            FlightEvents.Decision decision = FlightEvents.beginDecision();
+            FlightEvents.endDecision(decision, this, "Wimp", turnScore, false);
+            FlightEvents.endTurn(turnEvent, turnScore, rolls, -1);
+            metricsTurn.end(rolls, false);
             logMessage("Being cautious, " + getName() + " chooses not to roll again.");
             logMessage("Turn ends with " + turnScore + " points.");
         }
@@ -0,0 +1,220 @@
+import javax.swing.Timer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Estimates every player's chance of winning from the current scores,
+ * away from the event dispatch thread.
+ *
+ * When every player follows a fixed rule the chances are computed exactly
+ * by {@link MarkovAnalyzer} in a few milliseconds. Otherwise the estimator
+ * plays games out from the current position with each player's built-in
+ * rule (the FifteenPlayer rule stands in for humans and other players),
+ * refining the estimate batch by batch.
+ *
+ * The work runs on one background thread, and {@link #restart} cancels
+ * whatever estimate is running before starting a new one. Results are
+ * handed to the listener on the event dispatch thread by a Swing timer
+ * that fires once per frame and only delivers the newest estimate, so a
+ * fast estimate can never flood the UI.
+ */
+public class WinProbabilityEstimator {
+    /** Delay between deliveries to the event dispatch thread: one frame at 60 Hz. */
+    private static final int FRAME_MILLIS = 16;
+
+    /** Games played between published refinements. */
+    private static final int BATCH_GAMES = 2_000;
+
+    /** Games after which an estimate stops refining. */
+    private static final int MAX_GAMES = 400_000;
+
+    /**
+     * Receives estimates on the event dispatch thread.
+     */
+    public interface Listener {
+        /**
+         * @param probabilities The chance of winning for each seat
+         * @param games The games the estimate is based on, or 0 if it is exact
+         */
+        void estimated(double[] probabilities, long games);
+    }
+
+    /**
+     * An estimate ready for delivery.
+     */
+    private static final class Estimate {
+        final int generation;
+        final double[] probabilities;
+        final long games;
+
+        Estimate(int generation, double[] probabilities, long games) {
+            this.generation = generation;
+            this.probabilities = probabilities;
+            this.games = games;
+        }
+    }
+
+    private final Listener listener;
+    private final ExecutorService executor;
+    private final AtomicReference<Estimate> pending = new AtomicReference<>();
+    private final Timer frameTimer;
+    private Future<?> running;
+    /** Incremented by every restart and cancel, so late results of a cancelled estimate are dropped. */
+    private volatile int generation;
+
+    /**
+     * Creates an estimator. Its background thread exits when idle, so an
+     * abandoned estimator holds no thread.
+     *
+     * @param listener The receiver of estimates
+     */
+    public WinProbabilityEstimator(Listener listener) {
+        this.listener = listener;
+        this.executor = new ThreadPoolExecutor(0, 1, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "win-probability");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.frameTimer = new Timer(FRAME_MILLIS, e -> deliver());
+    }
+
+    /**
+     * Cancels any running estimate and starts one for a new position.
+     *
+     * @param players The players in seat order
+     * @param nextSeat The seat about to take its turn
+     */
+    public synchronized void restart(Player[] players, int nextSeat) {
+        cancel();
+        int[] scores = new int[players.length];
+        for (int s = 0; s < players.length; s++) {
+            scores[s] = players[s].getScore();
+            if (scores[s] >= BulldogGame.WINNING_SCORE) {
+                return;
+            }
+        }
+        MarkovAnalyzer exact = null;
+        Strategy[] models = new Strategy[players.length];
+        try {
+            exact = MarkovAnalyzer.forPlayers(Arrays.asList(players));
+        } catch (IllegalArgumentException e) {
+            for (int s = 0; s < players.length; s++) {
+                models[s] = model(players[s]);
+            }
+        }
+        MarkovAnalyzer analyzer = exact;
+        int current = generation;
+        running = executor.submit(() -> {
+            if (analyzer != null) {
+                MarkovAnalyzer.Result result = analyzer.analyze(scores, nextSeat, 1e-9);
+                double[] probabilities = new double[scores.length];
+                for (int s = 0; s < probabilities.length; s++) {
+                    probabilities[s] = result.getWinProbability(s);
+                }
+                publish(new Estimate(current, probabilities, 0));
+            } else {
+                simulate(models, scores, nextSeat, current);
+            }
+        });
+        frameTimer.start();
+    }
+
+    /**
+     * Stops the running estimate, if any. An estimate already waiting for
+     * delivery is dropped.
+     */
+    public synchronized void cancel() {
+        generation++;
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+        pending.set(null);
+    }
+
+    /**
+     * Plays games out from the position, publishing the running estimate
+     * after every batch until interrupted or done.
+     */
+    private void simulate(Strategy[] models, int[] start, int nextSeat, int current) {
+        int seats = start.length;
+        int[] scores = new int[seats];
+        long[] wins = new long[seats];
+        SimRandom random = new SimRandom(System.nanoTime());
+        long games = 0;
+        while (games < MAX_GAMES) {
+            for (int g = 0; g < BATCH_GAMES; g++) {
+                System.arraycopy(start, 0, scores, 0, seats);
+                int seat = nextSeat;
+                for (int turn = 0; turn < HeadlessGame.MAX_ROUNDS * seats; turn++) {
+                    scores[seat] += HeadlessGame.playTurn(models[seat], scores, seat, random);
+                    if (scores[seat] >= BulldogGame.WINNING_SCORE) {
+                        wins[seat]++;
+                        break;
+                    }
+                    seat = seat + 1 == seats ? 0 : seat + 1;
+                }
+            }
+            games += BATCH_GAMES;
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            double[] probabilities = new double[seats];
+            for (int s = 0; s < seats; s++) {
+                probabilities[s] = (double) wins[s] / games;
+            }
+            publish(new Estimate(current, probabilities, games));
+        }
+    }
+
+    private void publish(Estimate estimate) {
+        if (estimate.generation == generation) {
+            pending.set(estimate);
+        }
+    }
+
+    /**
+     * Runs on the event dispatch thread once per frame.
+     */
+    private void deliver() {
+        Estimate estimate = pending.getAndSet(null);
+        if (estimate == null) {
+            synchronized (this) {
+                if (running == null || running.isDone()) {
+                    frameTimer.stop();
+                }
+            }
+            return;
+        }
+        if (estimate.generation != generation) {
+            return;
+        }
+        listener.estimated(estimate.probabilities, estimate.games);
+    }
+
+    /**
+     * Returns the rule used to play a player in estimates.
+     */
+    private static Strategy model(Player player) {
+        try {
+            return Strategies.forPlayer(player);
+        } catch (IllegalArgumentException e) {
+            return Strategies.fifteen(15);
+        }
+    }
+
+    /**
+     * Cancels any estimate and stops delivering.
+     */
+    public synchronized void shutdown() {
+        cancel();
+        frameTimer.stop();
+        executor.shutdownNow();
+    }
+}
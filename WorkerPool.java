@@ -0,0 +1,372 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Spreads simulations over several local JVM worker processes, each with
+ * its own heap and garbage collector.
+ *
+ * The coordinator starts the workers as {@code java WorkerPool --worker}
+ * on the same class path and talks to each one over its stdin and stdout
+ * with a small binary protocol:
+ *
+ * <pre>
+ *   request:  int BATCH, long batch, long seed, int games, byte seats, seats x UTF strategy
+ *             int SHUTDOWN
+ *   response: int RESULT, long batch, JobTally
+ * </pre>
+ *
+ * Strategies travel as {@link Strategies#parse} descriptions and games are
+ * played by {@link HeadlessGame}, the same rules the Swing game uses. Each
+ * batch is seeded from the job seed and its batch number, and results are
+ * merged in batch order, so the outcome does not depend on which process
+ * played which batch. If a worker dies, or hangs past the batch timeout
+ * and is killed, its batch goes back on the queue and a replacement
+ * process is started.
+ */
+public class WorkerPool implements Closeable {
+    /** Request: play a batch of games. */
+    static final int BATCH = 1;
+
+    /** Request: exit cleanly. */
+    static final int SHUTDOWN = 2;
+
+    /** Response: the tally of one batch. */
+    static final int RESULT = 3;
+
+    /** Replacement processes started per run before the run is abandoned. */
+    private static final int MAX_RESTARTS = 8;
+
+    /** Default time a worker may take over one batch before it is killed. */
+    static final long DEFAULT_BATCH_TIMEOUT_MILLIS = 60_000;
+
+    private final List<String> command;
+    private final Worker[] workers;
+    private final AtomicInteger restarts = new AtomicInteger();
+    private final ScheduledExecutorService deadlines = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "worker-pool-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long batchTimeoutMillis = DEFAULT_BATCH_TIMEOUT_MILLIS;
+    private volatile Consumer<IOException> restartListener = e -> { };
+
+    /**
+     * Starts the worker processes.
+     *
+     * @param processes The number of worker processes
+     * @param jvmOptions Extra options for each worker JVM, such as {@code -Xmx512m}
+     * @throws IOException if a process cannot be started
+     */
+    public WorkerPool(int processes, String... jvmOptions) throws IOException {
+        if (processes < 1) {
+            throw new IllegalArgumentException("A pool needs at least one process");
+        }
+        command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(jvmOptions));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(WorkerPool.class.getName());
+        command.add("--worker");
+        workers = new Worker[processes];
+        for (int i = 0; i < processes; i++) {
+            workers[i] = new Worker();
+        }
+    }
+
+    /**
+     * One worker process and its pipes.
+     */
+    private final class Worker {
+        private volatile Process process;
+        private DataOutputStream out;
+        private DataInputStream in;
+        private volatile boolean timedOut;
+
+        Worker() throws IOException {
+            start();
+        }
+
+        void start() throws IOException {
+            timedOut = false;
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+        void restart() throws IOException {
+            process.destroyForcibly();
+            start();
+        }
+    }
+
+    /**
+     * Sets how long a worker may take over one batch. A worker that runs
+     * past it is killed, which unblocks the wait for its result, and is
+     * handled like a worker that died.
+     *
+     * @param timeout The longest time one batch may take
+     * @param unit The unit of the timeout
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    public void setBatchTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Batch timeout must be positive");
+        }
+        batchTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * Sets a callback told about every worker restart, on the thread that
+     * drives that worker.
+     *
+     * @param listener Receives the failure that caused the restart
+     */
+    public void setRestartListener(Consumer<IOException> listener) {
+        restartListener = listener;
+    }
+
+    /**
+     * @return The workers restarted during the current or last run
+     */
+    public int getRestarts() {
+        return restarts.get();
+    }
+
+    /**
+     * Plays a lineup across all worker processes.
+     *
+     * @param lineup The strategy descriptions, in seat order
+     * @param seed The base seed of the run
+     * @param games The total number of games
+     * @param batchGames The games sent to a worker at a time
+     * @return The merged tally
+     * @throws IOException if workers keep failing
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public JobTally run(String[] lineup, long seed, long games, int batchGames)
+            throws IOException, InterruptedException {
+        for (String spec : lineup) {
+            Strategies.parse(spec);
+        }
+        int batches = (int) ((games + batchGames - 1) / batchGames);
+        BlockingQueue<Integer> pending = new LinkedBlockingQueue<>();
+        for (int b = 0; b < batches; b++) {
+            pending.add(b);
+        }
+        JobTally[] results = new JobTally[batches];
+        AtomicInteger remaining = new AtomicInteger(batches);
+        IOException[] failure = new IOException[1];
+        restarts.set(0);
+
+        Thread[] drivers = new Thread[workers.length];
+        for (int w = 0; w < workers.length; w++) {
+            Worker worker = workers[w];
+            drivers[w] = new Thread(() -> {
+                try {
+                    drive(worker, lineup, seed, games, batchGames, pending, results, remaining);
+                } catch (IOException e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                    remaining.set(0);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "worker-pool-" + w);
+            drivers[w].start();
+        }
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+        synchronized (failure) {
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+
+        JobTally total = new JobTally(lineup.length);
+        for (JobTally result : results) {
+            total.merge(result);
+        }
+        return total;
+    }
+
+    /**
+     * Feeds batches to one worker until none are left, handing its batch
+     * back to the queue and restarting the process if it fails.
+     */
+    private void drive(Worker worker, String[] lineup, long seed, long games, int batchGames,
+                       BlockingQueue<Integer> pending, JobTally[] results, AtomicInteger remaining)
+            throws IOException, InterruptedException {
+        while (remaining.get() > 0) {
+            Integer batch = pending.poll(10, TimeUnit.MILLISECONDS);
+            if (batch == null) {
+                continue;
+            }
+            int count = (int) Math.min(batchGames, games - (long) batch * batchGames);
+            worker.timedOut = false;
+            try {
+                worker.out.writeInt(BATCH);
+                worker.out.writeLong(batch);
+                worker.out.writeLong(seed);
+                worker.out.writeInt(count);
+                worker.out.writeByte(lineup.length);
+                for (String spec : lineup) {
+                    worker.out.writeUTF(spec);
+                }
+                worker.out.flush();
+                // Killing a hung worker closes its pipe, so the blocked read below fails
+                Process process = worker.process;
+                ScheduledFuture<?> deadline = deadlines.schedule(() -> {
+                    worker.timedOut = true;
+                    process.destroyForcibly();
+                }, batchTimeoutMillis, TimeUnit.MILLISECONDS);
+                try {
+                    if (worker.in.readInt() != RESULT || worker.in.readLong() != batch) {
+                        throw new IOException("Worker protocol error");
+                    }
+                    results[batch] = JobTally.read(worker.in, lineup.length);
+                } finally {
+                    deadline.cancel(false);
+                }
+                remaining.decrementAndGet();
+            } catch (IOException e) {
+                if (worker.timedOut) {
+                    e = new IOException("Worker took longer than " + batchTimeoutMillis + " ms over batch " + batch, e);
+                }
+                pending.add(batch);
+                if (restarts.incrementAndGet() > MAX_RESTARTS) {
+                    throw new IOException("Worker processes keep failing", e);
+                }
+                restartListener.accept(e);
+                worker.restart();
+            }
+        }
+    }
+
+    /**
+     * @return The process ids of the current workers
+     */
+    public long[] getWorkerPids() {
+        long[] pids = new long[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            pids[i] = workers[i].process.pid();
+        }
+        return pids;
+    }
+
+    /**
+     * Asks every worker to exit and waits briefly for it.
+     */
+    @Override
+    public void close() {
+        deadlines.shutdownNow();
+        for (Worker worker : workers) {
+            try {
+                worker.out.writeInt(SHUTDOWN);
+                worker.out.flush();
+                if (!worker.process.waitFor(5, TimeUnit.SECONDS)) {
+                    worker.process.destroyForcibly();
+                }
+            } catch (IOException e) {
+                worker.process.destroyForcibly();
+            } catch (InterruptedException e) {
+                worker.process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The worker side of the protocol: serves batches until told to stop
+     * or until the coordinator goes away.
+     */
+    static void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        int[] scores = new int[7];
+        String[] specs = new String[0];
+        Strategy[] seats = new Strategy[0];
+        while (true) {
+            int request;
+            try {
+                request = in.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            if (request == SHUTDOWN) {
+                return;
+            }
+            if (request != BATCH) {
+                throw new IOException("Unknown request " + request);
+            }
+            long batch = in.readLong();
+            long seed = in.readLong();
+            int games = in.readInt();
+            String[] lineup = new String[in.readUnsignedByte()];
+            for (int s = 0; s < lineup.length; s++) {
+                lineup[s] = in.readUTF();
+            }
+            // Lineups rarely change between batches, so keep the parsed strategies
+            if (!Arrays.equals(lineup, specs)) {
+                specs = lineup;
+                seats = new Strategy[lineup.length];
+                for (int s = 0; s < lineup.length; s++) {
+                    seats[s] = Strategies.parse(lineup[s]);
+                }
+            }
+            SimRandom random = new SimRandom(RacingScheduler.mix(seed, batch));
+            JobTally tally = new JobTally(seats.length);
+            for (int g = 0; g < games; g++) {
+                HeadlessGame.play(seats, scores, random, tally);
+            }
+            out.writeInt(RESULT);
+            out.writeLong(batch);
+            tally.write(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs a worker when started with {@code --worker}; otherwise runs a
+     * demo sweep over the given number of processes.
+     *
+     * Usage: java WorkerPool [processes] [games]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--worker")) {
+            serve(new DataInputStream(new BufferedInputStream(System.in)),
+                new DataOutputStream(new BufferedOutputStream(System.out)));
+            return;
+        }
+        int processes = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 2_000_000L;
+        String[] lineup = {"fifteen", "wimp", "odd", "random"};
+        try (WorkerPool pool = new WorkerPool(processes, "-Xmx256m")) {
+            pool.setRestartListener(e -> System.err.println("Worker failed (" + e.getMessage() + "), restarting it"));
+            long start = System.nanoTime();
+            JobTally result = pool.run(lineup, 2024L, games, 50_000);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(String.join(" vs ", lineup));
+            System.out.println(result);
+            System.out.printf("%,.0f games/s over %d processes, %d restarts%n", games / seconds, processes,
+                pool.getRestarts());
+        }
+    }
+}